@@ -0,0 +1,60 @@
+package com.gameengine.components;
+
+import com.gameengine.core.Component;
+import com.gameengine.core.GameObject;
+import com.gameengine.math.Vector2;
+import com.gameengine.scene.Scene;
+
+/**
+ * 追踪组件：每帧把速度指向场景中指定标签的首个对象
+ * 需添加在物理组件之前，使同一帧的积分使用新速度
+ */
+public class ChaseComponent extends Component<ChaseComponent> {
+    private int targetTag;
+    private float speed;
+
+    public ChaseComponent(int targetTag, float speed) {
+        this.targetTag = targetTag;
+        this.speed = speed;
+    }
+
+    @Override
+    public void initialize() {
+        // nothing
+    }
+
+    @Override
+    public void update(float deltaTime) {
+        Scene scene = owner.getScene();
+        if (scene == null) return;
+        GameObject target = scene.findFirstByTag(targetTag);
+        if (target == null) return;
+
+        TransformComponent tt = target.getComponent(TransformComponent.class);
+        TransformComponent myt = owner.getComponent(TransformComponent.class);
+        PhysicsComponent myp = owner.getComponent(PhysicsComponent.class);
+        if (tt == null || myt == null || myp == null) return;
+
+        Vector2 targetPos = tt.getPosition();
+        Vector2 myPos = myt.getPosition();
+        float dx = targetPos.x - myPos.x;
+        float dy = targetPos.y - myPos.y;
+        float dist = (float) Math.sqrt(dx * dx + dy * dy);
+        if (dist > 1) {
+            myp.setVelocity(dx / dist * speed, dy / dist * speed);
+        }
+    }
+
+    @Override
+    public void render() {
+        // nothing
+    }
+
+    public float getSpeed() {
+        return speed;
+    }
+
+    public void setSpeed(float speed) {
+        this.speed = speed;
+    }
+}
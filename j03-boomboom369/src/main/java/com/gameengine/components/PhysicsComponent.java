@@ -14,6 +14,14 @@ public class PhysicsComponent extends Component<PhysicsComponent> {
     private float friction;
     private boolean useGravity;
     private Vector2 gravity;
+    // 一步位移超过碰撞体最小半尺寸的 substepFraction 倍时拆成子步，最多 maxSubsteps 个
+    private float substepFraction;
+    private int maxSubsteps;
+    private int lastSubsteps;
+    private float sweepStartX;
+    private float sweepStartY;
+    private float sweepEndX;
+    private float sweepEndY;
     
     public PhysicsComponent() {
         this.velocity = new Vector2();
@@ -22,6 +30,9 @@ public class PhysicsComponent extends Component<PhysicsComponent> {
         this.friction = 0.9f;
         this.useGravity = false;
         this.gravity = new Vector2(0, 9.8f);
+        this.substepFraction = 0.5f;
+        this.maxSubsteps = 8;
+        this.lastSubsteps = 1;
     }
     
     public PhysicsComponent(float mass) {
@@ -36,6 +47,7 @@ public class PhysicsComponent extends Component<PhysicsComponent> {
     
     @Override
     public void update(float deltaTime) {
+        lastSubsteps = 1;
         if (!enabled) return;
         
         TransformComponent transform = owner.getComponent(TransformComponent.class);
@@ -46,20 +58,57 @@ public class PhysicsComponent extends Component<PhysicsComponent> {
             acceleration = acceleration.add(gravity);
         }
         
-        // 更新速度
-        velocity = velocity.add(acceleration.multiply(deltaTime));
-        
-        // 应用摩擦力
-        velocity = velocity.multiply(friction);
-        
-        // 更新位置
-        Vector2 deltaPosition = velocity.multiply(deltaTime);
-        transform.translate(deltaPosition);
+        // 一步位移超过碰撞尺寸的一定比例时拆成子步，否则按整步积分
+        Vector2 next = velocity.add(acceleration.multiply(deltaTime)).multiply(friction);
+        float limit = collisionExtent() * substepFraction;
+        float displacement = next.magnitude() * deltaTime;
+        if (limit > 0 && displacement > limit) {
+            integrateSubstepped(transform, (int) Math.min(maxSubsteps, Math.ceil(displacement / limit)), deltaTime);
+        } else {
+            velocity = next;
+            transform.translate(velocity.multiply(deltaTime));
+        }
         
         // 重置加速度
         acceleration = new Vector2();
     }
     
+    /**
+     * 把本步拆成 steps 个子步；摩擦按子步数开方，整步的衰减与不拆分时相同。
+     * 起点与终点记录下来，碰撞检测据此在每个子步的位置上测试
+     */
+    private void integrateSubstepped(TransformComponent transform, int steps, float deltaTime) {
+        float h = deltaTime / steps;
+        float stepFriction = (float) Math.pow(friction, 1.0 / steps);
+        Vector2 position = transform.getPosition();
+        sweepStartX = position.x;
+        sweepStartY = position.y;
+        float vx = velocity.x;
+        float vy = velocity.y;
+        for (int s = 0; s < steps; s++) {
+            vx = (vx + acceleration.x * h) * stepFriction;
+            vy = (vy + acceleration.y * h) * stepFriction;
+            position.x += vx * h;
+            position.y += vy * h;
+        }
+        velocity = new Vector2(vx, vy);
+        transform.setPosition(position);
+        sweepEndX = position.x;
+        sweepEndY = position.y;
+        lastSubsteps = steps;
+    }
+    
+    /**
+     * 碰撞体的最小半尺寸，没有碰撞体时为 0（不拆分子步）
+     */
+    private float collisionExtent() {
+        ColliderComponent collider = owner.getComponent(ColliderComponent.class);
+        if (collider == null || !collider.isEnabled()) {
+            return 0;
+        }
+        return Math.min(collider.getHalfWidth(), collider.getHalfHeight());
+    }
+    
     @Override
     public void render() {
         // 物理组件不直接渲染
@@ -132,6 +181,49 @@ public class PhysicsComponent extends Component<PhysicsComponent> {
         this.mass = Math.max(0.1f, mass);
     }
     
+    /**
+     * 设置子步参数：fraction 为单个子步允许的位移占碰撞体最小半尺寸的比例，为 0 时不拆分；
+     * maxSubsteps 为每步的子步上限
+     */
+    public void setSubstepping(float fraction, int maxSubsteps) {
+        this.substepFraction = Math.max(0, fraction);
+        this.maxSubsteps = Math.max(1, maxSubsteps);
+    }
+    
+    public float getSubstepFraction() {
+        return substepFraction;
+    }
+    
+    public int getMaxSubsteps() {
+        return maxSubsteps;
+    }
+    
+    /**
+     * 上一步的子步数，没有拆分时为 1
+     */
+    public int getLastSubsteps() {
+        return lastSubsteps;
+    }
+    
+    /**
+     * 上一步拆分子步时的轨迹起点与终点；getLastSubsteps() 为 1 时无意义
+     */
+    public float getSweepStartX() {
+        return sweepStartX;
+    }
+    
+    public float getSweepStartY() {
+        return sweepStartY;
+    }
+    
+    public float getSweepEndX() {
+        return sweepEndX;
+    }
+    
+    public float getSweepEndY() {
+        return sweepEndY;
+    }
+    
     // Getters
     public Vector2 getVelocity() {
         return new Vector2(velocity);
@@ -17,8 +17,17 @@ public class GameEngine {
     private float deltaTime;
     private long lastTime;
     private Timer gameTimer;
+    private JobSystem jobSystem;
     
     public GameEngine(int width, int height, String title) {
+        this(width, height, title, 0);
+    }
+    
+    /**
+     * @param workerThreads 共享作业系统的工作线程数，小于等于0时按CPU核数自动选择
+     */
+    public GameEngine(int width, int height, String title, int workerThreads) {
+        this.jobSystem = new JobSystem(workerThreads);
         this.renderer = new Renderer(width, height, title);
         this.inputManager = InputManager.getInstance();
         this.running = false;
@@ -146,9 +155,17 @@ public class GameEngine {
         if (currentScene != null) {
             currentScene.clear();
         }
+        jobSystem.shutdown();
         renderer.cleanup();
     }
     
+    /**
+     * 获取共享作业系统
+     */
+    public JobSystem getJobSystem() {
+        return jobSystem;
+    }
+    
     /**
      * 获取渲染器
      */
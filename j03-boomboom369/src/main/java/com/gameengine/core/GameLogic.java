@@ -1,5 +1,6 @@
 package com.gameengine.core;
 
+import com.gameengine.components.HealthComponent;
 import com.gameengine.components.TransformComponent;
 import com.gameengine.components.PhysicsComponent;
 import com.gameengine.input.InputManager;
@@ -7,60 +8,49 @@ import com.gameengine.math.Vector2;
 import com.gameengine.scene.Scene;
 
 import java.util.List;
-import java.util.ArrayList;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
-import java.util.concurrent.TimeUnit;
 
 public class GameLogic {
+    private static final int TAG_PLAYER = Tags.intern("Player");
+    private static final int TAG_ENEMY = Tags.intern("Enemy");
+    private static final int TAG_BULLET = Tags.intern("Bullet");
+    
+    // 碰撞层
+    public static final int LAYER_PLAYER = 1;
+    public static final int LAYER_ENEMY = 1 << 1;
+    public static final int LAYER_BULLET = 1 << 2;
+    
     private Scene scene;
     private InputManager inputManager;
-    private ExecutorService physicsExecutor;
-    private ExecutorService collisionExecutor;
+    private JobSystem jobSystem;
+    private final CollisionSystem collisions;
     
     // 性能监测
     private long physicsUpdateTime = 0;
     private long collisionCheckTime = 0;
     private int frameCount = 0;
+    private int substeppedBodies = 0;
+    private int substepTotal = 0;
+    private int substepCappedBodies = 0;
     
     public GameLogic(Scene scene) {
+        this(scene, null);
+    }
+    
+    /**
+     * @param jobSystem 引擎共享的作业系统，为 null 时全部串行执行
+     */
+    public GameLogic(Scene scene, JobSystem jobSystem) {
         this.scene = scene;
         this.inputManager = InputManager.getInstance();
-        
-        // ===== 线程池初始化 (并行优化) =====
-        // 创建两个线程池：一个用于物理计算，一个用于碰撞检测
-        int threadCount = Math.max(2, Runtime.getRuntime().availableProcessors() - 1);
-        this.physicsExecutor = Executors.newFixedThreadPool(threadCount);
-        this.collisionExecutor = Executors.newFixedThreadPool(Math.max(2, threadCount / 2));
-        // ===== 线程池初始化结束 =====
+        this.jobSystem = jobSystem;
+        this.collisions = new CollisionSystem(scene);
+        this.collisions.addListener(LAYER_BULLET, LAYER_ENEMY, this::onBulletHitsEnemy);
+        this.collisions.addListener(LAYER_PLAYER, LAYER_ENEMY, this::onEnemyHitsPlayer);
     }
     
-    // 游戏结束时清理线程池资源
+    // 线程池归 JobSystem 的持有者管理，这里只释放引用
     public void cleanup() {
-        if (physicsExecutor != null && !physicsExecutor.isShutdown()) {
-            physicsExecutor.shutdown();
-            try {
-                if (!physicsExecutor.awaitTermination(1, TimeUnit.SECONDS)) {
-                    physicsExecutor.shutdownNow();
-                }
-            } catch (InterruptedException e) {
-                physicsExecutor.shutdownNow();
-                Thread.currentThread().interrupt();
-            }
-        }
-        
-        if (collisionExecutor != null && !collisionExecutor.isShutdown()) {
-            collisionExecutor.shutdown();
-            try {
-                if (!collisionExecutor.awaitTermination(1, TimeUnit.SECONDS)) {
-                    collisionExecutor.shutdownNow();
-                }
-            } catch (InterruptedException e) {
-                collisionExecutor.shutdownNow();
-                Thread.currentThread().interrupt();
-            }
-        }
+        jobSystem = null;
     }
     
     // 获取性能指标
@@ -72,6 +62,27 @@ public class GameLogic {
         return collisionCheckTime;
     }
     
+    /**
+     * 上一帧拆分了子步的刚体数
+     */
+    public int getSubsteppedBodies() {
+        return substeppedBodies;
+    }
+    
+    /**
+     * 上一帧这些刚体的子步总数
+     */
+    public int getSubstepTotal() {
+        return substepTotal;
+    }
+    
+    /**
+     * 上一帧子步数达到上限的刚体数，这些刚体的精度仍然不足
+     */
+    public int getSubstepCappedBodies() {
+        return substepCappedBodies;
+    }
+    
     public int getFrameCount() {
         return frameCount;
     }
@@ -81,7 +92,7 @@ public class GameLogic {
     }
     
     public void handlePlayerInput() {
-        GameObject player = scene.findFirstGameObjectByName("Player");
+        GameObject player = scene.findFirstByTag(TAG_PLAYER);
         if (player == null) {
             return;
         }
@@ -128,46 +139,45 @@ public class GameLogic {
         }
         
         // ===== 并行物理计算 (多线程) =====
-        int threadCount = Runtime.getRuntime().availableProcessors() - 1;
-        threadCount = Math.max(2, threadCount);
-        int batchSize = Math.max(1, physicsComponents.size() / threadCount + 1);
-        
-        List<Future<?>> futures = new ArrayList<>();
-        
-        // 将物理组件按批次分配给不同线程处理
-        for (int i = 0; i < physicsComponents.size(); i += batchSize) {
-            final int start = i;
-            final int end = Math.min(i + batchSize, physicsComponents.size());
-            
-            // 当对象较少时，直接处理避免线程开销
-            if (physicsComponents.size() < 10) {
+        // 当对象较少时，直接处理避免线程开销
+        if (physicsComponents.size() < 10 || jobSystem == null) {
+            for (PhysicsComponent physics : physicsComponents) {
+                updateSinglePhysics(physics);
+            }
+        } else {
+            jobSystem.parallelFor(0, physicsComponents.size(), (start, end) -> {
                 for (int j = start; j < end; j++) {
                     updateSinglePhysics(physicsComponents.get(j));
                 }
-            } else {
-                // 对象较多时使用线程池
-                Future<?> future = physicsExecutor.submit(() -> {
-                    for (int j = start; j < end; j++) {
-                        updateSinglePhysics(physicsComponents.get(j));
-                    }
-                });
-                futures.add(future);
-            }
-        }
-        
-        // 等待所有线程完成
-        for (Future<?> future : futures) {
-            try {
-                future.get();
-            } catch (Exception e) {
-                e.printStackTrace();
-            }
+            });
         }
         // ===== 并行物理计算结束 =====
+        countSubsteps(physicsComponents);
         
         physicsUpdateTime = System.nanoTime() - startTime;
     }
     
+    /**
+     * 统计本帧组件积分时拆分的子步
+     */
+    private void countSubsteps(List<PhysicsComponent> physicsComponents) {
+        int substepped = 0;
+        int total = 0;
+        int capped = 0;
+        for (int i = 0; i < physicsComponents.size(); i++) {
+            PhysicsComponent physics = physicsComponents.get(i);
+            int steps = physics.getLastSubsteps();
+            if (steps > 1) {
+                substepped++;
+                total += steps;
+                if (steps == physics.getMaxSubsteps()) capped++;
+            }
+        }
+        substeppedBodies = substepped;
+        substepTotal = total;
+        substepCappedBodies = capped;
+    }
+    
     private void updateSinglePhysics(PhysicsComponent physics) {
         TransformComponent transform = physics.getOwner().getComponent(TransformComponent.class);
         if (transform != null) {
@@ -175,7 +185,7 @@ public class GameLogic {
             Vector2 velocity = physics.getVelocity();
 
             // 如果是子弹，跳过反弹逻辑
-            if (physics.getOwner() != null && "Bullet".equals(physics.getOwner().getName())) {
+            if (physics.getOwner() != null && physics.getOwner().getTag() == TAG_BULLET) {
                 transform.setPosition(pos);
                 return;
             }
@@ -203,150 +213,53 @@ public class GameLogic {
         long startTime = System.nanoTime();
         
         // 直接查找玩家对象
-        GameObject player = scene.findFirstGameObjectByName("Player");
+        GameObject player = scene.findFirstByTag(TAG_PLAYER);
         if (player == null) {
             return;
         }
-        TransformComponent playerTransform = player.getComponent(TransformComponent.class);
-        if (playerTransform == null) return;
-        
-        // 获取所有子弹和敌人
-        List<GameObject> bullets = new ArrayList<>();
-        List<GameObject> enemies = new ArrayList<>();
         
-        for (GameObject obj : scene.getGameObjects()) {
-            if (obj.getName().equals("Bullet")) {
-                bullets.add(obj);
-            } else if (obj.getName().equals("Enemy")) {
-                enemies.add(obj);
-            }
-        }
-        
-        // ===== 并行子弹与敌人碰撞检测 =====
-        if (!bullets.isEmpty() && !enemies.isEmpty()) {
-            checkBulletEnemyCollisionsParallel(bullets, enemies);
-        }
-        // ===== 并行敌人与玩家碰撞检测 =====
-        checkPlayerEnemyCollisionsParallel(playerTransform, player, enemies);
-        // ===== 碰撞检测结束 =====
+        // 子弹-敌人、玩家-敌人的接触由碰撞系统统一检测并成批回调
+        collisions.update();
         
         collisionCheckTime = System.nanoTime() - startTime;
     }
-
-    private void checkBulletEnemyCollisionsParallel(List<GameObject> bullets, List<GameObject> enemies) {
-        if (bullets.size() < 5) {
-            // 对象较少时使用串行处理
-            checkBulletEnemyCollisionsSerial(bullets, enemies);
-        } else {
-            // 对象较多时使用并行处理
-            int threadCount = Runtime.getRuntime().availableProcessors() - 1;
-            threadCount = Math.max(1, threadCount);
-            int batchSize = Math.max(1, bullets.size() / threadCount + 1);
-            
-            List<Future<?>> futures = new ArrayList<>();
-            
-            for (int i = 0; i < bullets.size(); i += batchSize) {
-                final int start = i;
-                final int end = Math.min(i + batchSize, bullets.size());
-                
-                Future<?> future = collisionExecutor.submit(() -> {
-                    for (int j = start; j < end; j++) {
-                        checkBulletEnemyCollision(bullets.get(j), enemies);
-                    }
-                });
-                futures.add(future);
-            }
-            
-            for (Future<?> future : futures) {
-                try {
-                    future.get();
-                } catch (Exception e) {
-                    e.printStackTrace();
-                }
-            }
-        }
-    }
     
-    private void checkBulletEnemyCollisionsSerial(List<GameObject> bullets, List<GameObject> enemies) {
-        for (GameObject bullet : bullets) {
-            checkBulletEnemyCollision(bullet, enemies);
-        }
+    public CollisionSystem getCollisionSystem() {
+        return collisions;
     }
     
-    private void checkBulletEnemyCollision(GameObject bullet, List<GameObject> enemies) {
-        TransformComponent bulletTransform = bullet.getComponent(TransformComponent.class);
-        if (bulletTransform == null || !bullet.isActive()) return;
-        
-        for (GameObject enemy : enemies) {
-            if (!enemy.isActive()) continue;
-            
-            TransformComponent enemyTransform = enemy.getComponent(TransformComponent.class);
-            if (enemyTransform == null) continue;
-            
-            float d = bulletTransform.getPosition().distance(enemyTransform.getPosition());
-            if (d < 20) {
+    /**
+     * 子弹命中敌人：双方销毁，每颗子弹最多消灭一个敌人
+     */
+    private void onBulletHitsEnemy(CollisionSystem.ContactBatch contacts) {
+        for (int i = 0; i < contacts.size(); i++) {
+            GameObject bullet = contacts.getA(i);
+            GameObject enemy = contacts.getB(i);
+            if (bullet.isActive() && enemy.isActive()) {
                 bullet.destroy();
                 enemy.destroy();
-                break;
             }
         }
     }
     
-
-    private void checkPlayerEnemyCollisionsParallel(TransformComponent playerTransform, GameObject player, List<GameObject> enemies) {
-        if (enemies.size() < 10) {
-            // 对象较少时使用串行处理
-            checkPlayerEnemyCollisionsSerial(playerTransform, player, enemies);
-        } else {
-            // 对象较多时使用并行处理
-            int threadCount = Runtime.getRuntime().availableProcessors() - 1;
-            threadCount = Math.max(1, threadCount);
-            int batchSize = Math.max(1, enemies.size() / threadCount + 1);
-            
-            List<Future<?>> futures = new ArrayList<>();
-            
-            for (int i = 0; i < enemies.size(); i += batchSize) {
-                final int start = i;
-                final int end = Math.min(i + batchSize, enemies.size());
-                
-                Future<?> future = collisionExecutor.submit(() -> {
-                    for (int j = start; j < end; j++) {
-                        checkPlayerEnemyCollision(playerTransform, player, enemies.get(j));
-                    }
-                });
-                futures.add(future);
-            }
+    /**
+     * 敌人撞到玩家：有生命值时扣血并销毁敌人，否则玩家回到中心
+     */
+    private void onEnemyHitsPlayer(CollisionSystem.ContactBatch contacts) {
+        for (int i = 0; i < contacts.size(); i++) {
+            GameObject player = contacts.getA(i);
+            GameObject enemy = contacts.getB(i);
+            if (!enemy.isActive()) continue;
             
-            for (Future<?> future : futures) {
-                try {
-                    future.get();
-                } catch (Exception e) {
-                    e.printStackTrace();
-                }
-            }
-        }
-    }
-    
-    private void checkPlayerEnemyCollisionsSerial(TransformComponent playerTransform, GameObject player, List<GameObject> enemies) {
-        for (GameObject enemy : enemies) {
-            checkPlayerEnemyCollision(playerTransform, player, enemy);
-        }
-    }
-    
-    private void checkPlayerEnemyCollision(TransformComponent playerTransform, GameObject player, GameObject enemy) {
-        if (!enemy.isActive()) return;
-        
-        TransformComponent enemyTransform = enemy.getComponent(TransformComponent.class);
-        if (enemyTransform == null) return;
-        
-        float distance = playerTransform.getPosition().distance(enemyTransform.getPosition());
-        if (distance < 25) {
-            com.gameengine.components.HealthComponent health = player.getComponent(com.gameengine.components.HealthComponent.class);
+            HealthComponent health = player.getComponent(HealthComponent.class);
             if (health != null) {
                 health.takeDamage(1);
                 enemy.destroy();
             } else {
-                playerTransform.setPosition(new Vector2(400, 300));
+                TransformComponent playerTransform = player.getComponent(TransformComponent.class);
+                if (playerTransform != null) {
+                    playerTransform.setPosition(new Vector2(400, 300));
+                }
             }
         }
     }
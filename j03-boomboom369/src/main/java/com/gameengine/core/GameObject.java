@@ -1,6 +1,7 @@
 package com.gameengine.core;
 
 import com.gameengine.math.Vector2;
+import com.gameengine.scene.Scene;
 import java.util.*;
 
 /**
@@ -10,16 +11,23 @@ public class GameObject {
     protected boolean active;
     protected String name;
     protected final List<Component<?>> components;
+    private int tag;
+    private Scene scene;
+    // 由 Prefab 创建的对象记录其模板，离开场景后回到模板的对象池
+    Prefab prefab;
+    boolean pooled;
     
     public GameObject() {
         this.active = true;
         this.name = "GameObject";
         this.components = new ArrayList<>();
+        this.tag = Tags.intern(name);
     }
     
     public GameObject(String name) {
         this();
         this.name = name;
+        this.tag = Tags.intern(name);
     }
     
     /**
@@ -48,6 +56,10 @@ public class GameObject {
      */
     public void destroy() {
         this.active = false;
+        // 模板对象保留组件以便复用
+        if (prefab != null) {
+            return;
+        }
         // 销毁所有组件
         for (Component<?> component : components) {
             component.destroy();
@@ -127,6 +139,36 @@ public class GameObject {
     }
     
     public void setName(String name) {
+        int oldTag = tag;
         this.name = name;
+        this.tag = Tags.intern(name);
+        if (scene != null && oldTag != tag) {
+            scene.onGameObjectRenamed(this, oldTag);
+        }
+    }
+    
+    /**
+     * 获取名称驻留后的整数标签
+     */
+    public int getTag() {
+        return tag;
+    }
+    
+    /**
+     * 获取创建该对象的模板（非模板对象为 null）
+     */
+    public Prefab getPrefab() {
+        return prefab;
+    }
+    
+    /**
+     * 获取对象所在场景（尚未加入场景时为 null）
+     */
+    public Scene getScene() {
+        return scene;
+    }
+    
+    public void setScene(Scene scene) {
+        this.scene = scene;
     }
 }
\ No newline at end of file
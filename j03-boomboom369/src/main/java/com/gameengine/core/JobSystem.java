@@ -0,0 +1,175 @@
+package com.gameengine.core;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 作业系统
+ * 引擎共享的工作窃取线程池，物理与碰撞检测等并行工作统一提交到这里
+ */
+public class JobSystem {
+    /**
+     * 区间任务，处理 [start, end) 范围内的元素
+     */
+    public interface RangeTask {
+        void run(int start, int end);
+    }
+
+    /**
+     * 每个参与线程平均分到的叶子任务数，越多负载越均衡、调度开销越大
+     */
+    private static final int CHUNKS_PER_THREAD = 4;
+    private static final int DEFAULT_MIN_GRAIN = 16;
+
+    private final ForkJoinPool pool;
+    private final int workerThreads;
+
+    /**
+     * @param workerThreads 工作线程数，小于等于0时取 处理器数-1（调用线程本身也参与计算）
+     */
+    public JobSystem(int workerThreads) {
+        int threads = workerThreads > 0
+            ? workerThreads
+            : Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+        this.workerThreads = threads;
+        this.pool = new ForkJoinPool(threads);
+    }
+
+    public void parallelFor(int start, int end, RangeTask task) {
+        parallelFor(start, end, DEFAULT_MIN_GRAIN, task);
+    }
+
+    /**
+     * 把 [start, end) 二分拆成 fork/join 任务树并行执行，叶子不小于 minGrain，空闲线程从其它线程的队列窃取子任务；
+     * 在池内线程上调用时当前线程直接参与拆分与执行，池外调用见 runExternal，调用线程同样参与计算
+     */
+    public void parallelFor(int start, int end, int minGrain, RangeTask task) {
+        int count = end - start;
+        if (count <= 0) return;
+        int participants = workerThreads + 1;
+        int grain = Math.max(Math.max(1, minGrain), (count + participants * CHUNKS_PER_THREAD - 1) / (participants * CHUNKS_PER_THREAD));
+        if (count <= grain || pool.isShutdown()) {
+            task.run(start, end);
+            return;
+        }
+
+        Thread current = Thread.currentThread();
+        if (current instanceof ForkJoinWorkerThread && ((ForkJoinWorkerThread) current).getPool() == pool) {
+            new RangeAction(task, start, end, grain).invoke();
+            return;
+        }
+        runExternal(task, start, end, grain);
+    }
+
+    /**
+     * 池外线程：依次把右半段提交给池，自己继续拆左半段并执行最左的叶子；随后按提交的逆序处理各段，
+     * 还没被工作线程取走的段由调用线程认领后照此处理，已被取走的段才等待完成
+     */
+    private void runExternal(RangeTask task, int start, int end, int grain) {
+        RangeAction submitted = null;
+        int hi = end;
+        while (hi - start > grain) {
+            int mid = (start + hi) >>> 1;
+            RangeAction right = new RangeAction(task, mid, hi, grain);
+            try {
+                pool.execute(right);
+            } catch (RejectedExecutionException e) {
+                // 池已关闭：剩余区间由调用线程独自完成
+                break;
+            }
+            right.next = submitted;
+            submitted = right;
+            hi = mid;
+        }
+
+        Throwable failure = null;
+        try {
+            task.run(start, hi);
+        } catch (Throwable t) {
+            failure = t;
+        }
+        // 出错后仍要等所有已提交的段结束，返回时不能有任务还在访问调用方的数据
+        for (RangeAction piece = submitted; piece != null; piece = piece.next) {
+            try {
+                if (piece.claim()) {
+                    runExternal(task, piece.start, piece.end, grain);
+                } else {
+                    piece.join();
+                }
+            } catch (Throwable t) {
+                if (failure == null) failure = t;
+            }
+        }
+        if (failure instanceof RuntimeException) throw (RuntimeException) failure;
+        if (failure instanceof Error) throw (Error) failure;
+        if (failure != null) throw new RuntimeException(failure);
+    }
+
+    /**
+     * 区间任务树的节点，超过粒度时对半拆分；任务标签用作认领标记，池外调用线程与工作线程只有一方会执行它
+     */
+    private static final class RangeAction extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final RangeTask task;
+        private final int start;
+        private final int end;
+        private final int grain;
+        /**
+         * runExternal 中已提交段组成的链
+         */
+        private RangeAction next;
+
+        RangeAction(RangeTask task, int start, int end, int grain) {
+            this.task = task;
+            this.start = start;
+            this.end = end;
+            this.grain = grain;
+        }
+
+        boolean claim() {
+            return compareAndSetForkJoinTaskTag((short) 0, (short) 1);
+        }
+
+        @Override
+        protected void compute() {
+            if (!claim()) return;
+            if (end - start <= grain) {
+                task.run(start, end);
+                return;
+            }
+            int mid = (start + end) >>> 1;
+            invokeAll(new RangeAction(task, start, mid, grain), new RangeAction(task, mid, end, grain));
+        }
+    }
+
+    public void execute(Runnable job) {
+        pool.execute(job);
+    }
+
+    public int getWorkerThreads() {
+        return workerThreads;
+    }
+
+    /**
+     * 关闭线程池
+     */
+    public void shutdown() {
+        pool.shutdown();
+        try {
+            if (!pool.awaitTermination(1, TimeUnit.SECONDS)) {
+                pool.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            pool.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public boolean isShutdown() {
+        return pool.isShutdown();
+    }
+}
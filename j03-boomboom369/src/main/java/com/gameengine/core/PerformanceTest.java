@@ -1,5 +1,7 @@
 package com.gameengine.core;
 
+import com.gameengine.components.ColliderComponent;
+import com.gameengine.components.HealthComponent;
 import com.gameengine.components.TransformComponent;
 import com.gameengine.components.PhysicsComponent;
 import com.gameengine.math.Vector2;
@@ -61,7 +63,8 @@ public class PerformanceTest {
         
         // 创建测试场景
         Scene testScene = new Scene("PerformanceTestScene");
-        GameLogic gameLogic = new GameLogic(testScene);
+        JobSystem jobSystem = new JobSystem(0);
+        GameLogic gameLogic = new GameLogic(testScene, jobSystem);
         
         // 创建敌人游戏对象
         Random random = new Random(42); // 使用固定种子以保证可重复性
@@ -75,6 +78,7 @@ public class PerformanceTest {
                 (random.nextFloat() - 0.5f) * 100,
                 (random.nextFloat() - 0.5f) * 100
             ));
+            enemy.addComponent(new ColliderComponent(10, GameLogic.LAYER_ENEMY, GameLogic.LAYER_PLAYER | GameLogic.LAYER_BULLET));
             testScene.addGameObject(enemy);
         }
         
@@ -89,10 +93,20 @@ public class PerformanceTest {
                 (random.nextFloat() - 0.5f) * 200,
                 (random.nextFloat() - 0.5f) * 200
             ));
+            bullet.addComponent(new ColliderComponent(10, GameLogic.LAYER_BULLET, GameLogic.LAYER_ENEMY));
             testScene.addGameObject(bullet);
         }
         
+        // 玩家：碰撞检测以玩家存在为前提
+        GameObject player = new GameObject("Player");
+        player.addComponent(new TransformComponent(new Vector2(400, 300)));
+        player.addComponent(new HealthComponent(enemyCount));
+        player.addComponent(new ColliderComponent(15, GameLogic.LAYER_PLAYER, GameLogic.LAYER_ENEMY));
+        testScene.addGameObject(player);
+        
         testScene.initialize();
+        // 应用待加入的对象
+        testScene.update(0);
         
         // 运行性能测试 - 执行多帧以获得平均值
         int testFrames = 10;
@@ -121,6 +135,7 @@ public class PerformanceTest {
         result.totalTime = totalTime;
         
         gameLogic.cleanup();
+        jobSystem.shutdown();
         
         return result;
     }
@@ -164,12 +179,90 @@ public class PerformanceTest {
         System.out.println("- 物理更新耗时：执行updatePhysics()方法的平均时间（毫秒）");
         System.out.println("- 碰撞检测耗时：执行checkCollisions()方法的平均时间（毫秒）");
         System.out.println("- FPS：基于总执行时间估算的平均帧率");
-        System.out.println("- 并行优化通过ExecutorService线程池提高多核CPU利用率");
+        System.out.println("- 并行优化通过共享的JobSystem（工作窃取线程池）提高多核CPU利用率");
         System.out.println("- 当对象数量较少（<10）时，使用串行处理避免线程开销\n");
     }
     
+    /**
+     * 高速子弹穿透测试：子弹以 600 px/s 射向一列静止敌人，模拟 100 ms 的长帧（一帧位移 60 px，
+     * 大于子弹与敌人的半径和 20 px 的两倍）。帧末位置恰好落在敌人两侧，不拆子步时检测不到接触
+     *
+     * @param substepping 是否启用自适应子步
+     * @param stats 返回末帧的子步统计：拆分的刚体数、子步总数、达到上限的刚体数
+     * @return 命中敌人的子弹数
+     */
+    public static int testSubstepTunneling(int bulletCount, boolean substepping, int[] stats) {
+        Scene testScene = new Scene("TunnelingTestScene");
+        GameLogic gameLogic = new GameLogic(testScene);
+        List<GameObject> bullets = new ArrayList<>();
+        float deltaTime = 0.1f;
+        float speed = 600f;
+        for (int i = 0; i < bulletCount; i++) {
+            float y = 20 + i * 25;
+            GameObject enemy = new GameObject("Enemy");
+            enemy.addComponent(new TransformComponent(new Vector2(100 + speed * deltaTime * 2.5f, y)));
+            enemy.addComponent(new ColliderComponent(10, GameLogic.LAYER_ENEMY, GameLogic.LAYER_PLAYER | GameLogic.LAYER_BULLET));
+            testScene.addGameObject(enemy);
+            
+            GameObject bullet = new GameObject("Bullet");
+            bullet.addComponent(new TransformComponent(new Vector2(100, y)));
+            PhysicsComponent physics = bullet.addComponent(new PhysicsComponent(0.1f));
+            physics.setFriction(1.0f);
+            physics.setVelocity(speed, 0);
+            if (!substepping) {
+                physics.setSubstepping(0, 1);
+            }
+            bullet.addComponent(new ColliderComponent(10, GameLogic.LAYER_BULLET, GameLogic.LAYER_ENEMY));
+            testScene.addGameObject(bullet);
+            bullets.add(bullet);
+        }
+        
+        // 玩家放在远处，只为满足碰撞检测的前提
+        GameObject player = new GameObject("Player");
+        player.addComponent(new TransformComponent(new Vector2(780, 580)));
+        player.addComponent(new ColliderComponent(15, GameLogic.LAYER_PLAYER, GameLogic.LAYER_ENEMY));
+        testScene.addGameObject(player);
+        
+        testScene.initialize();
+        testScene.update(0);
+        for (int frame = 0; frame < 5; frame++) {
+            testScene.update(deltaTime);
+            gameLogic.updatePhysics();
+            gameLogic.checkCollisions();
+            if (frame == 0) {
+                stats[0] = gameLogic.getSubsteppedBodies();
+                stats[1] = gameLogic.getSubstepTotal();
+                stats[2] = gameLogic.getSubstepCappedBodies();
+            }
+        }
+        
+        int hits = 0;
+        for (GameObject bullet : bullets) {
+            if (!bullet.isActive()) hits++;
+        }
+        gameLogic.cleanup();
+        return hits;
+    }
+    
+    /**
+     * 对比关闭与开启自适应子步时的命中数
+     */
+    public static void runSubstepComparison() {
+        int bulletCount = 20;
+        int[] stats = new int[3];
+        int plainHits = testSubstepTunneling(bulletCount, false, stats);
+        int substepHits = testSubstepTunneling(bulletCount, true, stats);
+        System.out.println("===== 高速子弹穿透测试 =====\n");
+        System.out.printf("%d 颗子弹，帧长 100ms：不拆子步命中 %d，自适应子步命中 %d%n",
+            bulletCount, plainHits, substepHits);
+        System.out.printf("首帧拆分 %d 个刚体，共 %d 个子步，%d 个达到上限%n",
+            stats[0], stats[1], stats[2]);
+        System.out.println(substepHits == bulletCount ? "结果：通过\n" : "结果：失败\n");
+    }
+    
     public static void main(String[] args) {
         System.out.println("开始游戏性能测试...\n");
         runPerformanceComparison();
+        runSubstepComparison();
     }
 }
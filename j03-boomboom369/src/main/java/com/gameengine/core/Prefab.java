@@ -0,0 +1,145 @@
+package com.gameengine.core;
+
+import com.gameengine.scene.Scene;
+
+import java.util.ArrayDeque;
+
+/**
+ * 实体模板与对象池
+ * 组件只在对象首次创建时构建一次；对象离开场景后回到本模板的池中，
+ * 再次生成时先经 onSpawn 重置状态，避免频繁生成的实体每次重新分配对象和组件
+ */
+public class Prefab {
+    /**
+     * 首次创建对象时构建组件
+     */
+    public interface Builder {
+        void build(GameObject obj);
+    }
+
+    /**
+     * 每次生成（含复用）时重置对象状态
+     */
+    public interface SpawnHook {
+        void reset(GameObject obj);
+    }
+
+    /**
+     * 批量生成时的逐个设置
+     */
+    public interface BatchInitializer {
+        void init(GameObject obj, int index);
+    }
+
+    private final String name;
+    private final Builder builder;
+    private SpawnHook onSpawn;
+    // 只在场景更新线程上访问
+    private final ArrayDeque<GameObject> pool = new ArrayDeque<>();
+    private int createdCount;
+
+    public Prefab(String name, Builder builder) {
+        this.name = name;
+        this.builder = builder;
+    }
+
+    /**
+     * 设置重置回调
+     */
+    public Prefab onSpawn(SpawnHook hook) {
+        this.onSpawn = hook;
+        return this;
+    }
+
+    /**
+     * 预先创建对象放入池中
+     */
+    public void prewarm(int count) {
+        for (int i = 0; i < count; i++) {
+            GameObject obj = create();
+            obj.pooled = true;
+            pool.push(obj);
+        }
+    }
+
+    /**
+     * 生成一个对象并加入场景
+     */
+    public GameObject spawn(Scene scene) {
+        GameObject obj = obtain();
+        scene.addGameObject(obj);
+        return obj;
+    }
+
+    /**
+     * 批量生成对象
+     */
+    public void spawn(Scene scene, int count) {
+        spawnBatch(scene, count, null);
+    }
+
+    /**
+     * 批量生成对象，每个对象经 onSpawn 重置后再交给 initializer 设置
+     */
+    public void spawnBatch(Scene scene, int count, BatchInitializer initializer) {
+        for (int i = 0; i < count; i++) {
+            GameObject obj = obtain();
+            if (initializer != null) {
+                initializer.init(obj, i);
+            }
+            scene.addGameObject(obj);
+        }
+    }
+
+    /**
+     * 归还对象，由场景在对象离开时调用；重复归还或非本模板的对象会被忽略
+     */
+    public void release(GameObject obj) {
+        if (obj.prefab != this || obj.pooled) {
+            return;
+        }
+        obj.pooled = true;
+        obj.setActive(false);
+        obj.setScene(null);
+        pool.push(obj);
+    }
+
+    private GameObject obtain() {
+        GameObject obj = pool.isEmpty() ? create() : pool.pop();
+        obj.pooled = false;
+        obj.setActive(true);
+        if (obj.getName() == null || !obj.getName().equals(name)) {
+            obj.setName(name);
+        }
+        if (onSpawn != null) {
+            onSpawn.reset(obj);
+        }
+        return obj;
+    }
+
+    private GameObject create() {
+        GameObject obj = new GameObject(name);
+        builder.build(obj);
+        obj.prefab = this;
+        createdCount++;
+        return obj;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 池中可复用的对象数
+     */
+    public int getPooledCount() {
+        return pool.size();
+    }
+
+    /**
+     * 累计实际创建的对象数
+     */
+    public int getCreatedCount() {
+        return createdCount;
+    }
+}
@@ -0,0 +1,45 @@
+package com.gameengine.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 实体标签注册表
+ * 对象名称驻留为稠密整数ID，场景按ID维护成员集合，按类别查找时只做整数比较
+ */
+public final class Tags {
+    private static final ConcurrentHashMap<String, Integer> ids = new ConcurrentHashMap<>();
+    private static final List<String> names = new ArrayList<>();
+
+    private Tags() {
+    }
+
+    /**
+     * 获取名称对应的标签ID，首次出现时分配（null 与空串共用同一个标签）
+     */
+    public static int intern(String name) {
+        if (name == null) name = "";
+        Integer id = ids.get(name);
+        if (id != null) return id;
+        synchronized (names) {
+            return ids.computeIfAbsent(name, key -> {
+                names.add(key);
+                return names.size() - 1;
+            });
+        }
+    }
+
+    /**
+     * 获取标签ID对应的名称
+     */
+    public static String nameOf(int tag) {
+        synchronized (names) {
+            return tag >= 0 && tag < names.size() ? names.get(tag) : null;
+        }
+    }
+
+    public static int count() {
+        return ids.size();
+    }
+}
@@ -4,6 +4,8 @@ import com.gameengine.components.*;
 import com.gameengine.core.GameObject;
 import com.gameengine.core.GameEngine;
 import com.gameengine.core.GameLogic;
+import com.gameengine.core.Prefab;
+import com.gameengine.core.Tags;
 import com.gameengine.graphics.Renderer;
 import com.gameengine.input.InputManager;
 import com.gameengine.math.Vector2;
@@ -19,6 +21,12 @@ import java.util.Random;
 public class GameSceneWithRecording extends Scene {
     private static final int INITIAL_ENEMY_COUNT = 6;
     private static final int ENEMIES_PER_SPAWN = 2;
+    private static final int TAG_PLAYER = Tags.intern("Player");
+    private static final int TAG_ENEMY = Tags.intern("Enemy");
+    private static final int TAG_BULLET = Tags.intern("Bullet");
+    // 原匿名子类每帧更新两次组件，改为单次更新后速度加倍以保持原有手感
+    private static final float ENEMY_CHASE_SPEED = 120f;
+    private static final float BULLET_SPEED = 600f;
     private GameEngine engine;
     private Renderer renderer;
     private InputManager inputManager;
@@ -27,6 +35,9 @@ public class GameSceneWithRecording extends Scene {
     private GameLogic gameLogic;
     private float bulletTimer;
     private RecordingService recordingService;
+    private Prefab enemyPrefab;
+    private Prefab bulletPrefab;
+    private Prefab decorationPrefab;
     
     public GameSceneWithRecording(GameEngine engine) {
         super("GameScene");
@@ -41,7 +52,10 @@ public class GameSceneWithRecording extends Scene {
         this.random = new Random();
         this.time = 0;
         this.bulletTimer = 0;
-        this.gameLogic = new GameLogic(this);
+        this.gameLogic = new GameLogic(this, engine.getJobSystem());
+        
+        // 创建实体模板
+        createPrefabs();
         
         // 创建游戏对象
         createPlayer();
@@ -84,20 +98,18 @@ public class GameSceneWithRecording extends Scene {
         }
 
         // 清理越界子弹
-        for (GameObject obj : getGameObjects()) {
-            if (obj.getName().equals("Bullet")) {
-                TransformComponent t = obj.getComponent(TransformComponent.class);
-                if (t != null) {
-                    Vector2 pos = t.getPosition();
-                    if (pos.x < -50 || pos.x > 850 || pos.y < -50 || pos.y > 650) {
-                        obj.destroy();
-                    }
+        for (GameObject obj : getObjectsByTag(TAG_BULLET)) {
+            TransformComponent t = obj.getComponent(TransformComponent.class);
+            if (t != null) {
+                Vector2 pos = t.getPosition();
+                if (pos.x < -50 || pos.x > 850 || pos.y < -50 || pos.y > 650) {
+                    obj.destroy();
                 }
             }
         }
 
         // 检查玩家HP并在HP<=0时返回菜单
-        GameObject player = findFirstGameObjectByName("Player");
+        GameObject player = findFirstByTag(TAG_PLAYER);
         if (player != null) {
             com.gameengine.components.HealthComponent health = player.getComponent(com.gameengine.components.HealthComponent.class);
             if (health != null && health.getHp() <= 0) {
@@ -136,7 +148,7 @@ public class GameSceneWithRecording extends Scene {
         super.render();
 
         // 绘制玩家HP条
-        GameObject player = findFirstGameObjectByName("Player");
+        GameObject player = findFirstByTag(TAG_PLAYER);
         if (player != null) {
             com.gameengine.components.HealthComponent health = player.getComponent(com.gameengine.components.HealthComponent.class);
             if (health != null) {
@@ -219,6 +231,9 @@ public class GameSceneWithRecording extends Scene {
         // 添加生命值组件（初始HP=5）
         player.addComponent(new com.gameengine.components.HealthComponent(5));
         
+        // 添加碰撞体
+        player.addComponent(new ColliderComponent(15, GameLogic.LAYER_PLAYER, GameLogic.LAYER_ENEMY));
+        
         addGameObject(player);
     }
     
@@ -227,133 +242,89 @@ public class GameSceneWithRecording extends Scene {
     }
     
     private void spawnEnemyWave(int count) {
-        for (int i = 0; i < count; i++) {
-            createEnemy();
-        }
+        enemyPrefab.spawn(this, count);
     }
     
-    private void createEnemy() {
-        GameObject enemy = new GameObject("Enemy") {
-            @Override
-            public void update(float deltaTime) {
-                super.update(deltaTime);
-                // 追踪玩家
-                GameObject targetPlayer = GameSceneWithRecording.this.findFirstGameObjectByName("Player");
-                if (targetPlayer != null) {
-                    TransformComponent pt = targetPlayer.getComponent(TransformComponent.class);
-                    TransformComponent myt = getComponent(TransformComponent.class);
-                    PhysicsComponent myp = getComponent(PhysicsComponent.class);
-                    if (pt != null && myt != null && myp != null) {
-                        Vector2 dir = pt.getPosition().subtract(myt.getPosition());
-                        if (dir.magnitude() > 1) {
-                            dir = dir.normalize().multiply(60);
-                            myp.setVelocity(dir);
-                        }
-                    }
-                }
-                updateComponents(deltaTime);
-            }
+    /**
+     * 声明敌人、子弹与装饰物模板，组件只在首次创建时构建，之后从对象池复用
+     */
+    private void createPrefabs() {
+        enemyPrefab = new Prefab("Enemy", enemy -> {
+            // 添加变换组件
+            enemy.addComponent(new TransformComponent(new Vector2()));
             
-            @Override
-            public void render() {
-                renderComponents();
-            }
-        };
+            // 追踪玩家（先于物理组件更新）
+            enemy.addComponent(new ChaseComponent(TAG_PLAYER, ENEMY_CHASE_SPEED));
+            
+            // 添加渲染组件 - 改为矩形，使用橙色
+            RenderComponent render = enemy.addComponent(new RenderComponent(
+                RenderComponent.RenderType.RECTANGLE,
+                new Vector2(20, 20),
+                new RenderComponent.Color(1.0f, 0.5f, 0.0f, 1.0f)  // 橙色
+            ));
+            render.setRenderer(renderer);
+            
+            // 添加物理组件
+            PhysicsComponent physics = enemy.addComponent(new PhysicsComponent(0.5f));
+            physics.setFriction(0.98f);
+            
+            // 添加碰撞体：与玩家、子弹接触
+            enemy.addComponent(new ColliderComponent(10, GameLogic.LAYER_ENEMY, GameLogic.LAYER_PLAYER | GameLogic.LAYER_BULLET));
+        }).onSpawn(enemy -> {
+            // 随机位置与初速度
+            enemy.getComponent(TransformComponent.class).setPosition(new Vector2(
+                random.nextFloat() * 800,
+                random.nextFloat() * 600
+            ));
+            enemy.getComponent(PhysicsComponent.class).setVelocity(
+                (random.nextFloat() - 0.5f) * 100,
+                (random.nextFloat() - 0.5f) * 100
+            );
+        });
         
-        // 随机位置
-        Vector2 position = new Vector2(
+        bulletPrefab = new Prefab("Bullet", bullet -> {
+            bullet.addComponent(new TransformComponent(new Vector2()));
+            PhysicsComponent bp = bullet.addComponent(new PhysicsComponent(0.1f));
+            bp.setFriction(1.0f);
+            RenderComponent br = bullet.addComponent(new RenderComponent(
+                RenderComponent.RenderType.CIRCLE,
+                new Vector2(6, 6),
+                new RenderComponent.Color(1.0f, 1.0f, 0.0f, 1.0f)
+            ));
+            br.setRenderer(renderer);
+            bullet.addComponent(new ColliderComponent(10, GameLogic.LAYER_BULLET, GameLogic.LAYER_ENEMY));
+        });
+        
+        decorationPrefab = new Prefab("Decoration", decoration -> {
+            decoration.addComponent(new TransformComponent(new Vector2()));
+            RenderComponent render = decoration.addComponent(new RenderComponent(
+                RenderComponent.RenderType.CIRCLE,
+                new Vector2(5, 5),
+                new RenderComponent.Color(0.5f, 0.5f, 1.0f, 0.8f)
+            ));
+            render.setRenderer(renderer);
+        }).onSpawn(decoration -> decoration.getComponent(TransformComponent.class).setPosition(new Vector2(
             random.nextFloat() * 800,
             random.nextFloat() * 600
-        );
-        
-        // 添加变换组件
-        enemy.addComponent(new TransformComponent(position));
-        
-        // 添加渲染组件 - 改为矩形，使用橙色
-        RenderComponent render = enemy.addComponent(new RenderComponent(
-            RenderComponent.RenderType.RECTANGLE,
-            new Vector2(20, 20),
-            new RenderComponent.Color(1.0f, 0.5f, 0.0f, 1.0f)  // 橙色
-        ));
-        render.setRenderer(renderer);
-        
-        // 添加物理组件
-        PhysicsComponent physics = enemy.addComponent(new PhysicsComponent(0.5f));
-        physics.setVelocity(new Vector2(
-            (random.nextFloat() - 0.5f) * 100,
-            (random.nextFloat() - 0.5f) * 100
-        ));
-        physics.setFriction(0.98f);
-        
-        addGameObject(enemy);
+        )));
     }
     
     private void createDecorations() {
-        for (int i = 0; i < 5; i++) {
-            createDecoration();
-        }
-    }
-    
-    private void createDecoration() {
-        GameObject decoration = new GameObject("Decoration") {
-            @Override
-            public void update(float deltaTime) {
-                super.update(deltaTime);
-                updateComponents(deltaTime);
-            }
-            
-            @Override
-            public void render() {
-                renderComponents();
-            }
-        };
-        
-        // 随机位置
-        Vector2 position = new Vector2(
-            random.nextFloat() * 800,
-            random.nextFloat() * 600
-        );
-        
-        // 添加变换组件
-        decoration.addComponent(new TransformComponent(position));
-        
-        // 添加渲染组件
-        RenderComponent render = decoration.addComponent(new RenderComponent(
-            RenderComponent.RenderType.CIRCLE,
-            new Vector2(5, 5),
-            new RenderComponent.Color(0.5f, 0.5f, 1.0f, 0.8f)
-        ));
-        render.setRenderer(renderer);
-        
-        addGameObject(decoration);
+        decorationPrefab.spawn(this, 5);
     }
 
     private void spawnBullet() {
         // 自动朝上发射子弹
-        GameObject player = findFirstGameObjectByName("Player");
+        GameObject player = findFirstByTag(TAG_PLAYER);
         if (player == null) return;
         TransformComponent pt = player.getComponent(TransformComponent.class);
         if (pt == null) return;
 
-        GameObject bullet = new GameObject("Bullet") {
-            @Override
-            public void update(float deltaTime) {
-                super.update(deltaTime);
-                updateComponents(deltaTime);
-            }
-
-            @Override
-            public void render() {
-                renderComponents();
-            }
-        };
-
         // 朝最近的敌人发射子弹
         Vector2 playerPos = pt.getPosition();
         GameObject closestEnemy = null;
         float closestDist = Float.MAX_VALUE;
-        for (GameObject obj : getGameObjects()) {
-            if (!"Enemy".equals(obj.getName())) continue;
+        for (GameObject obj : getObjectsByTag(TAG_ENEMY)) {
             TransformComponent et = obj.getComponent(TransformComponent.class);
             if (et == null) continue;
             float d = playerPos.distance(et.getPosition());
@@ -386,18 +357,9 @@ public class GameSceneWithRecording extends Scene {
             }
         }
 
-        float bulletSpeed = 300f;
         Vector2 start = playerPos.add(fireDir.multiply(20));
-        bullet.addComponent(new TransformComponent(start));
-        PhysicsComponent bp = bullet.addComponent(new PhysicsComponent(0.1f));
-        bp.setFriction(1.0f);
-        bp.setVelocity(fireDir.multiply(bulletSpeed));
-        RenderComponent br = bullet.addComponent(new RenderComponent(
-            RenderComponent.RenderType.CIRCLE,
-            new Vector2(6, 6),
-            new RenderComponent.Color(1.0f, 1.0f, 0.0f, 1.0f)
-        ));
-        br.setRenderer(renderer);
-        addGameObject(bullet);
+        GameObject bullet = bulletPrefab.spawn(this);
+        bullet.getComponent(TransformComponent.class).setPosition(start);
+        bullet.getComponent(PhysicsComponent.class).setVelocity(fireDir.multiply(BULLET_SPEED));
     }
 }
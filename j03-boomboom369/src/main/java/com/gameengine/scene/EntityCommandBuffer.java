@@ -0,0 +1,66 @@
+package com.gameengine.scene;
+
+import com.gameengine.core.GameObject;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 场景结构变更（加入/移除）的命令缓冲
+ * 任意线程都可写入，场景在每帧 update 开头的同步点一次性应用
+ */
+final class EntityCommandBuffer {
+    private final Object lock = new Object();
+    // 前后两组缓冲交替使用，应用期间新写入的命令进入另一组，留到下一次同步点
+    private ArrayList<GameObject> adds = new ArrayList<>();
+    private ArrayList<GameObject> removes = new ArrayList<>();
+    private ArrayList<GameObject> pendingAdds = new ArrayList<>();
+    private ArrayList<GameObject> pendingRemoves = new ArrayList<>();
+
+    void add(GameObject obj) {
+        synchronized (lock) {
+            adds.add(obj);
+        }
+    }
+
+    void remove(GameObject obj) {
+        synchronized (lock) {
+            removes.add(obj);
+        }
+    }
+
+    /**
+     * 取出当前全部命令，调用方处理完后需调用 recycle
+     */
+    void swap() {
+        synchronized (lock) {
+            ArrayList<GameObject> a = adds;
+            adds = pendingAdds;
+            pendingAdds = a;
+            ArrayList<GameObject> r = removes;
+            removes = pendingRemoves;
+            pendingRemoves = r;
+        }
+    }
+
+    List<GameObject> swappedAdds() {
+        return pendingAdds;
+    }
+
+    List<GameObject> swappedRemoves() {
+        return pendingRemoves;
+    }
+
+    void recycle() {
+        pendingAdds.clear();
+        pendingRemoves.clear();
+    }
+
+    void clear() {
+        synchronized (lock) {
+            adds.clear();
+            removes.clear();
+        }
+        recycle();
+    }
+}
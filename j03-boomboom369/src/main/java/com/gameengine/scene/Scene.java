@@ -2,6 +2,7 @@ package com.gameengine.scene;
 
 import com.gameengine.core.GameObject;
 import com.gameengine.core.Component;
+import com.gameengine.core.Tags;
 // 移除具体游戏逻辑的import
 import java.util.*;
 import java.util.stream.Collectors;
@@ -12,18 +13,21 @@ import java.util.stream.Collectors;
 public class Scene {
     private String name;
     private List<GameObject> gameObjects;
-    private List<GameObject> objectsToAdd;
-    private List<GameObject> objectsToRemove;
+    // 结构变更先写入命令缓冲，在 update 开头统一应用
+    private final EntityCommandBuffer commands;
+    // 本帧待移除对象，仅在压缩阶段使用
+    private final Set<GameObject> removing;
     private boolean initialized;
-    // 移除未使用的组件索引
+    // 按标签ID下标的成员集合，保持加入顺序
+    private final List<LinkedHashSet<GameObject>> tagIndex;
     
     public Scene(String name) {
         this.name = name;
         this.gameObjects = new ArrayList<>();
-        this.objectsToAdd = new ArrayList<>();
-        this.objectsToRemove = new ArrayList<>();
+        this.commands = new EntityCommandBuffer();
+        this.removing = Collections.newSetFromMap(new IdentityHashMap<>());
         this.initialized = false;
-        // 移除组件索引初始化
+        this.tagIndex = new ArrayList<>();
     }
     
     /**
@@ -40,31 +44,59 @@ public class Scene {
      * 更新场景
      */
     public void update(float deltaTime) {
+        applyStructuralChanges();
+        
+        // 更新所有活跃的游戏对象
+        for (int i = 0, n = gameObjects.size(); i < n; i++) {
+            GameObject obj = gameObjects.get(i);
+            if (obj.isActive()) {
+                obj.update(deltaTime);
+            }
+        }
+    }
+    
+    /**
+     * 同步点：先追加新对象，再用一次标记-清除压缩移除被移除或已失活的对象
+     * 整体 O(n)，同一帧大量对象死亡也不会退化为逐个 ArrayList.remove 的 O(n²)，剩余对象保持原有顺序
+     */
+    private void applyStructuralChanges() {
+        commands.swap();
+        
         // 添加新对象
-        for (GameObject obj : objectsToAdd) {
+        List<GameObject> adds = commands.swappedAdds();
+        for (int i = 0, n = adds.size(); i < n; i++) {
+            GameObject obj = adds.get(i);
             gameObjects.add(obj);
+            tagSet(obj.getTag()).add(obj);
             if (initialized) {
                 obj.initialize();
             }
         }
-        objectsToAdd.clear();
-        
-        // 移除标记的对象
-        for (GameObject obj : objectsToRemove) {
-            gameObjects.remove(obj);
+        List<GameObject> removes = commands.swappedRemoves();
+        for (int i = 0, n = removes.size(); i < n; i++) {
+            removing.add(removes.get(i));
         }
-        objectsToRemove.clear();
+        commands.recycle();
         
-        // 更新所有活跃的游戏对象
-        Iterator<GameObject> iterator = gameObjects.iterator();
-        while (iterator.hasNext()) {
-            GameObject obj = iterator.next();
-            if (obj.isActive()) {
-                obj.update(deltaTime);
-            } else {
-                iterator.remove();
+        // 压缩：保留的对象前移，最后一次性截断尾部
+        boolean checkRemoving = !removing.isEmpty();
+        int size = gameObjects.size();
+        int write = 0;
+        for (int read = 0; read < size; read++) {
+            GameObject obj = gameObjects.get(read);
+            if (!obj.isActive() || (checkRemoving && removing.contains(obj))) {
+                detach(obj);
+                continue;
             }
+            if (write != read) {
+                gameObjects.set(write, obj);
+            }
+            write++;
+        }
+        for (int i = size - 1; i >= write; i--) {
+            gameObjects.remove(i);
         }
+        removing.clear();
     }
     
     /**
@@ -80,9 +112,69 @@ public class Scene {
     
     /**
      * 添加游戏对象到场景
+     * 可在任意线程调用（包括 JobSystem 的工作线程），对象在下一次 update 开头加入
      */
     public void addGameObject(GameObject gameObject) {
-        objectsToAdd.add(gameObject);
+        gameObject.setScene(this);
+        commands.add(gameObject);
+    }
+    
+    /**
+     * 从场景移除游戏对象
+     * 可在任意线程调用，对象在下一次 update 开头移除
+     */
+    public void removeGameObject(GameObject gameObject) {
+        commands.remove(gameObject);
+    }
+    
+    private void detach(GameObject obj) {
+        tagSet(obj.getTag()).remove(obj);
+        obj.setScene(null);
+        if (obj.getPrefab() != null) {
+            obj.getPrefab().release(obj);
+        }
+    }
+    
+    private LinkedHashSet<GameObject> tagSet(int tag) {
+        while (tagIndex.size() <= tag) {
+            tagIndex.add(new LinkedHashSet<>());
+        }
+        return tagIndex.get(tag);
+    }
+    
+    /**
+     * 对象改名后由 GameObject 回调，更新标签成员集合
+     */
+    public void onGameObjectRenamed(GameObject obj, int oldTag) {
+        if (tagSet(oldTag).remove(obj)) {
+            tagSet(obj.getTag()).add(obj);
+        }
+    }
+    
+    /**
+     * 获取某标签下的全部对象（只读实时视图）
+     */
+    public Set<GameObject> getObjectsByTag(int tag) {
+        return Collections.unmodifiableSet(tagSet(tag));
+    }
+    
+    public Set<GameObject> getObjectsByTag(String tagName) {
+        return getObjectsByTag(Tags.intern(tagName));
+    }
+    
+    /**
+     * 获取某标签下最先加入的对象
+     */
+    public GameObject findFirstByTag(int tag) {
+        if (tag < 0 || tag >= tagIndex.size()) {
+            return null;
+        }
+        Iterator<GameObject> it = tagIndex.get(tag).iterator();
+        return it.hasNext() ? it.next() : null;
+    }
+    
+    public GameObject findFirstByTag(String tagName) {
+        return findFirstByTag(Tags.intern(tagName));
     }
     
     /**
@@ -101,9 +193,7 @@ public class Scene {
         if (targetName == null) {
             return Collections.emptyList();
         }
-        return gameObjects.stream()
-            .filter(obj -> targetName.equals(obj.getName()))
-            .collect(Collectors.toList());
+        return new ArrayList<>(getObjectsByTag(targetName));
     }
 
     /**
@@ -113,12 +203,7 @@ public class Scene {
         if (targetName == null) {
             return null;
         }
-        for (GameObject obj : gameObjects) {
-            if (targetName.equals(obj.getName())) {
-                return obj;
-            }
-        }
-        return null;
+        return findFirstByTag(targetName);
     }
     
     /**
@@ -136,8 +221,9 @@ public class Scene {
      */
     public void clear() {
         gameObjects.clear();
-        objectsToAdd.clear();
-        objectsToRemove.clear();
+        tagIndex.clear();
+        commands.clear();
+        removing.clear();
     }
     
     /**
@@ -25,6 +25,19 @@ if errorlevel 1 (
 )
 echo Compilation successful.
 
+rem PhysicsSystem 的 SIMD 积分核（可选）依赖 JDK 孵化模块 jdk.incubator.vector（JDK 16+），单独编译；失败时物理使用标量版本
+set "JAVA_FLAGS="
+set "VECTOR_SOURCES="
+for /r "src\main\vector" %%f in (*.java) do (
+  set "VECTOR_SOURCES=!VECTOR_SOURCES! %%f"
+)
+javac -encoding UTF-8 --add-modules jdk.incubator.vector -d build\classes -cp build\classes !VECTOR_SOURCES!
+if errorlevel 1 (
+  echo SIMD kernel not compiled, physics uses the scalar path.
+) else (
+  set "JAVA_FLAGS=--add-modules jdk.incubator.vector"
+)
+
 rem 设置运行时类路径
 set "CLASSPATH=build\classes"
 if exist "lib\lwjgl" (
@@ -42,10 +55,9 @@ if /i "%PROCESSOR_ARCHITECTURE%"=="AMD64" (
 )
 
 rem 设置 LWJGL natives 路径
-set "JAVA_FLAGS="
 set "NATIVES_PATH=lib\lwjgl\natives\%OS_ID%-%ARCH_ID%"
 if exist "%NATIVES_PATH%" (
-  set "JAVA_FLAGS=-Dorg.lwjgl.librarypath=%NATIVES_PATH%"
+  set "JAVA_FLAGS=%JAVA_FLAGS% -Dorg.lwjgl.librarypath=%NATIVES_PATH%"
 )
 
 rem 运行程序
@@ -11,6 +11,15 @@ fi
 SOURCES=$(find src/main/java -type f -name "*.java")
 javac -d build/classes -cp "$LWJGL_CP" $SOURCES
 
+# PhysicsSystem 的 SIMD 积分核（可选）依赖 JDK 孵化模块 jdk.incubator.vector（JDK 16+），单独编译；失败时物理使用标量版本
+JAVA_FLAGS=""
+VECTOR_SOURCES=$(find src/main/vector -type f -name "*.java")
+if javac --add-modules jdk.incubator.vector -d build/classes -cp build/classes $VECTOR_SOURCES; then
+  JAVA_FLAGS="--add-modules jdk.incubator.vector"
+else
+  echo "未编译 SIMD 积分核，物理使用标量版本"
+fi
+
 LWJGL_DIR="lib/lwjgl"
 CLASSPATH="build/classes"
 if [ -d "$LWJGL_DIR" ]; then
@@ -31,9 +40,8 @@ case "$ARCH_RAW" in
   *) ARCH_ID="";;
 esac
 
-JAVA_FLAGS=""
 if [ -n "$OS_ID" ] && [ -n "$ARCH_ID" ] && [ -d "$LWJGL_DIR/natives/${OS_ID}-${ARCH_ID}" ]; then
-  JAVA_FLAGS="-Dorg.lwjgl.librarypath=$LWJGL_DIR/natives/${OS_ID}-${ARCH_ID}"
+  JAVA_FLAGS="$JAVA_FLAGS -Dorg.lwjgl.librarypath=$LWJGL_DIR/natives/${OS_ID}-${ARCH_ID}"
 fi
 
 if [[ "$OS" == Darwin* ]]; then
@@ -0,0 +1,99 @@
+package com.gameengine.components;
+
+import com.gameengine.core.Component;
+
+// AI 的转向状态：目标速度、换目标的计时与间隔；细节层级与上次决策时间由 AIScheduler 维护
+public class AIComponent extends Component<AIComponent> {
+    // 细节层级：近处每次轮到都决策，远处每 2 次、屏幕外每 4 次
+    public static final int LOD_NEAR = 0;
+    public static final int LOD_FAR = 1;
+    public static final int LOD_OFFSCREEN = 2;
+
+    private float targetX;
+    private float targetY;
+    private float timer;
+    private float decisionInterval;
+    private int lod;
+    private int visits;
+    private double lastDecisionTime;
+    private boolean decided;
+
+    public AIComponent() {
+        reset();
+    }
+
+    @Override
+    public void initialize() {
+    }
+
+    @Override
+    public void render() {
+    }
+
+    // 对象池复用时调用：回到尚未决策的状态，下一次轮到时立即选目标
+    public void reset() {
+        targetX = 0;
+        targetY = 0;
+        timer = 0;
+        decisionInterval = 0;
+        lod = LOD_NEAR;
+        visits = 0;
+        lastDecisionTime = 0;
+        decided = false;
+    }
+
+    public float getTargetX() {
+        return targetX;
+    }
+
+    public float getTargetY() {
+        return targetY;
+    }
+
+    public void setTarget(float x, float y) {
+        this.targetX = x;
+        this.targetY = y;
+    }
+
+    public float getTimer() {
+        return timer;
+    }
+
+    public void setTimer(float timer) {
+        this.timer = timer;
+    }
+
+    public float getDecisionInterval() {
+        return decisionInterval;
+    }
+
+    public void setDecisionInterval(float decisionInterval) {
+        this.decisionInterval = decisionInterval;
+    }
+
+    public int getLod() {
+        return lod;
+    }
+
+    public void setLod(int lod) {
+        this.lod = lod;
+    }
+
+    // 返回本次之前被调度器访问的次数
+    public int nextVisit() {
+        return visits++;
+    }
+
+    public boolean hasDecided() {
+        return decided;
+    }
+
+    public double getLastDecisionTime() {
+        return lastDecisionTime;
+    }
+
+    public void setLastDecisionTime(double time) {
+        this.lastDecisionTime = time;
+        this.decided = true;
+    }
+}
@@ -0,0 +1,88 @@
+package com.gameengine.components;
+
+import com.gameengine.core.Component;
+import com.gameengine.math.Vector2;
+
+// 碰撞体：以 Transform 位置为中心的圆或轴对齐矩形。
+// layer 为自身所在层的位掩码，mask 为愿意与之碰撞的层；双方互相接受时才产生接触。
+public class ColliderComponent extends Component<ColliderComponent> {
+    public enum Shape {
+        CIRCLE,
+        BOX
+    }
+
+    private Shape shape;
+    private float radius;
+    private float halfWidth;
+    private float halfHeight;
+    private int layer;
+    private int mask;
+
+    public ColliderComponent(float radius, int layer, int mask) {
+        this.shape = Shape.CIRCLE;
+        this.radius = Math.max(0, radius);
+        this.halfWidth = this.radius;
+        this.halfHeight = this.radius;
+        this.layer = layer;
+        this.mask = mask;
+    }
+
+    public ColliderComponent(Vector2 size, int layer, int mask) {
+        this.shape = Shape.BOX;
+        this.halfWidth = Math.max(0, size.x) * 0.5f;
+        this.halfHeight = Math.max(0, size.y) * 0.5f;
+        this.radius = 0;
+        this.layer = layer;
+        this.mask = mask;
+    }
+
+    // 把尺寸告诉物理组件，高速运动时据此拆分子步
+    @Override
+    public void initialize() {
+        PhysicsComponent physics = owner != null ? owner.getComponent(PhysicsComponent.class) : null;
+        if (physics != null) {
+            physics.setCollisionExtent(Math.min(halfWidth, halfHeight));
+        }
+    }
+
+    @Override
+    public void render() {
+    }
+
+    public Shape getShape() {
+        return shape;
+    }
+
+    public float getRadius() {
+        return radius;
+    }
+
+    // 包围盒半宽/半高；圆形时等于半径
+    public float getHalfWidth() {
+        return halfWidth;
+    }
+
+    public float getHalfHeight() {
+        return halfHeight;
+    }
+
+    public int getLayer() {
+        return layer;
+    }
+
+    public void setLayer(int layer) {
+        this.layer = layer;
+    }
+
+    public int getMask() {
+        return mask;
+    }
+
+    public void setMask(int mask) {
+        this.mask = mask;
+    }
+
+    public boolean accepts(ColliderComponent other) {
+        return (layer & other.mask) != 0 && (other.layer & mask) != 0;
+    }
+}
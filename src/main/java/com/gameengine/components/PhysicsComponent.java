@@ -1,103 +1,209 @@
 package com.gameengine.components;
 
+import com.gameengine.core.BodyStorage;
 import com.gameengine.core.Component;
 import com.gameengine.math.Vector2;
 
+// 物理数据的视图：速度、加速度、质量等存放在 BodyStorage 的列中
 public class PhysicsComponent extends Component<PhysicsComponent> {
-    private Vector2 velocity;
-    private Vector2 acceleration;
-    private float mass;
-    private float friction;
-    private boolean useGravity;
-    private Vector2 gravity;
+    private BodyStorage.Archetype archetype;
+    private int row;
     
     public PhysicsComponent() {
-        this.velocity = new Vector2();
-        this.acceleration = new Vector2();
-        this.mass = 1.0f;
-        this.friction = 0.9f;
-        this.useGravity = false;
-        this.gravity = new Vector2(0, 9.8f);
+        this.archetype = BodyStorage.Archetype.detached(BodyStorage.PHYSICS);
+        this.row = 0;
+        archetype.mass[0] = 1.0f;
+        archetype.friction[0] = 0.9f;
+        archetype.useGravity[0] = false;
+        archetype.simulated[0] = true;
+        archetype.awake[0] = true;
+        archetype.gravX[0] = 0;
+        archetype.gravY[0] = 9.8f;
     }
     
     public PhysicsComponent(float mass) {
         this();
-        this.mass = mass;
+        archetype.mass[0] = mass;
     }
     
+    // 碰撞体先于物理组件添加时，由这里取得尺寸
     @Override
     public void initialize() {
+        ColliderComponent collider = owner != null ? owner.getComponent(ColliderComponent.class) : null;
+        if (collider != null) {
+            setCollisionExtent(Math.min(collider.getHalfWidth(), collider.getHalfHeight()));
+        }
     }
     
     @Override
     public void render() {
     }
     
+    @Override
+    public void setEnabled(boolean enabled) {
+        super.setEnabled(enabled);
+        archetype.simulated[row] = enabled;
+        if (enabled) {
+            wakeUp();
+        }
+    }
+    
+    @Override
+    public void destroy() {
+        super.destroy();
+        archetype.simulated[row] = false;
+    }
+    
+    // 仅供 BodyStorage 在搬移数据后调用
+    public void bindStorage(BodyStorage.Archetype archetype, int row) {
+        this.archetype = archetype;
+        this.row = row;
+    }
+    
+    public BodyStorage.Archetype getArchetype() {
+        return archetype;
+    }
+    
+    public int getRow() {
+        return row;
+    }
+    
+    // ===== 休眠：施力、冲量、改速度等写操作会唤醒刚体 =====
+    
+    public boolean isSleeping() {
+        return !archetype.awake[row];
+    }
+    
+    public void wakeUp() {
+        archetype.awake[row] = true;
+        archetype.idleTime[row] = 0;
+    }
+    
+    // 立即入睡并清空速度与加速度；直接移动休眠刚体的位置不会唤醒它，需要时自行调用 wakeUp
+    public void putToSleep() {
+        archetype.awake[row] = false;
+        archetype.idleTime[row] = 0;
+        archetype.velX[row] = 0;
+        archetype.velY[row] = 0;
+        archetype.accX[row] = 0;
+        archetype.accY[row] = 0;
+    }
+    
     public void applyForce(Vector2 force) {
+        float mass = archetype.mass[row];
         if (mass > 0) {
-            acceleration = acceleration.add(force.multiply(1.0f / mass));
+            wakeUp();
+            archetype.accX[row] += force.x / mass;
+            archetype.accY[row] += force.y / mass;
         }
     }
     
     public void applyImpulse(Vector2 impulse) {
+        float mass = archetype.mass[row];
         if (mass > 0) {
-            velocity = velocity.add(impulse.multiply(1.0f / mass));
+            wakeUp();
+            archetype.velX[row] += impulse.x / mass;
+            archetype.velY[row] += impulse.y / mass;
         }
     }
     
     public void setVelocity(Vector2 velocity) {
-        this.velocity = new Vector2(velocity);
+        setVelocity(velocity.x, velocity.y);
     }
     
+    // 置零不会唤醒休眠的刚体
     public void setVelocity(float x, float y) {
-        this.velocity = new Vector2(x, y);
+        if (x != 0 || y != 0) {
+            wakeUp();
+        }
+        archetype.velX[row] = x;
+        archetype.velY[row] = y;
     }
     
     public void setAcceleration(Vector2 acceleration) {
-        this.acceleration = new Vector2(acceleration);
+        wakeUp();
+        archetype.accX[row] = acceleration.x;
+        archetype.accY[row] = acceleration.y;
     }
     
     public void addVelocity(Vector2 delta) {
-        this.velocity = velocity.add(delta);
+        addVelocity(delta.x, delta.y);
+    }
+    
+    public void addVelocity(float dx, float dy) {
+        wakeUp();
+        archetype.velX[row] += dx;
+        archetype.velY[row] += dy;
     }
     
     public void setGravity(Vector2 gravity) {
-        this.gravity = new Vector2(gravity);
+        wakeUp();
+        archetype.gravX[row] = gravity.x;
+        archetype.gravY[row] = gravity.y;
     }
     
     public void setUseGravity(boolean useGravity) {
-        this.useGravity = useGravity;
+        wakeUp();
+        archetype.useGravity[row] = useGravity;
+    }
+    
+    // 碰撞体的最小半尺寸，决定高速运动时是否拆分子步；0 表示不拆分。通常由 ColliderComponent 设置
+    public void setCollisionExtent(float extent) {
+        archetype.extent[row] = Math.max(0, extent);
+    }
+    
+    public float getCollisionExtent() {
+        return archetype.extent[row];
+    }
+    
+    // 上一次物理步拆分的子步数（未拆分为 1）
+    public int getLastSubsteps() {
+        return archetype.substeps[row];
     }
     
     public void setFriction(float friction) {
-        this.friction = Math.max(0, Math.min(1, friction));
+        archetype.friction[row] = Math.max(0, Math.min(1, friction));
     }
     
     public void setMass(float mass) {
-        this.mass = Math.max(0.1f, mass);
+        archetype.mass[row] = Math.max(0.1f, mass);
     }
     
     public Vector2 getVelocity() {
-        return new Vector2(velocity);
+        return new Vector2(archetype.velX[row], archetype.velY[row]);
+    }
+    
+    // ===== 标量访问：不复制、不分配 =====
+    
+    public float getVelocityX() {
+        return archetype.velX[row];
+    }
+    
+    public float getVelocityY() {
+        return archetype.velY[row];
+    }
+    
+    public Vector2 getVelocity(Vector2 dest) {
+        return dest.set(archetype.velX[row], archetype.velY[row]);
     }
     
     public Vector2 getAcceleration() {
-        return new Vector2(acceleration);
+        return new Vector2(archetype.accX[row], archetype.accY[row]);
     }
     
     public float getMass() {
-        return mass;
+        return archetype.mass[row];
     }
     
     public float getFriction() {
-        return friction;
+        return archetype.friction[row];
     }
     
     public boolean isUseGravity() {
-        return useGravity;
+        return archetype.useGravity[row];
     }
     
     public Vector2 getGravity() {
-        return new Vector2(gravity);
+        return new Vector2(archetype.gravX[row], archetype.gravY[row]);
     }
 }
@@ -10,6 +10,8 @@ public class RenderComponent extends Component<RenderComponent> {
     private Vector2 size;
     private Color color;
     private boolean visible;
+    // 渲染只在渲染线程进行，复用同一个临时向量
+    private final Vector2 renderPosition = new Vector2();
     
     public enum RenderType {
         RECTANGLE,
@@ -61,7 +63,7 @@ public class RenderComponent extends Component<RenderComponent> {
             return;
         }
         
-        Vector2 position = transform.getPosition();
+        Vector2 position = transform.getRenderPosition(renderPosition);
         
         switch (renderType) {
             case RECTANGLE:
@@ -1,28 +1,32 @@
 package com.gameengine.components;
 
+import com.gameengine.core.BodyStorage;
 import com.gameengine.core.Component;
 import com.gameengine.math.Vector2;
 
+// 变换数据的视图：实际数值存放在 BodyStorage 的列中，未进入场景时使用独立的单行存储
 public class TransformComponent extends Component<TransformComponent> {
-    private Vector2 position;
-    private Vector2 scale;
-    private float rotation;
+    private BodyStorage.Archetype archetype;
+    private int row;
     
     public TransformComponent() {
-        this.position = new Vector2();
-        this.scale = new Vector2(1, 1);
-        this.rotation = 0;
+        this(new Vector2(), new Vector2(1, 1), 0);
     }
     
     public TransformComponent(Vector2 position) {
-        this();
-        this.position = new Vector2(position);
+        this(position, new Vector2(1, 1), 0);
     }
     
     public TransformComponent(Vector2 position, Vector2 scale, float rotation) {
-        this.position = new Vector2(position);
-        this.scale = new Vector2(scale);
-        this.rotation = rotation;
+        this.archetype = BodyStorage.Archetype.detached(BodyStorage.TRANSFORM);
+        this.row = 0;
+        archetype.posX[0] = position.x;
+        archetype.posY[0] = position.y;
+        archetype.prevX[0] = position.x;
+        archetype.prevY[0] = position.y;
+        archetype.scaleX[0] = scale.x;
+        archetype.scaleY[0] = scale.y;
+        archetype.rotation[0] = rotation;
     }
     
     @Override
@@ -33,43 +37,117 @@ public class TransformComponent extends Component<TransformComponent> {
     public void render() {
     }
     
+    // 仅供 BodyStorage 在搬移数据后调用
+    public void bindStorage(BodyStorage.Archetype archetype, int row) {
+        this.archetype = archetype;
+        this.row = row;
+    }
+    
+    public BodyStorage.Archetype getArchetype() {
+        return archetype;
+    }
+    
+    public int getRow() {
+        return row;
+    }
+    
     public void moveTo(Vector2 newPosition) {
-        this.position = new Vector2(newPosition);
+        setPosition(newPosition);
     }
     
     public void translate(Vector2 delta) {
-        this.position = position.add(delta);
+        archetype.posX[row] += delta.x;
+        archetype.posY[row] += delta.y;
+    }
+    
+    public void translate(float dx, float dy) {
+        archetype.posX[row] += dx;
+        archetype.posY[row] += dy;
     }
     
     public void rotate(float angle) {
-        this.rotation += angle;
+        archetype.rotation[row] += angle;
     }
     
     public void setRotation(float angle) {
-        this.rotation = angle;
+        archetype.rotation[row] = angle;
     }
     
     public void scale(Vector2 scaleFactor) {
-        this.scale = new Vector2(this.scale.x * scaleFactor.x, this.scale.y * scaleFactor.y);
+        archetype.scaleX[row] *= scaleFactor.x;
+        archetype.scaleY[row] *= scaleFactor.y;
     }
     
     public void setScale(Vector2 newScale) {
-        this.scale = new Vector2(newScale);
+        archetype.scaleX[row] = newScale.x;
+        archetype.scaleY[row] = newScale.y;
     }
     
     public Vector2 getPosition() {
-        return new Vector2(position);
+        return new Vector2(archetype.posX[row], archetype.posY[row]);
     }
     
     public void setPosition(Vector2 position) {
-        this.position = new Vector2(position);
+        setPosition(position.x, position.y);
+    }
+    
+    // ===== 标量访问：不复制、不分配 =====
+    
+    public void setPosition(float x, float y) {
+        archetype.posX[row] = x;
+        archetype.posY[row] = y;
+    }
+    
+    public float getX() {
+        return archetype.posX[row];
+    }
+    
+    public float getY() {
+        return archetype.posY[row];
+    }
+    
+    public Vector2 getPosition(Vector2 dest) {
+        return dest.set(archetype.posX[row], archetype.posY[row]);
+    }
+    
+    // 固定步长模式下由引擎在每个模拟步开始前调用，记录插值起点
+    public void storePreviousPosition() {
+        archetype.prevX[row] = archetype.posX[row];
+        archetype.prevY[row] = archetype.posY[row];
+    }
+    
+    public Vector2 getInterpolatedPosition(float alpha) {
+        return getInterpolatedPosition(alpha, new Vector2());
+    }
+    
+    public Vector2 getInterpolatedPosition(float alpha, Vector2 dest) {
+        float x = archetype.posX[row];
+        float y = archetype.posY[row];
+        if (archetype.isDetached() || alpha >= 1.0f) {
+            return dest.set(x, y);
+        }
+        float px = archetype.prevX[row];
+        float py = archetype.prevY[row];
+        return dest.set(px + (x - px) * alpha, py + (y - py) * alpha);
+    }
+    
+    // 渲染用位置：按所在场景的插值系数在上一步与当前步之间插值
+    public Vector2 getRenderPosition() {
+        return getRenderPosition(new Vector2());
+    }
+    
+    public Vector2 getRenderPosition(Vector2 dest) {
+        if (owner == null || owner.getScene() == null) {
+            return getPosition(dest);
+        }
+        return getInterpolatedPosition(owner.getScene().getInterpolationAlpha(), dest);
     }
     
     public Vector2 getScale() {
-        return new Vector2(scale);
+        return new Vector2(archetype.scaleX[row], archetype.scaleY[row]);
     }
     
     public float getRotation() {
-        return rotation;
+        return archetype.rotation[row];
     }
 }
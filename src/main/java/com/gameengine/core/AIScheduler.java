@@ -0,0 +1,160 @@
+package com.gameengine.core;
+
+import com.gameengine.components.AIComponent;
+import com.gameengine.components.TransformComponent;
+
+import java.util.List;
+
+// AI 决策的分时调度：游标在 AI 列表上轮转，每帧最多处理约 1/buckets 个 AI、做 maxDecisions 次决策，剩余部分顺延到下一帧。
+// 两个上限只看数量，同样的输入总是得到同样的决策序列（回放可复现）；墙钟时间预算可选（setBudgetNanos），开启后结果随机器快慢变化。
+// 远处或屏幕外的 AI 按细节层级降低决策频率，跳过期间经过的时间在下次决策时一并交给回调。
+public class AIScheduler {
+    public interface Decision {
+        void decide(GameObject ai, AIComponent state, float elapsed);
+    }
+
+    // 每检查这么多个 AI 读一次时钟
+    private static final int BUDGET_CHECK_INTERVAL = 16;
+
+    private final int buckets;
+    private final int maxDecisions;
+    // <= 0 时不看墙钟
+    private long budgetNanos;
+    private float nearDistanceSq;
+    private float focusX;
+    private float focusY;
+    private float viewMinX;
+    private float viewMinY;
+    private float viewMaxX;
+    private float viewMaxY;
+    private double clock;
+    private int cursor;
+    private int visitedLastFrame;
+    private int decisionsLastFrame;
+    private boolean budgetExceeded;
+
+    public AIScheduler(int buckets, int maxDecisions, float nearDistance) {
+        if (buckets <= 0) {
+            throw new IllegalArgumentException("buckets must be positive: " + buckets);
+        }
+        if (maxDecisions <= 0) {
+            throw new IllegalArgumentException("maxDecisions must be positive: " + maxDecisions);
+        }
+        this.buckets = buckets;
+        this.maxDecisions = maxDecisions;
+        this.nearDistanceSq = nearDistance * nearDistance;
+        this.viewMaxX = Float.POSITIVE_INFINITY;
+        this.viewMaxY = Float.POSITIVE_INFINITY;
+    }
+
+    // 距离以该点（通常是玩家）为准
+    public void setFocus(float x, float y) {
+        this.focusX = x;
+        this.focusY = y;
+    }
+
+    public void setView(float minX, float minY, float maxX, float maxY) {
+        this.viewMinX = minX;
+        this.viewMinY = minY;
+        this.viewMaxX = maxX;
+        this.viewMaxY = maxY;
+    }
+
+    public void update(List<GameObject> agents, float deltaTime, Decision decision) {
+        clock += deltaTime;
+        visitedLastFrame = 0;
+        decisionsLastFrame = 0;
+        budgetExceeded = false;
+        int n = agents.size();
+        if (n == 0) {
+            cursor = 0;
+            return;
+        }
+        if (cursor >= n) {
+            cursor = 0;
+        }
+
+        int quota = (n + buckets - 1) / buckets;
+        long start = budgetNanos > 0 ? System.nanoTime() : 0L;
+        for (int k = 0; k < quota; k++) {
+            if (decisionsLastFrame >= maxDecisions
+                || budgetNanos > 0 && k > 0 && k % BUDGET_CHECK_INTERVAL == 0 && System.nanoTime() - start > budgetNanos) {
+                budgetExceeded = true;
+                break;
+            }
+            GameObject ai = agents.get(cursor);
+            cursor = cursor + 1 == n ? 0 : cursor + 1;
+            visitedLastFrame++;
+            AIComponent state = ai.getComponent(AIComponent.class);
+            if (state == null || !state.isEnabled()) continue;
+
+            int lod = classify(ai);
+            state.setLod(lod);
+            // LOD_FAR 每 2 次、LOD_OFFSCREEN 每 4 次轮到才决策；尚未决策过的 AI 不跳过
+            if ((state.nextVisit() & ((1 << lod) - 1)) != 0 && state.hasDecided()) continue;
+
+            decide(ai, state, decision);
+            decisionsLastFrame++;
+        }
+    }
+
+    // 立即为一个 AI 决策一次（例如刚生成时），不必等游标轮到它；不计入每帧的决策数
+    public void decideNow(GameObject ai, Decision decision) {
+        AIComponent state = ai.getComponent(AIComponent.class);
+        if (state == null || !state.isEnabled()) return;
+        state.setLod(classify(ai));
+        decide(ai, state, decision);
+    }
+
+    private void decide(GameObject ai, AIComponent state, Decision decision) {
+        float elapsed = state.hasDecided() ? (float) (clock - state.getLastDecisionTime()) : 0f;
+        state.setLastDecisionTime(clock);
+        decision.decide(ai, state, elapsed);
+    }
+
+    private int classify(GameObject ai) {
+        TransformComponent transform = ai.getComponent(TransformComponent.class);
+        if (transform == null) {
+            return AIComponent.LOD_NEAR;
+        }
+        float x = transform.getX();
+        float y = transform.getY();
+        if (x < viewMinX || x > viewMaxX || y < viewMinY || y > viewMaxY) {
+            return AIComponent.LOD_OFFSCREEN;
+        }
+        float dx = x - focusX;
+        float dy = y - focusY;
+        return dx * dx + dy * dy > nearDistanceSq ? AIComponent.LOD_FAR : AIComponent.LOD_NEAR;
+    }
+
+    // 可选的每帧墙钟预算，<= 0 关闭（默认）
+    public void setBudgetNanos(long budgetNanos) {
+        this.budgetNanos = budgetNanos;
+    }
+
+    public long getBudgetNanos() {
+        return budgetNanos;
+    }
+
+    public int getBuckets() {
+        return buckets;
+    }
+
+    public int getMaxDecisions() {
+        return maxDecisions;
+    }
+
+    // 上一帧被轮到的 AI 数（含因细节层级跳过的）
+    public int getVisitedLastFrame() {
+        return visitedLastFrame;
+    }
+
+    public int getDecisionsLastFrame() {
+        return decisionsLastFrame;
+    }
+
+    // 上一帧是否因决策数上限或时间预算提前结束
+    public boolean isBudgetExceeded() {
+        return budgetExceeded;
+    }
+}
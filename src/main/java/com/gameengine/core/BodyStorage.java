@@ -0,0 +1,288 @@
+package com.gameengine.core;
+
+import com.gameengine.components.PhysicsComponent;
+import com.gameengine.components.TransformComponent;
+
+import java.util.Arrays;
+
+// 变换/物理数据的 SoA 存储：按组件组合（archetype）分组，每个字段一列连续的 float[]。
+// TransformComponent/PhysicsComponent 只是指向 (archetype, row) 的视图；结构变化（绑定/换组/解绑）
+// 只在场景的单线程阶段发生，系统并行遍历时行号稳定。
+public class BodyStorage {
+    public static final int TRANSFORM = 1;
+    public static final int PHYSICS = 2;
+    private static final int ARCHETYPE_COUNT = 4;
+
+    private final Archetype[] archetypes;
+
+    public BodyStorage() {
+        this.archetypes = new Archetype[ARCHETYPE_COUNT];
+        for (int mask = 1; mask < ARCHETYPE_COUNT; mask++) {
+            archetypes[mask] = new Archetype(this, mask, 64);
+        }
+    }
+
+    public Archetype getArchetype(int mask) {
+        return archetypes[mask];
+    }
+
+    public int getBodyCount() {
+        int count = 0;
+        for (int mask = 1; mask < ARCHETYPE_COUNT; mask++) {
+            count += archetypes[mask].size;
+        }
+        return count;
+    }
+
+    // 对象进入场景（或增加了变换/物理组件）时调用：把组件数据搬进对应 archetype 的行
+    public void bind(GameObject obj) {
+        TransformComponent transform = obj.getComponent(TransformComponent.class);
+        PhysicsComponent physics = obj.getComponent(PhysicsComponent.class);
+        int mask = (transform != null ? TRANSFORM : 0) | (physics != null ? PHYSICS : 0);
+        obj.bodyStorage = this;
+        if (mask == 0) return;
+        Archetype target = archetypes[mask];
+        if (obj.bodyArchetype == target) return;
+        target.move(obj, transform, physics);
+    }
+
+    // 对象离开场景时调用：数据搬回各自的独立存储，视图在对象销毁后仍可读
+    public void unbind(GameObject obj) {
+        if (obj.bodyStorage != this) return;
+        obj.bodyStorage = null;
+        Archetype archetype = obj.bodyArchetype;
+        if (archetype == null) return;
+        int row = obj.bodyRow;
+        TransformComponent transform = archetype.transforms != null ? archetype.transforms[row] : null;
+        PhysicsComponent physics = archetype.physics != null ? archetype.physics[row] : null;
+        new Archetype(null, archetype.mask, 1).move(null, transform, physics);
+        obj.bodyArchetype = null;
+    }
+
+    public void storePreviousPositions() {
+        for (int mask = 1; mask < ARCHETYPE_COUNT; mask++) {
+            Archetype archetype = archetypes[mask];
+            if ((mask & TRANSFORM) != 0 && archetype.size > 0) {
+                System.arraycopy(archetype.posX, 0, archetype.prevX, 0, archetype.size);
+                System.arraycopy(archetype.posY, 0, archetype.prevY, 0, archetype.size);
+            }
+        }
+    }
+
+    // 清空后旧数组仍由游离的视图持有，不会被新对象覆盖
+    public void clear() {
+        for (int mask = 1; mask < ARCHETYPE_COUNT; mask++) {
+            archetypes[mask] = new Archetype(this, mask, 64);
+        }
+    }
+
+    public static final class Archetype {
+        public final int mask;
+        final BodyStorage storage;
+        int size;
+
+        // 变换列
+        public float[] posX, posY, prevX, prevY, scaleX, scaleY, rotation;
+        // 物理列
+        public float[] velX, velY, accX, accY, mass, friction, gravX, gravY;
+        public boolean[] useGravity;
+        // 物理组件是否启用，由 PhysicsComponent.setEnabled/destroy 同步，积分时不必逐个访问组件对象
+        public boolean[] simulated;
+        // 休眠状态：awake 为 false 的刚体不参与积分；idleTime 为速度持续低于阈值的时长
+        public boolean[] awake;
+        public float[] idleTime;
+        // 子步：extent 为碰撞体的最小半尺寸（0 表示不做子步）；substeps 为上一次物理步的子步数，
+        // 大于 1 时 sweepX0/Y0 -> sweepX1/Y1 记录了这一步的运动轨迹，供碰撞检测按子步采样
+        public float[] extent;
+        public int[] substeps;
+        public float[] sweepX0, sweepY0, sweepX1, sweepY1;
+
+        public TransformComponent[] transforms;
+        public PhysicsComponent[] physics;
+        GameObject[] owners;
+
+        Archetype(BodyStorage storage, int mask, int capacity) {
+            this.storage = storage;
+            this.mask = mask;
+            this.owners = new GameObject[capacity];
+            if ((mask & TRANSFORM) != 0) {
+                posX = new float[capacity];
+                posY = new float[capacity];
+                prevX = new float[capacity];
+                prevY = new float[capacity];
+                scaleX = new float[capacity];
+                scaleY = new float[capacity];
+                rotation = new float[capacity];
+                transforms = new TransformComponent[capacity];
+            }
+            if ((mask & PHYSICS) != 0) {
+                velX = new float[capacity];
+                velY = new float[capacity];
+                accX = new float[capacity];
+                accY = new float[capacity];
+                mass = new float[capacity];
+                friction = new float[capacity];
+                gravX = new float[capacity];
+                gravY = new float[capacity];
+                useGravity = new boolean[capacity];
+                simulated = new boolean[capacity];
+                awake = new boolean[capacity];
+                idleTime = new float[capacity];
+                extent = new float[capacity];
+                substeps = new int[capacity];
+                sweepX0 = new float[capacity];
+                sweepY0 = new float[capacity];
+                sweepX1 = new float[capacity];
+                sweepY1 = new float[capacity];
+                physics = new PhysicsComponent[capacity];
+            }
+        }
+
+        // 尚未进入场景（或已离开场景）的组件占用一个单行的独立存储
+        public static Archetype detached(int mask) {
+            Archetype archetype = new Archetype(null, mask, 1);
+            archetype.size = 1;
+            return archetype;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public boolean isDetached() {
+            return storage == null;
+        }
+
+        public GameObject getOwner(int row) {
+            return owners[row];
+        }
+
+        // 新增一行并从视图当前所在的行拷贝数据，随后把旧行交换删除
+        void move(GameObject owner, TransformComponent transform, PhysicsComponent physicsView) {
+            ensureCapacity(size + 1);
+            int row = size++;
+            Archetype oldTransform = transform != null ? transform.getArchetype() : null;
+            int oldTransformRow = transform != null ? transform.getRow() : -1;
+            Archetype oldPhysics = physicsView != null ? physicsView.getArchetype() : null;
+            int oldPhysicsRow = physicsView != null ? physicsView.getRow() : -1;
+
+            owners[row] = owner;
+            if (transform != null) {
+                copyTransform(oldTransform, oldTransformRow, row);
+                if (oldTransform.storage == null && storage != null) {
+                    prevX[row] = posX[row];
+                    prevY[row] = posY[row];
+                }
+                transforms[row] = transform;
+                transform.bindStorage(this, row);
+            }
+            if (physicsView != null) {
+                copyPhysics(oldPhysics, oldPhysicsRow, row);
+                physics[row] = physicsView;
+                physicsView.bindStorage(this, row);
+            }
+            if (owner != null) {
+                owner.bodyArchetype = storage != null ? this : null;
+                owner.bodyRow = row;
+            }
+
+            if (oldTransform != null) {
+                oldTransform.remove(oldTransformRow);
+            }
+            if (oldPhysics != null && oldPhysics != oldTransform) {
+                oldPhysics.remove(oldPhysicsRow);
+            }
+        }
+
+        // 交换删除：末行搬到空位并修正其视图与对象的行号
+        void remove(int row) {
+            int last = size - 1;
+            if (row != last) {
+                if (transforms != null) {
+                    copyTransform(this, last, row);
+                    transforms[row] = transforms[last];
+                    if (transforms[row] != null) transforms[row].bindStorage(this, row);
+                }
+                if (physics != null) {
+                    copyPhysics(this, last, row);
+                    physics[row] = physics[last];
+                    if (physics[row] != null) physics[row].bindStorage(this, row);
+                }
+                owners[row] = owners[last];
+                if (owners[row] != null) owners[row].bodyRow = row;
+            }
+            if (transforms != null) transforms[last] = null;
+            if (physics != null) physics[last] = null;
+            owners[last] = null;
+            size = last;
+        }
+
+        private void copyTransform(Archetype src, int from, int to) {
+            posX[to] = src.posX[from];
+            posY[to] = src.posY[from];
+            prevX[to] = src.prevX[from];
+            prevY[to] = src.prevY[from];
+            scaleX[to] = src.scaleX[from];
+            scaleY[to] = src.scaleY[from];
+            rotation[to] = src.rotation[from];
+        }
+
+        private void copyPhysics(Archetype src, int from, int to) {
+            velX[to] = src.velX[from];
+            velY[to] = src.velY[from];
+            accX[to] = src.accX[from];
+            accY[to] = src.accY[from];
+            mass[to] = src.mass[from];
+            friction[to] = src.friction[from];
+            gravX[to] = src.gravX[from];
+            gravY[to] = src.gravY[from];
+            useGravity[to] = src.useGravity[from];
+            simulated[to] = src.simulated[from];
+            awake[to] = src.awake[from];
+            idleTime[to] = src.idleTime[from];
+            extent[to] = src.extent[from];
+            substeps[to] = src.substeps[from];
+            sweepX0[to] = src.sweepX0[from];
+            sweepY0[to] = src.sweepY0[from];
+            sweepX1[to] = src.sweepX1[from];
+            sweepY1[to] = src.sweepY1[from];
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (capacity <= owners.length) return;
+            int newCapacity = Math.max(capacity, owners.length * 2);
+            owners = Arrays.copyOf(owners, newCapacity);
+            if (transforms != null) {
+                posX = Arrays.copyOf(posX, newCapacity);
+                posY = Arrays.copyOf(posY, newCapacity);
+                prevX = Arrays.copyOf(prevX, newCapacity);
+                prevY = Arrays.copyOf(prevY, newCapacity);
+                scaleX = Arrays.copyOf(scaleX, newCapacity);
+                scaleY = Arrays.copyOf(scaleY, newCapacity);
+                rotation = Arrays.copyOf(rotation, newCapacity);
+                transforms = Arrays.copyOf(transforms, newCapacity);
+            }
+            if (physics != null) {
+                velX = Arrays.copyOf(velX, newCapacity);
+                velY = Arrays.copyOf(velY, newCapacity);
+                accX = Arrays.copyOf(accX, newCapacity);
+                accY = Arrays.copyOf(accY, newCapacity);
+                mass = Arrays.copyOf(mass, newCapacity);
+                friction = Arrays.copyOf(friction, newCapacity);
+                gravX = Arrays.copyOf(gravX, newCapacity);
+                gravY = Arrays.copyOf(gravY, newCapacity);
+                useGravity = Arrays.copyOf(useGravity, newCapacity);
+                simulated = Arrays.copyOf(simulated, newCapacity);
+                awake = Arrays.copyOf(awake, newCapacity);
+                idleTime = Arrays.copyOf(idleTime, newCapacity);
+                extent = Arrays.copyOf(extent, newCapacity);
+                substeps = Arrays.copyOf(substeps, newCapacity);
+                sweepX0 = Arrays.copyOf(sweepX0, newCapacity);
+                sweepY0 = Arrays.copyOf(sweepY0, newCapacity);
+                sweepX1 = Arrays.copyOf(sweepX1, newCapacity);
+                sweepY1 = Arrays.copyOf(sweepY1, newCapacity);
+                physics = Arrays.copyOf(physics, newCapacity);
+            }
+        }
+    }
+}
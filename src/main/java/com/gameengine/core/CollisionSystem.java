@@ -0,0 +1,321 @@
+package com.gameengine.core;
+
+import com.gameengine.components.ColliderComponent;
+import com.gameengine.components.TransformComponent;
+import com.gameengine.scene.Scene;
+import com.gameengine.scene.SceneQuery;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// 碰撞检测：收集带 Collider 的对象 -> 按包围盒左边界排序扫掠（sweep-and-prune）-> 层/掩码过滤 ->
+// 圆/矩形精确测试（平方距离，不开方）-> 按监听的层对成批派发接触。
+// 排序用原始类型 long 数组（键 = 左边界 + 下标），扫掠只比较 x 区间重叠的对象，整体约 O(n log n + 接触数)。
+// 接触在全部检测完成后才派发，监听器里销毁对象不影响本帧的检测结果。
+public class CollisionSystem {
+    public interface ContactListener {
+        void onContacts(ContactBatch contacts);
+    }
+
+    // 一批接触：getA(i) 属于监听时的 layerA，getB(i) 属于 layerB；批对象在派发间复用，不要在回调外保存
+    public static final class ContactBatch {
+        private GameObject[] a = new GameObject[16];
+        private GameObject[] b = new GameObject[16];
+        private int size;
+
+        public int size() {
+            return size;
+        }
+
+        public GameObject getA(int index) {
+            return a[index];
+        }
+
+        public GameObject getB(int index) {
+            return b[index];
+        }
+
+        void add(GameObject first, GameObject second) {
+            if (size == a.length) {
+                a = Arrays.copyOf(a, size * 2);
+                b = Arrays.copyOf(b, size * 2);
+            }
+            a[size] = first;
+            b[size] = second;
+            size++;
+        }
+
+        void reset() {
+            Arrays.fill(a, 0, size, null);
+            Arrays.fill(b, 0, size, null);
+            size = 0;
+        }
+    }
+
+    private static final class Binding {
+        final int layerA;
+        final int layerB;
+        final ContactListener listener;
+
+        Binding(int layerA, int layerB, ContactListener listener) {
+            this.layerA = layerA;
+            this.layerB = layerB;
+            this.listener = listener;
+        }
+    }
+
+    private final SceneQuery colliders;
+    private final List<Binding> bindings = new ArrayList<>();
+    private final ContactBatch batch = new ContactBatch();
+
+    // 每帧收集的碰撞体数据（按收集顺序的下标访问）
+    private GameObject[] objects = new GameObject[0];
+    private float[] centerX = new float[0];
+    private float[] centerY = new float[0];
+    private float[] minX = new float[0];
+    private float[] maxX = new float[0];
+    private float[] minY = new float[0];
+    private float[] maxY = new float[0];
+    private float[] radius = new float[0];
+    private boolean[] circle = new boolean[0];
+    private int[] layer = new int[0];
+    private int[] mask = new int[0];
+    // 刚体处于休眠状态；两个休眠刚体自入睡后都没有移动，不再重复检测
+    private boolean[] sleeping = new boolean[0];
+    // 上一物理步拆分了子步的刚体：包围盒覆盖起点到终点，精确测试在每个子步的位置上进行
+    private int[] substeps = new int[0];
+    private float[] startX = new float[0];
+    private float[] startY = new float[0];
+    private float[] halfWidth = new float[0];
+    private float[] halfHeight = new float[0];
+    private long[] sortKeys = new long[0];
+    // 本帧接触对（收集下标）
+    private int[] contactA = new int[64];
+    private int[] contactB = new int[64];
+    private int contactCount;
+    private int colliderCount;
+    private long pairTests;
+
+    public CollisionSystem(Scene scene) {
+        this.colliders = scene.query(ColliderComponent.class, TransformComponent.class);
+    }
+
+    // 监听 layerA 与 layerB 之间的接触（参数均为位掩码）
+    public void addListener(int layerA, int layerB, ContactListener listener) {
+        bindings.add(new Binding(layerA, layerB, listener));
+    }
+
+    public void update() {
+        gather();
+        sweep();
+        dispatch();
+    }
+
+    private void gather() {
+        int capacity = colliders.size();
+        ensureCapacity(capacity);
+        int n = 0;
+        for (int i = 0; i < capacity; i++) {
+            GameObject obj = colliders.get(i);
+            if (!obj.isActive()) continue;
+            ColliderComponent collider = obj.getComponent(ColliderComponent.class);
+            if (!collider.isEnabled()) continue;
+            TransformComponent transform = obj.getComponent(TransformComponent.class);
+            float x = transform.getX();
+            float y = transform.getY();
+            float hw = collider.getHalfWidth();
+            float hh = collider.getHalfHeight();
+            BodyStorage.Archetype body = obj.bodyArchetype;
+            int row = obj.bodyRow;
+            // 子步轨迹只在终点仍是当前位置时有效，物理步之后被直接移动过的对象按静止处理
+            boolean swept = body != null && body.substeps != null && body.substeps[row] > 1
+                && body.sweepX1[row] == x && body.sweepY1[row] == y;
+            float sx = swept ? body.sweepX0[row] : x;
+            float sy = swept ? body.sweepY0[row] : y;
+            objects[n] = obj;
+            centerX[n] = x;
+            centerY[n] = y;
+            startX[n] = sx;
+            startY[n] = sy;
+            substeps[n] = swept ? body.substeps[row] : 1;
+            halfWidth[n] = hw;
+            halfHeight[n] = hh;
+            minX[n] = Math.min(x, sx) - hw;
+            maxX[n] = Math.max(x, sx) + hw;
+            minY[n] = Math.min(y, sy) - hh;
+            maxY[n] = Math.max(y, sy) + hh;
+            radius[n] = collider.getRadius();
+            circle[n] = collider.getShape() == ColliderComponent.Shape.CIRCLE;
+            layer[n] = collider.getLayer();
+            mask[n] = collider.getMask();
+            sleeping[n] = body != null && body.awake != null && !body.awake[row];
+            sortKeys[n] = ((long) sortableBits(minX[n]) << 32) | n;
+            n++;
+        }
+        for (int i = n; i < colliderCount; i++) {
+            objects[i] = null;
+        }
+        colliderCount = n;
+    }
+
+    private void sweep() {
+        int n = colliderCount;
+        contactCount = 0;
+        pairTests = 0;
+        Arrays.sort(sortKeys, 0, n);
+        for (int s = 0; s < n; s++) {
+            int i = (int) sortKeys[s];
+            float right = maxX[i];
+            for (int t = s + 1; t < n; t++) {
+                int j = (int) sortKeys[t];
+                if (minX[j] > right) break;
+                if (sleeping[i] && sleeping[j]) continue;
+                pairTests++;
+                if ((layer[i] & mask[j]) == 0 || (layer[j] & mask[i]) == 0) continue;
+                if (minY[j] > maxY[i] || minY[i] > maxY[j]) continue;
+                boolean hit = substeps[i] > 1 || substeps[j] > 1 ? sweptOverlaps(i, j) : overlaps(i, j);
+                if (hit) {
+                    addContact(i, j);
+                }
+            }
+        }
+    }
+
+    private boolean overlaps(int i, int j) {
+        if (circle[i] && circle[j]) {
+            float dx = centerX[i] - centerX[j];
+            float dy = centerY[i] - centerY[j];
+            float r = radius[i] + radius[j];
+            return dx * dx + dy * dy < r * r;
+        }
+        if (circle[i]) {
+            return circleOverlapsBox(i, j);
+        }
+        if (circle[j]) {
+            return circleOverlapsBox(j, i);
+        }
+        return minX[j] < maxX[i] && minX[i] < maxX[j] && minY[j] < maxY[i] && minY[i] < maxY[j];
+    }
+
+    // 圆心到矩形最近点的平方距离
+    private boolean circleOverlapsBox(int c, int box) {
+        float qx = Math.max(minX[box], Math.min(centerX[c], maxX[box]));
+        float qy = Math.max(minY[box], Math.min(centerY[c], maxY[box]));
+        float dx = centerX[c] - qx;
+        float dy = centerY[c] - qy;
+        return dx * dx + dy * dy < radius[c] * radius[c];
+    }
+
+    // 双方按各自轨迹线性插值到第 k 个子步结束时的位置，任一子步重叠即算接触
+    private boolean sweptOverlaps(int i, int j) {
+        int steps = Math.max(substeps[i], substeps[j]);
+        for (int k = 1; k <= steps; k++) {
+            float t = k / (float) steps;
+            float xi = startX[i] + (centerX[i] - startX[i]) * t;
+            float yi = startY[i] + (centerY[i] - startY[i]) * t;
+            float xj = startX[j] + (centerX[j] - startX[j]) * t;
+            float yj = startY[j] + (centerY[j] - startY[j]) * t;
+            if (overlapsAt(i, xi, yi, j, xj, yj)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean overlapsAt(int i, float xi, float yi, int j, float xj, float yj) {
+        if (circle[i] && circle[j]) {
+            float dx = xi - xj;
+            float dy = yi - yj;
+            float r = radius[i] + radius[j];
+            return dx * dx + dy * dy < r * r;
+        }
+        if (circle[i]) {
+            return circleOverlapsBoxAt(xi, yi, radius[i], j, xj, yj);
+        }
+        if (circle[j]) {
+            return circleOverlapsBoxAt(xj, yj, radius[j], i, xi, yi);
+        }
+        return Math.abs(xi - xj) < halfWidth[i] + halfWidth[j] && Math.abs(yi - yj) < halfHeight[i] + halfHeight[j];
+    }
+
+    private boolean circleOverlapsBoxAt(float cx, float cy, float r, int box, float bx, float by) {
+        float qx = Math.max(bx - halfWidth[box], Math.min(cx, bx + halfWidth[box]));
+        float qy = Math.max(by - halfHeight[box], Math.min(cy, by + halfHeight[box]));
+        float dx = cx - qx;
+        float dy = cy - qy;
+        return dx * dx + dy * dy < r * r;
+    }
+
+    private void addContact(int i, int j) {
+        if (contactCount == contactA.length) {
+            contactA = Arrays.copyOf(contactA, contactCount * 2);
+            contactB = Arrays.copyOf(contactB, contactCount * 2);
+        }
+        contactA[contactCount] = i;
+        contactB[contactCount] = j;
+        contactCount++;
+    }
+
+    private void dispatch() {
+        for (int k = 0; k < bindings.size(); k++) {
+            Binding binding = bindings.get(k);
+            batch.reset();
+            for (int c = 0; c < contactCount; c++) {
+                int i = contactA[c];
+                int j = contactB[c];
+                if ((layer[i] & binding.layerA) != 0 && (layer[j] & binding.layerB) != 0) {
+                    batch.add(objects[i], objects[j]);
+                } else if ((layer[j] & binding.layerA) != 0 && (layer[i] & binding.layerB) != 0) {
+                    batch.add(objects[j], objects[i]);
+                }
+            }
+            if (batch.size() > 0) {
+                binding.listener.onContacts(batch);
+            }
+        }
+        batch.reset();
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (objects.length >= capacity) return;
+        int n = Math.max(capacity, objects.length * 2);
+        objects = Arrays.copyOf(objects, n);
+        centerX = new float[n];
+        centerY = new float[n];
+        minX = new float[n];
+        maxX = new float[n];
+        minY = new float[n];
+        maxY = new float[n];
+        radius = new float[n];
+        circle = new boolean[n];
+        layer = new int[n];
+        mask = new int[n];
+        sleeping = new boolean[n];
+        substeps = new int[n];
+        startX = new float[n];
+        startY = new float[n];
+        halfWidth = new float[n];
+        halfHeight = new float[n];
+        sortKeys = new long[n];
+    }
+
+    // 浮点数转为按数值有序的 int，用于拼接排序键
+    private static int sortableBits(float value) {
+        int bits = Float.floatToIntBits(value);
+        return bits ^ ((bits >> 31) & 0x7fffffff);
+    }
+
+    public int getColliderCount() {
+        return colliderCount;
+    }
+
+    public int getContactCount() {
+        return contactCount;
+    }
+
+    // 上一帧扫掠阶段实际比较的候选对数
+    public long getPairTestCount() {
+        return pairTests;
+    }
+}
@@ -0,0 +1,44 @@
+package com.gameengine.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 组件类型注册表：每个 Component 子类首次使用时分配一个稠密整数 ID，GameObject 按 ID 下标存取组件
+public final class ComponentRegistry {
+    private static final AtomicInteger nextId = new AtomicInteger(0);
+
+    private static final ClassValue<Integer> typeIds = new ClassValue<Integer>() {
+        @Override
+        protected Integer computeValue(Class<?> type) {
+            return nextId.getAndIncrement();
+        }
+    };
+
+    // 组件自身类型及其 Component 以下的所有父类的 ID，使按父类查询也能命中
+    private static final ClassValue<int[]> lookupIds = new ClassValue<int[]>() {
+        @Override
+        protected int[] computeValue(Class<?> type) {
+            List<Integer> ids = new ArrayList<>();
+            for (Class<?> c = type; c != null && c != Component.class; c = c.getSuperclass()) {
+                ids.add(typeIds.get(c));
+            }
+            return ids.stream().mapToInt(Integer::intValue).toArray();
+        }
+    };
+
+    private ComponentRegistry() {
+    }
+
+    public static int getId(Class<?> componentType) {
+        return typeIds.get(componentType);
+    }
+
+    static int[] getLookupIds(Class<?> componentType) {
+        return lookupIds.get(componentType);
+    }
+
+    public static int getTypeCount() {
+        return nextId.get();
+    }
+}
@@ -0,0 +1,12 @@
+package com.gameengine.core;
+
+// 帧节拍器：主循环在每帧末尾调用，负责把下一帧的开始对齐到 deadline
+public interface FramePacer {
+    // deadlineNanos 为 System.nanoTime() 时间轴上的下一帧开始时刻，framePeriodNanos 为目标帧间隔
+    void waitForNextFrame(long deadlineNanos, long framePeriodNanos);
+
+    // 为 true 时引擎打开渲染器垂直同步，由 endFrame() 的交换缓冲阻塞来控制节拍
+    boolean usesVSync();
+
+    String getName();
+}
@@ -0,0 +1,250 @@
+package com.gameengine.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// 分阶段帧剖析器：引擎阶段与场景自定义子阶段各自维护无锁滚动样本窗口，按需计算 p50/p99/max；
+// 另有一组计数器记录每帧的瞬时数量（例如清醒/休眠刚体数）
+public class FrameProfiler {
+    public static final int MAX_PHASES = 64;
+    public static final int MAX_COUNTERS = 32;
+    private static final int WINDOW = 256;
+
+    private final Map<String, Integer> phaseIds;
+    private final PhaseHistogram[] phases;
+    private final AtomicInteger phaseCount;
+    private final Map<String, Integer> counterIds;
+    private final String[] counterNames;
+    private final AtomicLongArray counterValues;
+    private final AtomicInteger counterCount;
+    private volatile boolean enabled;
+
+    public FrameProfiler() {
+        this.phaseIds = new ConcurrentHashMap<>();
+        this.phases = new PhaseHistogram[MAX_PHASES];
+        this.phaseCount = new AtomicInteger(0);
+        this.counterIds = new ConcurrentHashMap<>();
+        this.counterNames = new String[MAX_COUNTERS];
+        this.counterValues = new AtomicLongArray(MAX_COUNTERS);
+        this.counterCount = new AtomicInteger(0);
+        this.enabled = true;
+    }
+
+    // 注册（或取得已注册的）阶段，返回在 begin/end 中使用的编号
+    public int registerPhase(String name) {
+        Integer existing = phaseIds.get(name);
+        if (existing != null) {
+            return existing;
+        }
+        synchronized (this) {
+            existing = phaseIds.get(name);
+            if (existing != null) {
+                return existing;
+            }
+            int id = phaseCount.get();
+            if (id >= MAX_PHASES) {
+                throw new IllegalStateException("剖析阶段数量超过上限: " + MAX_PHASES);
+            }
+            phases[id] = new PhaseHistogram(name);
+            phaseCount.set(id + 1);
+            phaseIds.put(name, id);
+            return id;
+        }
+    }
+
+    // 注册（或取得已注册的）计数器，返回在 setCounter 中使用的编号
+    public int registerCounter(String name) {
+        Integer existing = counterIds.get(name);
+        if (existing != null) {
+            return existing;
+        }
+        synchronized (this) {
+            existing = counterIds.get(name);
+            if (existing != null) {
+                return existing;
+            }
+            int id = counterCount.get();
+            if (id >= MAX_COUNTERS) {
+                throw new IllegalStateException("剖析计数器数量超过上限: " + MAX_COUNTERS);
+            }
+            counterNames[id] = name;
+            counterCount.set(id + 1);
+            counterIds.put(name, id);
+            return id;
+        }
+    }
+
+    // 计数器只保留最近一次写入的值
+    public void setCounter(int counterId, long value) {
+        if (!enabled) return;
+        counterValues.set(counterId, value);
+    }
+
+    // 未注册的计数器返回 -1
+    public long getCounter(String name) {
+        Integer id = counterIds.get(name);
+        return id == null ? -1 : counterValues.get(id);
+    }
+
+    // 按注册顺序返回所有计数器的当前值
+    public List<CounterValue> getAllCounters() {
+        int count = counterCount.get();
+        List<CounterValue> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(new CounterValue(counterNames[i], counterValues.get(i)));
+        }
+        return result;
+    }
+
+    public long begin() {
+        return enabled ? System.nanoTime() : 0L;
+    }
+
+    public void end(int phaseId, long startNanos) {
+        if (!enabled || startNanos == 0L) return;
+        record(phaseId, System.nanoTime() - startNanos);
+    }
+
+    // 可在任意线程调用（例如作业线程上的子阶段）
+    public void record(int phaseId, long nanos) {
+        if (!enabled) return;
+        PhaseHistogram histogram = phases[phaseId];
+        if (histogram != null) {
+            histogram.add(nanos);
+        }
+    }
+
+    public PhaseStats getStats(String name) {
+        Integer id = phaseIds.get(name);
+        return id == null ? null : phases[id].stats();
+    }
+
+    public PhaseStats getStats(int phaseId) {
+        PhaseHistogram histogram = phases[phaseId];
+        return histogram == null ? null : histogram.stats();
+    }
+
+    // 按注册顺序返回所有阶段的统计
+    public List<PhaseStats> getAllStats() {
+        int count = phaseCount.get();
+        List<PhaseStats> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(phases[i].stats());
+        }
+        return result;
+    }
+
+    // 供基准/测试断言阶段预算：窗口内 p99 不超过 budgetMs（无样本视为满足）
+    public boolean isWithinBudget(String name, double budgetMs) {
+        PhaseStats stats = getStats(name);
+        return stats == null || stats.count == 0 || stats.p99Ms <= budgetMs;
+    }
+
+    public void reset() {
+        int count = phaseCount.get();
+        for (int i = 0; i < count; i++) {
+            phases[i].reset();
+        }
+        int counters = counterCount.get();
+        for (int i = 0; i < counters; i++) {
+            counterValues.set(i, 0);
+        }
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public static class PhaseStats {
+        public final String name;
+        public final long count;
+        public final double p50Ms;
+        public final double p99Ms;
+        public final double maxMs;
+        public final double meanMs;
+
+        PhaseStats(String name, long count, double p50Ms, double p99Ms, double maxMs, double meanMs) {
+            this.name = name;
+            this.count = count;
+            this.p50Ms = p50Ms;
+            this.p99Ms = p99Ms;
+            this.maxMs = maxMs;
+            this.meanMs = meanMs;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s p50=%.3fms p99=%.3fms max=%.3fms (n=%d)", name, p50Ms, p99Ms, maxMs, count);
+        }
+    }
+
+    public static class CounterValue {
+        public final String name;
+        public final long value;
+
+        CounterValue(String name, long value) {
+            this.name = name;
+            this.value = value;
+        }
+
+        @Override
+        public String toString() {
+            return name + "=" + value;
+        }
+    }
+
+    // 固定容量环形样本：写入方只做一次 getAndIncrement + set，读取方复制后排序
+    private static class PhaseHistogram {
+        private final String name;
+        private final AtomicLongArray samples;
+        private final AtomicLong cursor;
+
+        PhaseHistogram(String name) {
+            this.name = name;
+            this.samples = new AtomicLongArray(WINDOW);
+            this.cursor = new AtomicLong(0);
+        }
+
+        void add(long nanos) {
+            long index = cursor.getAndIncrement();
+            samples.set((int) (index % WINDOW), nanos);
+        }
+
+        PhaseStats stats() {
+            long total = cursor.get();
+            int n = (int) Math.min(total, WINDOW);
+            if (n == 0) {
+                return new PhaseStats(name, 0, 0, 0, 0, 0);
+            }
+            long[] copy = new long[n];
+            long sum = 0;
+            for (int i = 0; i < n; i++) {
+                copy[i] = samples.get(i);
+                sum += copy[i];
+            }
+            Arrays.sort(copy);
+            double p50 = copy[(int) Math.min(n - 1, Math.round(0.50 * (n - 1)))] / 1_000_000.0;
+            double p99 = copy[(int) Math.min(n - 1, Math.round(0.99 * (n - 1)))] / 1_000_000.0;
+            // max 与分位数取自同一窗口，早期的偶发卡顿（JIT、类加载）滑出窗口后不再影响结果
+            double max = copy[n - 1] / 1_000_000.0;
+            return new PhaseStats(name, total, p50, p99, max, sum / (double) n / 1_000_000.0);
+        }
+
+        void reset() {
+            for (int i = 0; i < WINDOW; i++) {
+                samples.set(i, 0);
+            }
+            cursor.set(0);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.gameengine.core;
+
+// 帧时间统计：滚动窗口内的均值、方差、最值，用于比较不同节拍策略的抖动
+public class FrameTimeStats {
+    private final long[] samples;
+    private int count;
+    private int cursor;
+    private long totalFrames;
+
+    public FrameTimeStats() {
+        this(240);
+    }
+
+    public FrameTimeStats(int windowSize) {
+        this.samples = new long[Math.max(2, windowSize)];
+    }
+
+    public void record(long frameNanos) {
+        samples[cursor] = frameNanos;
+        cursor = (cursor + 1) % samples.length;
+        if (count < samples.length) {
+            count++;
+        }
+        totalFrames++;
+    }
+
+    public int getSampleCount() {
+        return count;
+    }
+
+    public long getTotalFrames() {
+        return totalFrames;
+    }
+
+    public double getMeanMs() {
+        if (count == 0) return 0;
+        double sum = 0;
+        for (int i = 0; i < count; i++) {
+            sum += samples[i];
+        }
+        return sum / count / 1_000_000.0;
+    }
+
+    // 样本方差（ms^2）
+    public double getVarianceMs2() {
+        if (count < 2) return 0;
+        double mean = getMeanMs();
+        double sq = 0;
+        for (int i = 0; i < count; i++) {
+            double d = samples[i] / 1_000_000.0 - mean;
+            sq += d * d;
+        }
+        return sq / (count - 1);
+    }
+
+    public double getStdDevMs() {
+        return Math.sqrt(getVarianceMs2());
+    }
+
+    public double getMinMs() {
+        if (count == 0) return 0;
+        long min = Long.MAX_VALUE;
+        for (int i = 0; i < count; i++) {
+            min = Math.min(min, samples[i]);
+        }
+        return min / 1_000_000.0;
+    }
+
+    public double getMaxMs() {
+        if (count == 0) return 0;
+        long max = Long.MIN_VALUE;
+        for (int i = 0; i < count; i++) {
+            max = Math.max(max, samples[i]);
+        }
+        return max / 1_000_000.0;
+    }
+
+    public void reset() {
+        count = 0;
+        cursor = 0;
+        totalFrames = 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("frame mean=%.2fms sd=%.3fms min=%.2fms max=%.2fms (n=%d)",
+            getMeanMs(), getStdDevMs(), getMinMs(), getMaxMs(), count);
+    }
+}
@@ -1,21 +1,68 @@
 package com.gameengine.core;
 
+import com.gameengine.graphics.DrawCommandList;
+import com.gameengine.graphics.FrameSnapshotBuffer;
 import com.gameengine.graphics.IRenderer;
 import com.gameengine.graphics.RenderBackend;
 import com.gameengine.graphics.RendererFactory;
+import com.gameengine.graphics.SnapshotRenderer;
 import com.gameengine.input.InputManager;
 import com.gameengine.scene.Scene;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 
 public class GameEngine {
     private IRenderer renderer;
+    // 场景使用的渲染器：普通模式下即 renderer，流水线模式下为写快照的 SnapshotRenderer
+    private IRenderer sceneRenderer;
     private InputManager inputManager;
     private Scene currentScene;
     private PhysicsSystem physicsSystem;
-    private boolean running;
+    private final JobSystem jobSystem;
+    private volatile boolean running;
     private float targetFPS;
     private float deltaTime;
     private long lastTime;
+    // 固定步长模拟（与 targetFPS 解耦）
+    private boolean fixedTimestep;
+    private float simulationHz;
+    private int maxStepsPerFrame;
+    private double accumulator;
+    private float interpolationAlpha;
+    // 极速模式：使用合成时钟，不按墙钟节拍等待
+    private boolean maxSpeed;
+    private long syntheticNanos;
+    private double simulatedTime;
+    private double simulationTimeLimit;
+    private long frameCount;
+    // 帧节拍
+    private FramePacer framePacer;
+    private final FramePacer backgroundPacer;
+    private float backgroundFPS;
+    private boolean vsyncActive;
+    private final FrameTimeStats frameTimeStats;
+    // 流水线模式：模拟线程发布帧快照，持有 GL 上下文的线程回放
+    private boolean pipelined;
+    private FrameSnapshotBuffer snapshotBuffer;
+    private final FramePacer simulationPacer;
+    private Thread renderThread;
+    // 流水线模式下清理只由渲染线程在合并模拟线程后执行一次
+    private volatile boolean cleanupPending;
+    private final AtomicBoolean cleanedUp;
+    // 分阶段剖析（F3 切换叠加层）
+    private final FrameProfiler profiler;
+    private final ProfilerOverlay profilerOverlay;
+    private final int phaseUpdate;
+    private final int phaseScene;
+    private final int phasePhysics;
+    private final int phaseRecording;
+    private final int phaseRender;
+    private final int phaseSubmit;
+    private final int counterAwake;
+    private final int counterSleeping;
+    private final int counterSubstepped;
+    private final int counterSubsteps;
+    private final int counterSubstepCapped;
     @SuppressWarnings("unused")
     private String title;
     // 新录制服务（可选）
@@ -26,14 +73,52 @@ public class GameEngine {
     }
     
     public GameEngine(int width, int height, String title, RenderBackend backend) {
+        this(width, height, title, backend, 0);
+    }
+    
+    // workerThreads <= 0 时按 CPU 核数自动选择
+    public GameEngine(int width, int height, String title, RenderBackend backend, int workerThreads) {
         this.title = title;
+        this.jobSystem = new JobSystem(workerThreads);
         this.renderer = RendererFactory.createRenderer(backend, width, height, title);
+        this.sceneRenderer = renderer;
         this.inputManager = InputManager.getInstance();
         this.running = false;
         this.targetFPS = 60.0f;
         this.deltaTime = 0.0f;
         this.lastTime = System.nanoTime();
-        
+        this.fixedTimestep = false;
+        this.simulationHz = 120.0f;
+        this.maxStepsPerFrame = 5;
+        this.accumulator = 0.0;
+        this.interpolationAlpha = 1.0f;
+        this.maxSpeed = false;
+        this.syntheticNanos = 0L;
+        this.simulatedTime = 0.0;
+        this.simulationTimeLimit = 0.0;
+        this.frameCount = 0L;
+        this.framePacer = new HybridFramePacer();
+        this.backgroundPacer = new ThrottledFramePacer();
+        this.backgroundFPS = 10.0f;
+        this.vsyncActive = false;
+        this.frameTimeStats = new FrameTimeStats();
+        this.pipelined = false;
+        this.simulationPacer = new HybridFramePacer();
+        this.cleanupPending = false;
+        this.cleanedUp = new AtomicBoolean(false);
+        this.profiler = new FrameProfiler();
+        this.profilerOverlay = new ProfilerOverlay(profiler);
+        this.phaseUpdate = profiler.registerPhase("Update");
+        this.phaseScene = profiler.registerPhase("Scene.update");
+        this.phasePhysics = profiler.registerPhase("Physics");
+        this.phaseRecording = profiler.registerPhase("Recording");
+        this.phaseRender = profiler.registerPhase("Render");
+        this.phaseSubmit = profiler.registerPhase("Render.submit");
+        this.counterAwake = profiler.registerCounter("Bodies.awake");
+        this.counterSleeping = profiler.registerCounter("Bodies.sleeping");
+        this.counterSubstepped = profiler.registerCounter("Physics.substepped");
+        this.counterSubsteps = profiler.registerCounter("Physics.substeps");
+        this.counterSubstepCapped = profiler.registerCounter("Physics.substepCapped");
     }
     
     public boolean initialize() {
@@ -41,95 +126,316 @@ public class GameEngine {
     }
     
     public void run() {
+        if (!start()) {
+            return;
+        }
+        
+        if (pipelined) {
+            runPipelined();
+            return;
+        }
+        
+        long lastFrameStart = System.nanoTime();
+        long nextFrameDeadline = lastFrameStart;
+        boolean firstFrame = true;
+        
+        while (running) {
+            long frameTimeNanos = (long)(1_000_000_000.0 / targetFPS);
+            if (maxSpeed) {
+                // 每次循环推进一帧合成时间，立即执行，不休眠
+                syntheticNanos += frameTimeNanos;
+                update();
+                if (running) {
+                    render();
+                }
+                if (simulationTimeLimit > 0 && simulatedTime >= simulationTimeLimit) {
+                    running = false;
+                }
+                continue;
+            }
+            
+            long frameStart = System.nanoTime();
+            if (!firstFrame) {
+                frameTimeStats.record(frameStart - lastFrameStart);
+            }
+            firstFrame = false;
+            lastFrameStart = frameStart;
+            
+            // update() 内每帧只轮询一次事件
+            update();
+            if (running && !renderer.isMinimized()) {
+                render();
+            }
+            if (!running) {
+                break;
+            }
+            
+            nextFrameDeadline = paceFrame(nextFrameDeadline, frameTimeNanos);
+        }
+    }
+    
+    // 无窗口基准用：在调用线程上同步推进若干帧（每帧 update + render，不节拍、不走流水线），
+    // 首次调用时完成与 run() 相同的启动。返回引擎是否仍在运行
+    public boolean runFrames(int frames) {
+        if (renderThread == null && !start()) {
+            return false;
+        }
+        for (int i = 0; i < frames && running; i++) {
+            if (maxSpeed) {
+                syntheticNanos += (long)(1_000_000_000.0 / targetFPS);
+            }
+            update();
+            if (running) {
+                render();
+            }
+        }
+        return running;
+    }
+    
+    // 主循环之前的启动：引擎初始化、场景与物理系统创建
+    private boolean start() {
         if (!initialize()) {
             System.err.println("游戏引擎初始化失败");
-            return;
+            return false;
         }
         
         running = true;
+        // SIMD 积分核在后台线程上预热，不阻塞第一帧；预热完成前物理用标量版本
+        PhysicsSystem.warmUpSimdInBackground();
         
         if (currentScene != null) {
             currentScene.initialize();
             if (currentScene.getName().equals("MainMenu")) {
                 physicsSystem = null;
             } else {
-                physicsSystem = new PhysicsSystem(currentScene, renderer.getWidth(), renderer.getHeight());
+                physicsSystem = new PhysicsSystem(currentScene, renderer.getWidth(), renderer.getHeight(), jobSystem);
             }
             
         }
         
-        long lastFrameTime = System.nanoTime();
-        long frameTimeNanos = (long)(1_000_000_000.0 / targetFPS);
+        lastTime = clockNanos();
+        vsyncActive = framePacer.usesVSync();
+        renderer.setVSync(vsyncActive);
+        renderThread = Thread.currentThread();
+        return true;
+    }
+    
+    // 按当前窗口状态选择节拍器并等待到下一帧，返回新的 deadline
+    private long paceFrame(long previousDeadline, long frameTimeNanos) {
+        boolean background = renderer.isMinimized() || !renderer.isFocused();
+        FramePacer pacer = background ? backgroundPacer : framePacer;
+        long period = background
+            ? Math.max(frameTimeNanos, (long)(1_000_000_000.0 / backgroundFPS))
+            : frameTimeNanos;
+        if (pacer.usesVSync() != vsyncActive) {
+            vsyncActive = pacer.usesVSync();
+            renderer.setVSync(vsyncActive);
+        }
+        
+        long deadline = previousDeadline + period;
+        long now = System.nanoTime();
+        if (now - deadline > period) {
+            // 落后超过一帧（卡顿/断点）时重新对齐，避免之后连续追帧
+            deadline = now;
+        }
+        pacer.waitForNextFrame(deadline, period);
+        return deadline;
+    }
+    
+    // 流水线主循环（持有 GL 上下文的线程）：轮询事件并回放最新快照，模拟在独立线程上与之重叠执行
+    private void runPipelined() {
+        Thread simulationThread = new Thread(this::simulationLoop, "simulation");
+        simulationThread.start();
+        
+        long lastFrameStart = System.nanoTime();
+        long nextFrameDeadline = lastFrameStart;
+        boolean firstFrame = true;
+        boolean windowClosed = false;
         
         while (running) {
-            long currentTime = System.nanoTime();
-            
-            if (currentTime - lastFrameTime >= frameTimeNanos) {
-                update();
-                if (running) {
-                    render();
-                }
-                lastFrameTime = currentTime;
+            long frameStart = System.nanoTime();
+            if (!firstFrame) {
+                frameTimeStats.record(frameStart - lastFrameStart);
             }
+            firstFrame = false;
+            lastFrameStart = frameStart;
             
             renderer.pollEvents();
-            
             if (renderer.shouldClose()) {
+                windowClosed = true;
                 running = false;
+                break;
+            }
+            
+            if (!renderer.isMinimized()) {
+                long submitStart = profiler.begin();
+                DrawCommandList snapshot = snapshotBuffer.acquireLatest();
+                renderer.beginFrame();
+                snapshot.replay(renderer);
+                renderer.endFrame();
+                profiler.end(phaseSubmit, submitStart);
+            }
+            
+            if (!maxSpeed) {
+                nextFrameDeadline = paceFrame(nextFrameDeadline, (long)(1_000_000_000.0 / targetFPS));
+            }
+        }
+        
+        try {
+            simulationThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        
+        if (windowClosed || cleanupPending) {
+            cleanupPending = false;
+            cleanup();
+        }
+    }
+    
+    // 模拟线程：按 targetFPS 推进 update()，每帧把场景绘制录入快照并发布
+    private void simulationLoop() {
+        long nextDeadline = System.nanoTime();
+        while (running) {
+            long frameTimeNanos = (long)(1_000_000_000.0 / targetFPS);
+            if (maxSpeed) {
+                syntheticNanos += frameTimeNanos;
             }
             
             try {
-                Thread.sleep(1);
-            } catch (InterruptedException e) {
+                update();
+                if (running) {
+                    render();
+                }
+            } catch (RuntimeException e) {
+                System.err.println("模拟线程异常: " + e.getMessage());
+                e.printStackTrace();
+                running = false;
                 break;
             }
+            
+            if (maxSpeed) {
+                if (simulationTimeLimit > 0 && simulatedTime >= simulationTimeLimit) {
+                    running = false;
+                }
+                continue;
+            }
+            
+            nextDeadline += frameTimeNanos;
+            long now = System.nanoTime();
+            if (now - nextDeadline > frameTimeNanos) {
+                nextDeadline = now;
+            }
+            simulationPacer.waitForNextFrame(nextDeadline, frameTimeNanos);
         }
     }
     
+    private long clockNanos() {
+        return maxSpeed ? syntheticNanos : System.nanoTime();
+    }
+    
     private void update() {
-        long currentTime = System.nanoTime();
+        long currentTime = clockNanos();
         deltaTime = (currentTime - lastTime) / 1_000_000_000.0f;
         lastTime = currentTime;
         
-        renderer.pollEvents();
+        // 流水线模式下 SnapshotRenderer 不轮询，事件由渲染线程处理
+        sceneRenderer.pollEvents();
+        // 本帧的输入快照：之后所有系统读取同一份不可变状态
+        inputManager.publishFrame();
+        
+        // 每个外层帧检查一次退出，与本帧是否产生固定步无关
+        if (inputManager.isKeyPressed(27) || sceneRenderer.shouldClose()) {
+            running = false;
+            cleanup();
+            return;
+        }
         
+        long updateStart = profiler.begin();
+        advance();
+        profiler.end(phaseUpdate, updateStart);
+        profilerOverlay.update(deltaTime);
+    }
+    
+    private void advance() {
+        if (!fixedTimestep) {
+            interpolationAlpha = 1.0f;
+            step(deltaTime);
+            consumeInput();
+            return;
+        }
         
+        // 累加器：每帧按真实时间累加，按固定步长消耗；超过上限的积压直接丢弃，避免死亡螺旋
+        double stepSeconds = 1.0 / simulationHz;
+        accumulator += Math.min(deltaTime, 0.25f);
+        int steps = 0;
+        while (accumulator >= stepSeconds && steps < maxStepsPerFrame && running) {
+            if (currentScene != null) {
+                currentScene.storePreviousTransforms();
+            }
+            step((float) stepSeconds);
+            if (steps == 0) {
+                consumeInput();
+            }
+            accumulator -= stepSeconds;
+            steps++;
+        }
+        if (accumulator >= stepSeconds) {
+            accumulator %= stepSeconds;
+        }
+        interpolationAlpha = (float) (accumulator / stepSeconds);
+    }
+    
+    private void step(float dt) {
+        simulatedTime += dt;
         
+        long t = profiler.begin();
         if (currentScene != null) {
-            currentScene.update(deltaTime);
+            currentScene.update(dt);
         }
+        profiler.end(phaseScene, t);
         
+        t = profiler.begin();
         if (physicsSystem != null) {
-            physicsSystem.update(deltaTime);
+            physicsSystem.update(dt);
+            profiler.setCounter(counterAwake, physicsSystem.getAwakeCount());
+            profiler.setCounter(counterSleeping, physicsSystem.getSleepingCount());
+            profiler.setCounter(counterSubstepped, physicsSystem.getSubsteppedCount());
+            profiler.setCounter(counterSubsteps, physicsSystem.getSubstepTotal());
+            profiler.setCounter(counterSubstepCapped, physicsSystem.getSubstepCappedCount());
         }
+        profiler.end(phasePhysics, t);
         
+        t = profiler.begin();
         if (recordingService != null && recordingService.isRecording()) {
-            recordingService.update(deltaTime, currentScene, inputManager);
-        }
-        
-        inputManager.update();
-        
-        if (inputManager.isKeyPressed(27)) {
-            running = false;
-            cleanup();
+            recordingService.update(dt, currentScene, inputManager);
         }
-        
-        if (renderer.shouldClose() && running) {
-            running = false;
-            cleanup();
+        profiler.end(phaseRecording, t);
+    }
+    
+    // 本帧第一个模拟步之后清除边沿输入：没有产生步的帧保留 justPressed，留给下一帧的步消费
+    private void consumeInput() {
+        // F3：切换剖析叠加层
+        if (inputManager.isKeyJustPressed(292)) {
+            profilerOverlay.toggle();
         }
+        inputManager.update();
     }
     
     private void render() {
-        if (renderer == null) return;
+        if (sceneRenderer == null) return;
         
-        renderer.beginFrame();
+        long t = profiler.begin();
+        sceneRenderer.beginFrame();
         
         if (currentScene != null) {
-            currentScene.render();
+            currentScene.render(interpolationAlpha);
         }
+        profilerOverlay.render(sceneRenderer, 1000.0f / targetFPS);
         
-        renderer.endFrame();
+        sceneRenderer.endFrame();
+        profiler.end(phaseRender, t);
+        frameCount++;
     }
     
     public void setScene(Scene scene) {
@@ -145,7 +451,7 @@ public class GameEngine {
             if (running) {
                 scene.initialize();
                 if (!scene.getName().equals("MainMenu") && !scene.getName().equals("Replay")) {
-                    physicsSystem = new PhysicsSystem(scene, renderer.getWidth(), renderer.getHeight());
+                    physicsSystem = new PhysicsSystem(scene, renderer.getWidth(), renderer.getHeight(), jobSystem);
                 }
             }
         }
@@ -160,6 +466,15 @@ public class GameEngine {
     }
     
     public void cleanup() {
+        if (pipelined && renderThread != null && Thread.currentThread() != renderThread) {
+            // 模拟线程上的请求只做标记：GL 资源只能在持有上下文的线程上释放，且模拟线程退出前不能关闭物理与任务池
+            running = false;
+            cleanupPending = true;
+            return;
+        }
+        if (!cleanedUp.compareAndSet(false, true)) {
+            return;
+        }
         if (recordingService != null && recordingService.isRecording()) {
             try { recordingService.stop(); } catch (Exception ignored) {}
         }
@@ -169,6 +484,7 @@ public class GameEngine {
         if (currentScene != null) {
             currentScene.clear();
         }
+        jobSystem.shutdown();
         renderer.cleanup();
     }
 
@@ -194,7 +510,31 @@ public class GameEngine {
     
     
     public IRenderer getRenderer() {
-        return renderer;
+        return sceneRenderer;
+    }
+    
+    // 需在创建场景之前调用：场景会缓存 getRenderer() 返回的渲染器
+    public void setPipelined(boolean pipelined) {
+        if (running) {
+            throw new IllegalStateException("引擎运行中不能切换流水线模式");
+        }
+        this.pipelined = pipelined;
+        if (pipelined) {
+            if (snapshotBuffer == null) {
+                snapshotBuffer = new FrameSnapshotBuffer();
+            }
+            sceneRenderer = new SnapshotRenderer(renderer, snapshotBuffer);
+        } else {
+            sceneRenderer = renderer;
+        }
+    }
+    
+    public boolean isPipelined() {
+        return pipelined;
+    }
+    
+    public FrameSnapshotBuffer getSnapshotBuffer() {
+        return snapshotBuffer;
     }
     
     public InputManager getInputManager() {
@@ -213,6 +553,99 @@ public class GameEngine {
         return targetFPS;
     }
     
+    public void setFixedTimestep(boolean fixedTimestep) {
+        this.fixedTimestep = fixedTimestep;
+        this.accumulator = 0.0;
+    }
+    
+    public boolean isFixedTimestep() {
+        return fixedTimestep;
+    }
+    
+    public void setSimulationHz(float hz) {
+        if (hz <= 0) {
+            throw new IllegalArgumentException("模拟频率必须大于0: " + hz);
+        }
+        this.simulationHz = hz;
+    }
+    
+    public float getSimulationHz() {
+        return simulationHz;
+    }
+    
+    public void setMaxStepsPerFrame(int maxSteps) {
+        this.maxStepsPerFrame = Math.max(1, maxSteps);
+    }
+    
+    public int getMaxStepsPerFrame() {
+        return maxStepsPerFrame;
+    }
+    
+    public float getInterpolationAlpha() {
+        return interpolationAlpha;
+    }
+    
+    // 极速模式：合成时钟每帧推进 1/targetFPS 秒，循环不等待，用于无显示环境下测量纯模拟吞吐
+    public void setMaxSpeed(boolean maxSpeed) {
+        this.maxSpeed = maxSpeed;
+    }
+    
+    public boolean isMaxSpeed() {
+        return maxSpeed;
+    }
+    
+    // 累计模拟时间达到上限后自动停止主循环（<=0 表示不限）
+    public void setSimulationTimeLimit(double seconds) {
+        this.simulationTimeLimit = seconds;
+    }
+    
+    public double getSimulatedTime() {
+        return simulatedTime;
+    }
+    
+    public long getFrameCount() {
+        return frameCount;
+    }
+    
+    public void setFramePacer(FramePacer pacer) {
+        if (pacer == null) {
+            throw new IllegalArgumentException("帧节拍器不能为空");
+        }
+        this.framePacer = pacer;
+        this.vsyncActive = pacer.usesVSync();
+        renderer.setVSync(vsyncActive);
+        frameTimeStats.reset();
+    }
+    
+    public FramePacer getFramePacer() {
+        return framePacer;
+    }
+    
+    // 窗口失焦或最小化时的帧率上限
+    public void setBackgroundFPS(float fps) {
+        this.backgroundFPS = Math.max(1.0f, fps);
+    }
+    
+    public float getBackgroundFPS() {
+        return backgroundFPS;
+    }
+    
+    public FrameProfiler getProfiler() {
+        return profiler;
+    }
+    
+    public JobSystem getJobSystem() {
+        return jobSystem;
+    }
+    
+    public ProfilerOverlay getProfilerOverlay() {
+        return profilerOverlay;
+    }
+    
+    public FrameTimeStats getFrameTimeStats() {
+        return frameTimeStats;
+    }
+    
     public boolean isRunning() {
         return running;
     }
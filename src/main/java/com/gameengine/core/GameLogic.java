@@ -1,79 +1,134 @@
 package com.gameengine.core;
 
+import com.gameengine.components.AIComponent;
 import com.gameengine.components.PhysicsComponent;
 import com.gameengine.components.TransformComponent;
 import com.gameengine.input.InputManager;
-import com.gameengine.math.Vector2;
 import com.gameengine.scene.Scene;
+import com.gameengine.scene.SceneQuery;
 
-import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
 import java.util.Random;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
-import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
 
 public class GameLogic {
     private Scene scene;
+    private final SceneQuery playerQuery;
+    private final SceneQuery aiPlayerQuery;
+    private final SceneQuery aiAgentQuery;
     private InputManager inputManager;
     private Random random;
-    private boolean gameOver;
+    private volatile boolean gameOver;
+    // 无敌模式（无窗口长时间模拟用）：玩家被碰到只计数，不结束游戏
+    private boolean invulnerable;
+    private long playerHits;
     private GameEngine gameEngine;
-    private Map<GameObject, Vector2> aiTargetVelocities;
-    private Map<GameObject, Float> aiTargetUpdateTimers;
-    private ExecutorService avoidanceExecutor;
+    // 换目标的决策分 4 批轮转，每帧至多 64 次；距玩家 600 px 以外降频
+    private final AIScheduler aiScheduler = new AIScheduler(4, 64, 600f);
+    private final AIScheduler.Decision aiDecision = this::decideAITarget;
+    private int counterAIDecisions = -1;
+    private JobSystem jobSystem;
+    // 碰撞层：玩家只与 AI 发生接触
+    public static final int LAYER_PLAYER = 1;
+    public static final int LAYER_AI = 1 << 1;
+    private final CollisionSystem collisions;
+    // 避让半径固定，用同尺寸的均匀网格把邻居查找限制在相邻格子
+    private static final float AVOIDANCE_RADIUS = 80f;
+    // AI 较少时整趟避让不到几微秒，不值得分发到线程池
+    private static final int PARALLEL_AVOIDANCE_THRESHOLD = 128;
+    private final SpatialGrid avoidanceGrid = new SpatialGrid(AVOIDANCE_RADIUS);
+    private float[] positionX = new float[0];
+    private float[] positionY = new float[0];
+    // 格子按固定数量分块，块的划分与线程数无关；各块把推力写入自己的缓冲，最后按块顺序串行合并
+    private static final int AVOIDANCE_CELLS_PER_CHUNK = 16;
+    private AvoidanceChunk[] avoidanceChunks = new AvoidanceChunk[0];
+    private float[] avoidanceX = new float[0];
+    private float[] avoidanceY = new float[0];
+    
+    // 调度用的资源类型：gameOver 标志（碰撞写，玩家输入/AI 读）与 GameLogic.class 代表的 AI 调度器、避让缓冲分开声明，
+    // 只读场景查询快照的系统（粒子）因此不必排在碰撞之后
+    public static final class GameOverFlag {
+        private GameOverFlag() {}
+    }
+    
+    // 一个块产生的推力贡献（AI 下标 + 分量），按产生顺序保存
+    private static class AvoidanceChunk {
+        int[] index = new int[64];
+        float[] forceX = new float[64];
+        float[] forceY = new float[64];
+        int size;
+        
+        void add(int i, float fx, float fy) {
+            if (size == index.length) {
+                index = Arrays.copyOf(index, size * 2);
+                forceX = Arrays.copyOf(forceX, size * 2);
+                forceY = Arrays.copyOf(forceY, size * 2);
+            }
+            index[size] = i;
+            forceX[size] = fx;
+            forceY[size] = fy;
+            size++;
+        }
+    }
     
     public GameLogic(Scene scene) {
         this.scene = scene;
+        this.playerQuery = scene.queryByName("Player", PhysicsComponent.class);
+        this.aiPlayerQuery = scene.queryByName("AIPlayer");
+        this.aiAgentQuery = scene.query(AIComponent.class, PhysicsComponent.class);
         this.inputManager = InputManager.getInstance();
         this.random = new Random();
         this.gameOver = false;
-        this.aiTargetVelocities = new HashMap<>();
-        this.aiTargetUpdateTimers = new HashMap<>();
-        int threadCount = Math.max(2, Runtime.getRuntime().availableProcessors() - 1);
-        this.avoidanceExecutor = Executors.newFixedThreadPool(threadCount);
+        this.collisions = new CollisionSystem(scene);
+        this.collisions.addListener(LAYER_PLAYER, LAYER_AI, contacts -> {
+            if (invulnerable) {
+                playerHits += contacts.size();
+            } else {
+                gameOver = true;
+            }
+        });
+    }
+    
+    public GameLogic(Scene scene, JobSystem jobSystem) {
+        this(scene);
+        this.jobSystem = jobSystem;
     }
     
+    // 线程池归引擎所有，这里只释放引用
     public void cleanup() {
-        if (avoidanceExecutor != null && !avoidanceExecutor.isShutdown()) {
-            avoidanceExecutor.shutdown();
-            try {
-                if (!avoidanceExecutor.awaitTermination(1, TimeUnit.SECONDS)) {
-                    avoidanceExecutor.shutdownNow();
-                }
-            } catch (InterruptedException e) {
-                avoidanceExecutor.shutdownNow();
-                Thread.currentThread().interrupt();
-            }
-        }
+        jobSystem = null;
     }
     
     public void setGameEngine(GameEngine engine) {
         this.gameEngine = engine;
+        this.jobSystem = engine != null ? engine.getJobSystem() : null;
+        this.counterAIDecisions = engine != null ? engine.getProfiler().registerCounter("AI.decisions") : -1;
     }
     
     public boolean isGameOver() {
         return gameOver;
     }
     
+    public void setInvulnerable(boolean invulnerable) {
+        this.invulnerable = invulnerable;
+    }
+    
+    public boolean isInvulnerable() {
+        return invulnerable;
+    }
+    
+    // 无敌模式下玩家与 AI 的累计接触数
+    public long getPlayerHits() {
+        return playerHits;
+    }
+    
     public GameObject getUserPlayer() {
-        for (GameObject obj : scene.getGameObjects()) {
-            if (obj.getName().equals("Player") && obj.hasComponent(PhysicsComponent.class)) {
-                return obj;
-            }
-        }
-        return null;
+        return playerQuery.first();
     }
     
+    // 只含活动的 AI；成员变化前返回同一份快照，可在并行任务中按下标访问
     public List<GameObject> getAIPlayers() {
-        return scene.getGameObjects().stream()
-            .filter(obj -> obj.getName().equals("AIPlayer"))
-            .filter(obj -> obj.isActive())
-            .collect(Collectors.toList());
+        return aiPlayerQuery.activeSnapshot();
     }
     
     public void handlePlayerInput(float deltaTime) {
@@ -87,86 +142,104 @@ public class GameLogic {
         
         if (transform == null || physics == null) return;
         
-        Vector2 movement = new Vector2();
+        float moveX = 0;
+        float moveY = 0;
         
         // W / UpArrow (AWT=38, GLFW=265)
         if (inputManager.isKeyPressed(87) || inputManager.isKeyPressed(38) || inputManager.isKeyPressed(265)) {
-            movement.y -= 1;
+            moveY -= 1;
         }
         // S / DownArrow (AWT=40, GLFW=264)
         if (inputManager.isKeyPressed(83) || inputManager.isKeyPressed(40) || inputManager.isKeyPressed(264)) {
-            movement.y += 1;
+            moveY += 1;
         }
         // A / LeftArrow (AWT=37, GLFW=263)
         if (inputManager.isKeyPressed(65) || inputManager.isKeyPressed(37) || inputManager.isKeyPressed(263)) {
-            movement.x -= 1;
+            moveX -= 1;
         }
         // D / RightArrow (AWT=39, GLFW=262)
         if (inputManager.isKeyPressed(68) || inputManager.isKeyPressed(39) || inputManager.isKeyPressed(262)) {
-            movement.x += 1;
+            moveX += 1;
         }
         
-        if (movement.magnitude() > 0) {
-            movement = movement.normalize().multiply(200);
-            physics.setVelocity(movement);
+        if (moveX != 0 || moveY != 0) {
+            float scale = 200f / (float) Math.sqrt(moveX * moveX + moveY * moveY);
+            physics.setVelocity(moveX * scale, moveY * scale);
         }
         
-        Vector2 pos = transform.getPosition();
         int screenW = gameEngine != null && gameEngine.getRenderer() != null ? gameEngine.getRenderer().getWidth() : 1920;
         int screenH = gameEngine != null && gameEngine.getRenderer() != null ? gameEngine.getRenderer().getHeight() : 1080;
-        if (pos.x < 0) pos.x = 0;
-        if (pos.y < 0) pos.y = 0;
-        if (pos.x > screenW - 20) pos.x = screenW - 20;
-        if (pos.y > screenH - 20) pos.y = screenH - 20;
-        transform.setPosition(pos);
+        float x = Math.max(0, Math.min(screenW - 20, transform.getX()));
+        float y = Math.max(0, Math.min(screenH - 20, transform.getY()));
+        transform.setPosition(x, y);
     }
     
+    // 换目标由 AIScheduler 分帧进行；转向（速度向目标插值）很便宜，每帧对所有 AI 执行
     public void handleAIPlayerMovement(float deltaTime) {
         if (gameOver) return;
         
-        List<GameObject> aiPlayers = getAIPlayers();
+        int screenW = gameEngine != null && gameEngine.getRenderer() != null ? gameEngine.getRenderer().getWidth() : 1920;
+        int screenH = gameEngine != null && gameEngine.getRenderer() != null ? gameEngine.getRenderer().getHeight() : 1080;
+        aiScheduler.setView(0, 0, screenW, screenH);
+        TransformComponent playerTransform = null;
+        GameObject player = getUserPlayer();
+        if (player != null) {
+            playerTransform = player.getComponent(TransformComponent.class);
+        }
+        if (playerTransform != null) {
+            aiScheduler.setFocus(playerTransform.getX(), playerTransform.getY());
+        } else {
+            aiScheduler.setFocus(screenW * 0.5f, screenH * 0.5f);
+        }
         
-        for (GameObject aiPlayer : aiPlayers) {
+        List<GameObject> agents = aiAgentQuery.activeSnapshot();
+        aiScheduler.update(agents, deltaTime, aiDecision);
+        if (counterAIDecisions >= 0) {
+            gameEngine.getProfiler().setCounter(counterAIDecisions, aiScheduler.getDecisionsLastFrame());
+        }
+        
+        float lerpFactor = 0.1f;
+        for (int i = 0; i < agents.size(); i++) {
+            GameObject aiPlayer = agents.get(i);
+            AIComponent state = aiPlayer.getComponent(AIComponent.class);
+            if (!state.isEnabled() || !state.hasDecided()) continue;
             PhysicsComponent physics = aiPlayer.getComponent(PhysicsComponent.class);
-            if (physics == null) continue;
-            
-            if (!aiTargetVelocities.containsKey(aiPlayer)) {
-                Vector2 initialTarget = new Vector2(
-                    (random.nextFloat() - 0.5f) * 150,
-                    (random.nextFloat() - 0.5f) * 150
-                );
-                aiTargetVelocities.put(aiPlayer, initialTarget);
-                aiTargetUpdateTimers.put(aiPlayer, 0f);
-            }
-            
-            float timer = aiTargetUpdateTimers.get(aiPlayer) + deltaTime;
-            aiTargetUpdateTimers.put(aiPlayer, timer);
-            
-            if (timer >= (2.0f + random.nextFloat() * 2.0f)) {
-                Vector2 newTarget = new Vector2(
-                    (random.nextFloat() - 0.5f) * 150,
-                    (random.nextFloat() - 0.5f) * 150
-                );
-                aiTargetVelocities.put(aiPlayer, newTarget);
-                aiTargetUpdateTimers.put(aiPlayer, 0f);
-            }
-            
-            Vector2 currentVelocity = physics.getVelocity();
-            Vector2 targetVelocity = aiTargetVelocities.get(aiPlayer);
-            
-            float lerpFactor = 0.1f;
-            Vector2 newVelocity = new Vector2(
-                currentVelocity.x + (targetVelocity.x - currentVelocity.x) * lerpFactor,
-                currentVelocity.y + (targetVelocity.y - currentVelocity.y) * lerpFactor
-            );
-            
-            float maxSpeed = 150f;
-            if (newVelocity.magnitude() > maxSpeed) {
-                newVelocity = newVelocity.normalize().multiply(maxSpeed);
-            }
-            
-            physics.setVelocity(newVelocity);
+            float vx = physics.getVelocityX();
+            float vy = physics.getVelocityY();
+            vx += (state.getTargetX() - vx) * lerpFactor;
+            vy += (state.getTargetY() - vy) * lerpFactor;
+            setClampedVelocity(physics, vx, vy, 150f);
+        }
+    }
+    
+    // 计时满 2~4 秒换一个随机目标速度；elapsed 包含因降频跳过的时间
+    private void decideAITarget(GameObject ai, AIComponent state, float elapsed) {
+        float timer = state.getTimer() + elapsed;
+        if (timer >= state.getDecisionInterval()) {
+            state.setTarget((random.nextFloat() - 0.5f) * 150, (random.nextFloat() - 0.5f) * 150);
+            state.setDecisionInterval(2.0f + random.nextFloat() * 2.0f);
+            timer = 0f;
+        }
+        state.setTimer(timer);
+    }
+    
+    // 新生成（或从对象池取出并重置）的 AI 立即选定目标，生成当帧就开始转向
+    public void onAIPlayerSpawned(GameObject aiPlayer) {
+        aiScheduler.decideNow(aiPlayer, aiDecision);
+    }
+    
+    public AIScheduler getAIScheduler() {
+        return aiScheduler;
+    }
+    
+    private static void setClampedVelocity(PhysicsComponent physics, float vx, float vy, float maxSpeed) {
+        float speedSq = vx * vx + vy * vy;
+        if (speedSq > maxSpeed * maxSpeed) {
+            float scale = maxSpeed / (float) Math.sqrt(speedSq);
+            vx *= scale;
+            vy *= scale;
         }
+        physics.setVelocity(vx, vy);
     }
     
     
@@ -174,121 +247,146 @@ public class GameLogic {
         if (gameOver) return;
         
         List<GameObject> aiPlayers = getAIPlayers();
-        if (aiPlayers.isEmpty()) return;
+        int n = aiPlayers.size();
+        if (n == 0) return;
         
-        if (aiPlayers.size() < 10) {
-            handleAIPlayerAvoidanceSerial(aiPlayers, deltaTime);
-        } else {
-            handleAIPlayerAvoidanceParallel(aiPlayers, deltaTime);
+        if (positionX.length < n) {
+            int capacity = Math.max(n, positionX.length * 2);
+            positionX = new float[capacity];
+            positionY = new float[capacity];
         }
-    }
-    
-    private void handleAIPlayerAvoidanceSerial(List<GameObject> aiPlayers, float deltaTime) {
-        for (int i = 0; i < aiPlayers.size(); i++) {
-            processAvoidanceForPlayer(aiPlayers, i, deltaTime);
+        for (int i = 0; i < n; i++) {
+            TransformComponent transform = aiPlayers.get(i).getComponent(TransformComponent.class);
+            positionX[i] = transform != null ? transform.getX() : Float.NaN;
+            positionY[i] = transform != null ? transform.getY() : Float.NaN;
         }
-    }
-    
-    private void handleAIPlayerAvoidanceParallel(List<GameObject> aiPlayers, float deltaTime) {
-        int threadCount = Runtime.getRuntime().availableProcessors() - 1;
-        threadCount = Math.max(2, threadCount);
-        int batchSize = Math.max(1, aiPlayers.size() / threadCount + 1);
-        
-        List<Future<?>> futures = new ArrayList<>();
+        avoidanceGrid.build(positionX, positionY, n);
         
-        for (int i = 0; i < aiPlayers.size(); i += batchSize) {
-            final int start = i;
-            final int end = Math.min(i + batchSize, aiPlayers.size());
-            
-            Future<?> future = avoidanceExecutor.submit(() -> {
-                for (int j = start; j < end; j++) {
-                    processAvoidanceForPlayer(aiPlayers, j, deltaTime);
+        int cells = avoidanceGrid.getCellCount();
+        int chunks = (cells + AVOIDANCE_CELLS_PER_CHUNK - 1) / AVOIDANCE_CELLS_PER_CHUNK;
+        if (avoidanceChunks.length < chunks) {
+            int oldLength = avoidanceChunks.length;
+            avoidanceChunks = Arrays.copyOf(avoidanceChunks, Math.max(chunks, oldLength * 2));
+            for (int c = oldLength; c < avoidanceChunks.length; c++) {
+                avoidanceChunks[c] = new AvoidanceChunk();
+            }
+        }
+        if (n < PARALLEL_AVOIDANCE_THRESHOLD || jobSystem == null) {
+            for (int c = 0; c < chunks; c++) {
+                processAvoidanceChunk(c, cells);
+            }
+        } else {
+            // 任务只读网格、只写各自块的缓冲，不触碰物理组件
+            jobSystem.parallelFor(0, chunks, 1, (start, end) -> {
+                for (int c = start; c < end; c++) {
+                    processAvoidanceChunk(c, cells);
                 }
             });
-            
-            futures.add(future);
         }
         
-        for (Future<?> future : futures) {
-            try {
-                future.get();
-            } catch (Exception e) {
-                e.printStackTrace();
+        // 按块顺序合并，浮点加法顺序固定，结果与线程数和调度无关
+        if (avoidanceX.length < n) {
+            avoidanceX = new float[positionX.length];
+            avoidanceY = new float[positionX.length];
+        }
+        Arrays.fill(avoidanceX, 0, n, 0f);
+        Arrays.fill(avoidanceY, 0, n, 0f);
+        for (int c = 0; c < chunks; c++) {
+            AvoidanceChunk chunk = avoidanceChunks[c];
+            for (int e = 0; e < chunk.size; e++) {
+                avoidanceX[chunk.index[e]] += chunk.forceX[e];
+                avoidanceY[chunk.index[e]] += chunk.forceY[e];
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            float sumX = avoidanceX[i];
+            float sumY = avoidanceY[i];
+            if (sumX != 0 || sumY != 0) {
+                PhysicsComponent physics = aiPlayers.get(i).getComponent(PhysicsComponent.class);
+                if (physics != null) {
+                    applyAvoidance(physics, sumX, sumY, deltaTime);
+                }
             }
         }
     }
     
-    private void processAvoidanceForPlayer(List<GameObject> aiPlayers, int index, float deltaTime) {
-        GameObject aiPlayer1 = aiPlayers.get(index);
-        TransformComponent transform1 = aiPlayer1.getComponent(TransformComponent.class);
-        PhysicsComponent physics1 = aiPlayer1.getComponent(PhysicsComponent.class);
-        
-        if (transform1 == null || physics1 == null) return;
+    private void processAvoidanceChunk(int chunkIndex, int cells) {
+        AvoidanceChunk chunk = avoidanceChunks[chunkIndex];
+        chunk.size = 0;
+        int first = chunkIndex * AVOIDANCE_CELLS_PER_CHUNK;
+        int last = Math.min(cells, first + AVOIDANCE_CELLS_PER_CHUNK);
+        for (int c = first; c < last; c++) {
+            processAvoidanceCell(chunk, c);
+        }
+    }
+    
+    // 每对 AI 只计算一次（由下标较小的一方发起），双方得到大小相等、方向相反的推力
+    private void processAvoidanceCell(AvoidanceChunk chunk, int cell) {
+        SpatialGrid grid = avoidanceGrid;
+        int begin = grid.cellStart(cell);
+        int end = grid.cellEnd(cell);
+        if (begin == end) return;
         
-        Vector2 pos1 = transform1.getPosition();
-        Vector2 avoidance = new Vector2();
+        int cols = grid.getCols();
+        int cx = cell % cols;
+        int cy = cell / cols;
+        int x0 = Math.max(cx - 1, 0), x1 = Math.min(cx + 1, cols - 1);
+        int y0 = Math.max(cy - 1, 0), y1 = Math.min(cy + 1, grid.getRows() - 1);
         
-        for (int j = index + 1; j < aiPlayers.size(); j++) {
-            GameObject aiPlayer2 = aiPlayers.get(j);
-            TransformComponent transform2 = aiPlayer2.getComponent(TransformComponent.class);
-            
-            if (transform2 == null) continue;
+        for (int k = begin; k < end; k++) {
+            int index = grid.itemAt(k);
+            float px = grid.xAt(k);
+            float py = grid.yAt(k);
+            float sumX = 0;
+            float sumY = 0;
             
-            Vector2 pos2 = transform2.getPosition();
-            float distance = pos1.distance(pos2);
-            
-            if (distance < 80 && distance > 0) {
-                Vector2 direction = pos1.subtract(pos2).normalize();
-                float strength = (80 - distance) / 80.0f;
-                avoidance = avoidance.add(direction.multiply(strength * 50));
+            for (int ny = y0; ny <= y1; ny++) {
+                int row = ny * cols;
+                for (int nx = x0; nx <= x1; nx++) {
+                    int neighbor = row + nx;
+                    for (int m = grid.cellStart(neighbor), mEnd = grid.cellEnd(neighbor); m < mEnd; m++) {
+                        int other = grid.itemAt(m);
+                        if (other <= index) continue;
+                        float dx = px - grid.xAt(m);
+                        float dy = py - grid.yAt(m);
+                        float distanceSq = dx * dx + dy * dy;
+                        if (distanceSq < AVOIDANCE_RADIUS * AVOIDANCE_RADIUS && distanceSq > 0) {
+                            float distance = (float) Math.sqrt(distanceSq);
+                            float strength = (AVOIDANCE_RADIUS - distance) / AVOIDANCE_RADIUS;
+                            float scale = strength * 50 / distance;
+                            float fx = dx * scale;
+                            float fy = dy * scale;
+                            sumX += fx;
+                            sumY += fy;
+                            chunk.add(other, -fx, -fy);
+                        }
+                    }
+                }
             }
-        }
-        
-        if (avoidance.magnitude() > 0) {
-            Vector2 currentVelocity = physics1.getVelocity();
-            float lerpFactor = 0.15f;
-            Vector2 avoidanceDirection = avoidance.normalize();
-            float avoidanceStrength = Math.min(avoidance.magnitude(), 50f);
-            
-            Vector2 targetVelocity = currentVelocity.add(
-                avoidanceDirection.multiply(avoidanceStrength * deltaTime * 10)
-            );
-            
-            Vector2 newVelocity = new Vector2(
-                currentVelocity.x + (targetVelocity.x - currentVelocity.x) * lerpFactor,
-                currentVelocity.y + (targetVelocity.y - currentVelocity.y) * lerpFactor
-            );
             
-            float maxSpeed = 150f;
-            if (newVelocity.magnitude() > maxSpeed) {
-                newVelocity = newVelocity.normalize().multiply(maxSpeed);
+            if (sumX != 0 || sumY != 0) {
+                chunk.add(index, sumX, sumY);
             }
-            
-            physics1.setVelocity(newVelocity);
         }
     }
     
+    private static void applyAvoidance(PhysicsComponent physics, float avoidX, float avoidY, float deltaTime) {
+        float lerpFactor = 0.15f;
+        float avoidanceMagnitude = (float) Math.sqrt(avoidX * avoidX + avoidY * avoidY);
+        float avoidanceStrength = Math.min(avoidanceMagnitude, 50f);
+        // 目标速度 = 当前速度 + 避让方向 * 强度，再按 lerpFactor 向目标靠拢
+        float push = avoidanceStrength * deltaTime * 10 * lerpFactor / avoidanceMagnitude;
+        float vx = physics.getVelocityX() + avoidX * push;
+        float vy = physics.getVelocityY() + avoidY * push;
+        setClampedVelocity(physics, vx, vy, 150f);
+    }
+    
     public void checkCollisions() {
         if (gameOver) return;
-        
-        GameObject userPlayer = getUserPlayer();
-        if (userPlayer == null) return;
-        
-        TransformComponent playerTransform = userPlayer.getComponent(TransformComponent.class);
-        if (playerTransform == null) return;
-        
-        Vector2 playerPos = playerTransform.getPosition();
-        
-        List<GameObject> aiPlayers = getAIPlayers();
-        for (GameObject aiPlayer : aiPlayers) {
-            TransformComponent aiTransform = aiPlayer.getComponent(TransformComponent.class);
-            if (aiTransform != null) {
-                float distance = playerPos.distance(aiTransform.getPosition());
-                if (distance < 30) {
-                    gameOver = true;
-                    return;
-                }
-            }
-        }
+        collisions.update();
+    }
+    
+    public CollisionSystem getCollisionSystem() {
+        return collisions;
     }
 }
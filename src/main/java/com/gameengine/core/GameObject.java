@@ -1,21 +1,37 @@
 package com.gameengine.core;
 
+import com.gameengine.scene.Scene;
+
 import java.util.*;
 
 public class GameObject {
     protected boolean active;
     protected String name;
+    private int tag;
     protected final List<Component<?>> components;
+    // 以 ComponentRegistry 的类型 ID 为下标的组件槽，getComponent/hasComponent 为 O(1)
+    private Component<?>[] componentSlots;
+    private Scene scene;
+    // 由 BodyStorage 维护：对象所在场景的存储、数据所在的 archetype 与行号，未绑定时为 null
+    BodyStorage bodyStorage;
+    BodyStorage.Archetype bodyArchetype;
+    int bodyRow;
+    // 由 Prefab 创建的对象记录其模板，离开场景后回到模板的对象池
+    Prefab prefab;
+    boolean pooled;
     
     public GameObject() {
         this.active = true;
         this.name = "GameObject";
+        this.tag = Tags.intern(name);
         this.components = new ArrayList<>();
+        this.componentSlots = new Component<?>[ComponentRegistry.getTypeCount()];
     }
     
     public GameObject(String name) {
         this();
         this.name = name;
+        this.tag = Tags.intern(name);
     }
     
     public void update(float deltaTime) {
@@ -31,36 +47,45 @@ public class GameObject {
     
     public void destroy() {
         this.active = false;
+        // 模板对象保留组件以便复用
+        if (prefab != null) {
+            return;
+        }
         for (Component<?> component : components) {
             component.destroy();
         }
         components.clear();
+        Arrays.fill(componentSlots, null);
     }
     
     public <T extends Component<T>> T addComponent(T component) {
         component.setOwner(this);
         components.add(component);
+        // 同一类型（或父类）保留最先添加的组件，与原先按列表顺序查找的结果一致
+        for (int id : ComponentRegistry.getLookupIds(component.getClass())) {
+            if (id >= componentSlots.length) {
+                componentSlots = Arrays.copyOf(componentSlots, Math.max(id + 1, ComponentRegistry.getTypeCount()));
+            }
+            if (componentSlots[id] == null) {
+                componentSlots[id] = component;
+            }
+        }
         component.initialize();
+        if (bodyStorage != null && scene != null) {
+            scene.onGameObjectChanged(this);
+        }
         return component;
     }
     
     @SuppressWarnings("unchecked")
     public <T extends Component<T>> T getComponent(Class<T> componentType) {
-        for (Component<?> component : components) {
-            if (componentType.isInstance(component)) {
-                return (T) component;
-            }
-        }
-        return null;
+        int id = ComponentRegistry.getId(componentType);
+        return id < componentSlots.length ? (T) componentSlots[id] : null;
     }
     
     public <T extends Component<T>> boolean hasComponent(Class<T> componentType) {
-        for (Component<?> component : components) {
-            if (componentType.isInstance(component)) {
-                return true;
-            }
-        }
-        return false;
+        int id = ComponentRegistry.getId(componentType);
+        return id < componentSlots.length && componentSlots[id] != null;
     }
     
     public void updateComponents(float deltaTime) {
@@ -92,6 +117,28 @@ public class GameObject {
     }
     
     public void setName(String name) {
+        int oldTag = tag;
         this.name = name;
+        this.tag = Tags.intern(name);
+        if (bodyStorage != null && scene != null && oldTag != tag) {
+            scene.onGameObjectRenamed(this, oldTag);
+        }
+    }
+    
+    // 名称驻留后的整数标签
+    public int getTag() {
+        return tag;
+    }
+    
+    public Prefab getPrefab() {
+        return prefab;
+    }
+    
+    public Scene getScene() {
+        return scene;
+    }
+    
+    public void setScene(Scene scene) {
+        this.scene = scene;
     }
 }
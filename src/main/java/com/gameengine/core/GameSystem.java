@@ -0,0 +1,76 @@
+package com.gameengine.core;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+// 可调度的系统：声明读/写的组件类型（或其它共享资源的类型），由 SystemScheduler 按数据依赖排序并行执行
+public abstract class GameSystem {
+    public interface Task {
+        void update(float deltaTime);
+    }
+
+    private final String name;
+    private final Set<Class<?>> reads;
+    private final Set<Class<?>> writes;
+    private volatile boolean enabled;
+
+    protected GameSystem(String name) {
+        this.name = name;
+        this.reads = new HashSet<>();
+        this.writes = new HashSet<>();
+        this.enabled = true;
+    }
+
+    public static GameSystem of(String name, Task task) {
+        return new GameSystem(name) {
+            @Override
+            public void update(float deltaTime) {
+                task.update(deltaTime);
+            }
+        };
+    }
+
+    public abstract void update(float deltaTime);
+
+    public GameSystem reads(Class<?>... types) {
+        Collections.addAll(reads, types);
+        return this;
+    }
+
+    public GameSystem writes(Class<?>... types) {
+        Collections.addAll(writes, types);
+        return this;
+    }
+
+    // 任一方写了另一方读或写的类型即冲突，必须保持注册顺序
+    public boolean conflictsWith(GameSystem other) {
+        for (Class<?> type : writes) {
+            if (other.reads.contains(type) || other.writes.contains(type)) return true;
+        }
+        for (Class<?> type : other.writes) {
+            if (reads.contains(type)) return true;
+        }
+        return false;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Set<Class<?>> getReads() {
+        return Collections.unmodifiableSet(reads);
+    }
+
+    public Set<Class<?>> getWrites() {
+        return Collections.unmodifiableSet(writes);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+}
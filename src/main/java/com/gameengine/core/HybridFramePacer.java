@@ -0,0 +1,49 @@
+package com.gameengine.core;
+
+import java.util.concurrent.locks.LockSupport;
+
+// 混合等待：先用 parkNanos 睡到 deadline 前 spinNanos，再自旋补齐剩余时间，兼顾低 CPU 占用与低抖动
+public class HybridFramePacer implements FramePacer {
+    private final long spinNanos;
+
+    public HybridFramePacer() {
+        this(1_000_000L);
+    }
+
+    public HybridFramePacer(long spinNanos) {
+        this.spinNanos = Math.max(0L, spinNanos);
+    }
+
+    @Override
+    public void waitForNextFrame(long deadlineNanos, long framePeriodNanos) {
+        while (true) {
+            long remaining = deadlineNanos - System.nanoTime();
+            if (remaining <= spinNanos) {
+                break;
+            }
+            // parkNanos 可能提前返回（虚假唤醒/中断），循环重新计算剩余时间
+            LockSupport.parkNanos(remaining - spinNanos);
+            if (Thread.interrupted()) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        while (System.nanoTime() - deadlineNanos < 0) {
+            Thread.onSpinWait();
+        }
+    }
+
+    @Override
+    public boolean usesVSync() {
+        return false;
+    }
+
+    @Override
+    public String getName() {
+        return "hybrid";
+    }
+
+    public long getSpinNanos() {
+        return spinNanos;
+    }
+}
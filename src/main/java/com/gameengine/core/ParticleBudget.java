@@ -0,0 +1,151 @@
+package com.gameengine.core;
+
+// 场景的粒子预算：存活粒子超过上水位时逐级降低细节，存活粒子达到上限后持续发射一律跳过（上限是硬约束）。
+// 等级 1 缩短新粒子寿命，并把重要度低于“减发阈值”的发射器发射间隔加倍；等级 2 寿命进一步缩短，
+// 重要度低于“停发阈值”的发射器停止发射。每个等级只调自己的阈值：进入该等级时为 0，之后每 ADJUST_FRAMES 帧
+// 按使用率偏离两条水位中点的量调整，使用量稳定在两条水位之间。只有阈值已调到头仍超过上水位才升级，阈值回到 0
+// 且按寿命系数估算的上一级使用量低于下水位才降级；每次换级后至少保持 HOLD_FRAMES 帧，避免在两级之间来回切换。
+// 重要度 = 发射器自身权重 × 距离衰减 × 尺寸系数，屏幕外为 0
+public class ParticleBudget {
+    public static final int LEVEL_FULL = 0;
+    public static final int LEVEL_REDUCED = 1;
+    public static final int LEVEL_CULLED = 2;
+
+    private static final int HOLD_FRAMES = 120;
+    private static final int ADJUST_FRAMES = 60;
+    // 超过上限的 HIGH_WATERMARK 倍时提高阈值或升级，低于 LOW_WATERMARK 倍时降低阈值或降级
+    private static final float HIGH_WATERMARK = 0.9f;
+    private static final float LOW_WATERMARK = 0.75f;
+    // 每次调整量 = ADJUST_GAIN × (使用率 - 两条水位的中点)
+    private static final float ADJUST_GAIN = 0.5f;
+    private static final float MAX_THRESHOLD = 1f;
+    // 距焦点这么远时距离系数降为 1/2
+    private static final float DISTANCE_FALLOFF = 400f;
+    // 最小渲染尺寸低于此值的发射器重要度减半
+    private static final float TINY_RENDER_SIZE = 2.0f;
+    private static final float VIEW_MARGIN = 50f;
+    private static final float[] LIFE_SCALE = {1.0f, 0.75f, 0.5f};
+
+    private int maxParticles;
+    private int level;
+    private int framesAtLevel;
+    // 等级 1 起生效的减发阈值与等级 2 的停发阈值
+    private float reduceImportance;
+    private float cullImportance;
+    private float focusX;
+    private float focusY;
+    private float viewMinX = Float.NEGATIVE_INFINITY;
+    private float viewMinY = Float.NEGATIVE_INFINITY;
+    private float viewMaxX = Float.POSITIVE_INFINITY;
+    private float viewMaxY = Float.POSITIVE_INFINITY;
+
+    public ParticleBudget(int maxParticles) {
+        this.maxParticles = checkMaxParticles(maxParticles);
+    }
+
+    // 距离以该点（通常是玩家）为准
+    public void setFocus(float x, float y) {
+        this.focusX = x;
+        this.focusY = y;
+    }
+
+    public void setView(float minX, float minY, float maxX, float maxY) {
+        this.viewMinX = minX;
+        this.viewMinY = minY;
+        this.viewMaxX = maxX;
+        this.viewMaxY = maxY;
+    }
+
+    // 每帧发射前按当前存活粒子数调整阈值与等级
+    void update(int liveParticles) {
+        framesAtLevel++;
+        float usage = liveParticles / (float) maxParticles;
+        if (level > LEVEL_FULL && framesAtLevel % ADJUST_FRAMES == 0) {
+            adjustThreshold(usage);
+        }
+        if (framesAtLevel < HOLD_FRAMES) return;
+        if (usage > HIGH_WATERMARK && level < LEVEL_CULLED && (level == LEVEL_FULL || reduceImportance >= MAX_THRESHOLD)) {
+            level++;
+            framesAtLevel = 0;
+            if (level == LEVEL_REDUCED) {
+                reduceImportance = 0f;
+            } else {
+                cullImportance = 0f;
+            }
+        } else if (level > LEVEL_FULL && currentThreshold() == 0f
+            && usage * LIFE_SCALE[level - 1] / LIFE_SCALE[level] < LOW_WATERMARK) {
+            level--;
+            framesAtLevel = 0;
+        }
+    }
+
+    private void adjustThreshold(float usage) {
+        if (usage <= HIGH_WATERMARK && usage >= LOW_WATERMARK) return;
+        float delta = ADJUST_GAIN * (usage - (HIGH_WATERMARK + LOW_WATERMARK) * 0.5f);
+        if (level == LEVEL_REDUCED) {
+            reduceImportance = Math.max(0f, Math.min(MAX_THRESHOLD, reduceImportance + delta));
+        } else {
+            cullImportance = Math.max(0f, Math.min(MAX_THRESHOLD, cullImportance + delta));
+        }
+    }
+
+    private float currentThreshold() {
+        return level == LEVEL_REDUCED ? reduceImportance : cullImportance;
+    }
+
+    float importance(float weight, float x, float y, float minRenderSize) {
+        if (x < viewMinX - VIEW_MARGIN || x > viewMaxX + VIEW_MARGIN
+            || y < viewMinY - VIEW_MARGIN || y > viewMaxY + VIEW_MARGIN) {
+            return 0f;
+        }
+        float dx = x - focusX;
+        float dy = y - focusY;
+        float score = weight / (1f + (float) Math.sqrt(dx * dx + dy * dy) / DISTANCE_FALLOFF);
+        return minRenderSize < TINY_RENDER_SIZE ? score * 0.5f : score;
+    }
+
+    boolean isCulled(float importance) {
+        return level >= LEVEL_CULLED && importance < cullImportance;
+    }
+
+    // 当前等级下发射间隔的倍数
+    float spawnIntervalScale(float importance) {
+        return level >= LEVEL_REDUCED && importance < reduceImportance ? 2f : 1f;
+    }
+
+    float lifeScale() {
+        return LIFE_SCALE[level];
+    }
+
+    // 持续发射的数量达到上限后不再发射；爆发不受此限制
+    boolean isFull(int liveParticles) {
+        return liveParticles >= maxParticles;
+    }
+
+    public void setMaxParticles(int maxParticles) {
+        this.maxParticles = checkMaxParticles(maxParticles);
+    }
+
+    private static int checkMaxParticles(int maxParticles) {
+        if (maxParticles <= 0) {
+            throw new IllegalArgumentException("maxParticles must be positive: " + maxParticles);
+        }
+        return maxParticles;
+    }
+
+    public int getMaxParticles() {
+        return maxParticles;
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    public float getReduceImportance() {
+        return level >= LEVEL_REDUCED ? reduceImportance : 0f;
+    }
+
+    public float getCullImportance() {
+        return level >= LEVEL_CULLED ? cullImportance : 0f;
+    }
+}
@@ -0,0 +1,431 @@
+package com.gameengine.core;
+
+import com.gameengine.graphics.IRenderer;
+import com.gameengine.math.Vector2;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// 场景级粒子管理：所有发射器的粒子共用一块按列存放（SoA）的定长缓冲，存活粒子紧凑排在 [0, count)。
+// 发射器只是指向缓冲的轻量句柄，记录位置、配置与发射计时；更新与渲染各遍历缓冲一次，开销只与存活粒子数有关。
+// 积分按块交给 JobSystem 并行，死亡粒子随后串行地与末尾互换移除。release 之后的发射器在粒子全部消失时自动回收复用。
+// 设置 ParticleBudget 后，持续发射受预算约束：超出时按发射器重要度降低发射频率、缩短寿命或停止发射。
+public class ParticleManager {
+    // 每块至少这么多粒子，块太小时调度开销超过积分本身
+    private static final int UPDATE_GRAIN = 1024;
+
+    public final class Emitter {
+        private final int slot;
+        private final Vector2 position = new Vector2();
+        private ParticleSystem.Config config;
+        private float spawnRate;
+        private float timeSinceLastSpawn;
+        private boolean active;
+        private boolean released;
+        private boolean culled;
+        private float importance = 1f;
+        private int live;
+
+        private Emitter(int slot) {
+            this.slot = slot;
+        }
+
+        public void setPosition(Vector2 position) {
+            if (position != null) {
+                this.position.set(position);
+            }
+        }
+
+        public Vector2 getPosition() {
+            return position;
+        }
+
+        // 关闭后不再持续发射，已有粒子照常更新
+        public void setActive(boolean active) {
+            this.active = active;
+        }
+
+        public boolean isActive() {
+            return active;
+        }
+
+        public void setSpawnRate(float rate) {
+            this.spawnRate = rate;
+        }
+
+        public float getSpawnRate() {
+            return spawnRate;
+        }
+
+        public ParticleSystem.Config getConfig() {
+            return config;
+        }
+
+        // 预算紧张时的权重，与距离、屏幕内外、渲染尺寸一起决定重要度
+        public void setImportance(float importance) {
+            this.importance = Math.max(0f, importance);
+        }
+
+        public float getImportance() {
+            return importance;
+        }
+
+        // 上一帧是否因预算被停止发射
+        public boolean isCulled() {
+            return culled;
+        }
+
+        public void burst(int count) {
+            for (int i = 0; i < count; i++) {
+                emitBurst(this);
+            }
+        }
+
+        // 该发射器仍存活的粒子数
+        public int getParticleCount() {
+            return live;
+        }
+
+        // 停止发射并交还管理器，剩余粒子自然消亡后句柄被回收复用；之后不要再使用该句柄
+        public void release() {
+            active = false;
+            released = true;
+        }
+
+        public boolean isReleased() {
+            return released;
+        }
+    }
+
+    private final IRenderer renderer;
+    private JobSystem jobSystem;
+    private final Random random = new Random();
+
+    private final float[] x;
+    private final float[] y;
+    private final float[] vx;
+    private final float[] vy;
+    private final float[] life;
+    private final float[] maxLife;
+    private final float[] size;
+    private final float[] r;
+    private final float[] g;
+    private final float[] b;
+    // 发射时从配置复制，渲染时不再回查发射器
+    private final float[] opacity;
+    private final float[] minSize;
+    private final int[] owner;
+    private int count;
+    private int dropped;
+    private ParticleBudget budget;
+    private int culledEmitters;
+    private int culledSpawns;
+
+    // 下标即 slot；free 中的发射器可被 createEmitter 复用
+    private final List<Emitter> emitters = new ArrayList<>();
+    private final List<Emitter> free = new ArrayList<>();
+
+    private float stepDelta;
+    private final JobSystem.RangeTask integrateTask = (start, end) -> integrate(start, end, stepDelta);
+
+    // jobSystem 为 null 时串行更新
+    public ParticleManager(IRenderer renderer, int capacity, JobSystem jobSystem) {
+        int n = Math.max(1, capacity);
+        this.renderer = renderer;
+        this.jobSystem = jobSystem;
+        this.x = new float[n];
+        this.y = new float[n];
+        this.vx = new float[n];
+        this.vy = new float[n];
+        this.life = new float[n];
+        this.maxLife = new float[n];
+        this.size = new float[n];
+        this.r = new float[n];
+        this.g = new float[n];
+        this.b = new float[n];
+        this.opacity = new float[n];
+        this.minSize = new float[n];
+        this.owner = new int[n];
+    }
+
+    // 创建（或复用）一个发射器，并立即发射 config.initialCount 个粒子
+    public Emitter createEmitter(Vector2 position, ParticleSystem.Config config) {
+        int last = free.size() - 1;
+        Emitter emitter = last >= 0 ? free.remove(last) : newEmitter();
+        emitter.setPosition(position);
+        emitter.config = config;
+        emitter.spawnRate = config.spawnRate;
+        emitter.timeSinceLastSpawn = 0f;
+        emitter.active = true;
+        emitter.released = false;
+        emitter.culled = false;
+        emitter.importance = 1f;
+        emitter.live = 0;
+        for (int i = 0; i < config.initialCount; i++) {
+            emitStream(emitter, 1f);
+        }
+        return emitter;
+    }
+
+    private Emitter newEmitter() {
+        Emitter emitter = new Emitter(emitters.size());
+        emitters.add(emitter);
+        return emitter;
+    }
+
+    // 一次性爆发：发射后立即 release，粒子消失后发射器自动回收
+    public void burst(Vector2 position, ParticleSystem.Config config, int count) {
+        Emitter emitter = createEmitter(position, config);
+        emitter.active = false;
+        emitter.burst(count);
+        emitter.release();
+    }
+
+    public void update(float deltaTime) {
+        spawn(deltaTime);
+        if (jobSystem == null) {
+            integrate(0, count, deltaTime);
+        } else {
+            stepDelta = deltaTime;
+            jobSystem.parallelFor(0, count, UPDATE_GRAIN, integrateTask);
+        }
+        removeDead();
+        recycle();
+    }
+
+    private void spawn(float deltaTime) {
+        ParticleBudget budget = this.budget;
+        if (budget != null) {
+            budget.update(count);
+        }
+        float lifeScale = budget != null ? budget.lifeScale() : 1f;
+        int culledEmitters = 0;
+        int culledSpawns = 0;
+        for (int i = 0, n = emitters.size(); i < n; i++) {
+            Emitter emitter = emitters.get(i);
+            if (!emitter.active) continue;
+            float interval = emitter.spawnRate;
+            if (budget != null) {
+                float importance = budget.importance(emitter.importance, emitter.position.x, emitter.position.y,
+                    emitter.config.minRenderSize);
+                emitter.culled = budget.isCulled(importance);
+                if (emitter.culled) culledEmitters++;
+                interval *= budget.spawnIntervalScale(importance);
+            }
+            emitter.timeSinceLastSpawn += deltaTime;
+            if (emitter.timeSinceLastSpawn >= interval) {
+                emitter.timeSinceLastSpawn = 0f;
+                if (emitter.culled || (budget != null && budget.isFull(count))) {
+                    culledSpawns++;
+                } else {
+                    emitStream(emitter, lifeScale);
+                }
+            }
+        }
+        this.culledEmitters = culledEmitters;
+        this.culledSpawns = culledSpawns;
+    }
+
+    // 各块只读写自己区间内的行，可以并行
+    private void integrate(int start, int end, float deltaTime) {
+        float[] x = this.x;
+        float[] y = this.y;
+        float[] vx = this.vx;
+        float[] vy = this.vy;
+        float[] life = this.life;
+        for (int i = start; i < end; i++) {
+            x[i] += vx[i] * deltaTime;
+            y[i] += vy[i] * deltaTime;
+            float remaining = life[i] - deltaTime;
+            life[i] = remaining;
+            if (remaining > 0) {
+                vx[i] *= 0.98f;
+                vy[i] *= 0.98f;
+            }
+        }
+    }
+
+    // 倒序遍历：换到 i 的末尾粒子已经检查过
+    private void removeDead() {
+        float[] life = this.life;
+        for (int i = count - 1; i >= 0; i--) {
+            if (life[i] <= 0) {
+                emitters.get(owner[i]).live--;
+                moveLast(i);
+            }
+        }
+    }
+
+    private void recycle() {
+        for (int i = 0, n = emitters.size(); i < n; i++) {
+            Emitter emitter = emitters.get(i);
+            if (emitter.released && emitter.live == 0 && emitter.config != null) {
+                emitter.config = null;
+                free.add(emitter);
+            }
+        }
+    }
+
+    private void moveLast(int i) {
+        int last = --count;
+        if (i == last) return;
+        x[i] = x[last];
+        y[i] = y[last];
+        vx[i] = vx[last];
+        vy[i] = vy[last];
+        life[i] = life[last];
+        maxLife[i] = maxLife[last];
+        size[i] = size[last];
+        r[i] = r[last];
+        g[i] = g[last];
+        b[i] = b[last];
+        opacity[i] = opacity[last];
+        minSize[i] = minSize[last];
+        owner[i] = owner[last];
+    }
+
+    private void emit(Emitter emitter, float pvx, float pvy, float plife, float psize, float pr, float pg, float pb) {
+        if (count == x.length) {
+            dropped++;
+            return;
+        }
+        int i = count++;
+        x[i] = emitter.position.x;
+        y[i] = emitter.position.y;
+        vx[i] = pvx;
+        vy[i] = pvy;
+        life[i] = plife;
+        maxLife[i] = plife;
+        size[i] = psize;
+        r[i] = pr;
+        g[i] = pg;
+        b[i] = pb;
+        opacity[i] = emitter.config.opacityMultiplier;
+        minSize[i] = emitter.config.minRenderSize;
+        owner[i] = emitter.slot;
+        emitter.live++;
+    }
+
+    private void emitStream(Emitter emitter, float lifeScale) {
+        ParticleSystem.Config config = emitter.config;
+        float angle = (float) (random.nextFloat() * 2.0 * Math.PI);
+        float speed = config.speedMin + random.nextFloat() * (config.speedMax - config.speedMin);
+        float pvx = (float) (Math.cos(angle) * speed);
+        float pvy = (float) (Math.sin(angle) * speed);
+
+        float plife = (config.lifeMin + random.nextFloat() * (config.lifeMax - config.lifeMin)) * lifeScale;
+        float psize = config.sizeMin + random.nextFloat() * (config.sizeMax - config.sizeMin);
+
+        float pr = config.r;
+        float pg = config.g;
+        float pb = config.b;
+
+        if (config.r < 1.0f) {
+            pr = config.r + random.nextFloat() * 0.2f;
+        }
+        if (config.g < 1.0f) {
+            pg = config.g + random.nextFloat() * 0.2f;
+        }
+
+        emit(emitter, pvx, pvy, plife, psize, pr, pg, pb);
+    }
+
+    private void emitBurst(Emitter emitter) {
+        ParticleSystem.Config config = emitter.config;
+        float angle = (float) (random.nextFloat() * 2.0 * Math.PI);
+        float speed = config.burstSpeedMin + random.nextFloat() * (config.burstSpeedMax - config.burstSpeedMin);
+        float pvx = (float) (Math.cos(angle) * speed);
+        float pvy = (float) (Math.sin(angle) * speed);
+
+        float plife = config.burstLifeMin + random.nextFloat() * (config.burstLifeMax - config.burstLifeMin);
+        float psize = config.burstSizeMin + random.nextFloat() * (config.burstSizeMax - config.burstSizeMin);
+
+        float pr = config.burstR;
+        float pg = config.burstGMin + random.nextFloat() * (config.burstGMax - config.burstGMin);
+        float pb = config.burstB;
+
+        emit(emitter, pvx, pvy, plife, psize, pr, pg, pb);
+    }
+
+    public void render() {
+        if (renderer == null) return;
+
+        float maxW = renderer.getWidth() + 50;
+        float maxH = renderer.getHeight() + 50;
+        for (int i = 0; i < count; i++) {
+            float px = x[i];
+            float py = y[i];
+            float a = Math.min(1.0f, Math.max(0.0f, life[i] / maxLife[i])) * opacity[i];
+            if (a > 0.01f && px >= -50 && px <= maxW && py >= -50 && py <= maxH) {
+                float renderSize = Math.max(minSize[i], size[i] * a);
+                try {
+                    renderer.drawRect(
+                        px - renderSize * 0.5f, py - renderSize * 0.5f,
+                        renderSize, renderSize,
+                        Math.min(1.0f, Math.max(0.0f, r[i])),
+                        Math.min(1.0f, Math.max(0.0f, g[i])),
+                        Math.min(1.0f, Math.max(0.0f, b[i])),
+                        a
+                    );
+                } catch (Exception e) {
+                }
+            }
+        }
+    }
+
+    // 清空全部粒子；发射器保留，已 release 的在下次 update 时回收
+    public void clear() {
+        count = 0;
+        for (int i = 0, n = emitters.size(); i < n; i++) {
+            emitters.get(i).live = 0;
+        }
+    }
+
+    public int getParticleCount() {
+        return count;
+    }
+
+    // budget 为 null 时不限制
+    public void setBudget(ParticleBudget budget) {
+        this.budget = budget;
+        if (budget == null) {
+            for (int i = 0, n = emitters.size(); i < n; i++) {
+                emitters.get(i).culled = false;
+            }
+        }
+    }
+
+    public ParticleBudget getBudget() {
+        return budget;
+    }
+
+    // 上一帧因预算停止发射的发射器数
+    public int getCulledEmitterCount() {
+        return culledEmitters;
+    }
+
+    // 上一帧因预算被跳过的持续发射次数（发射器被停止或存活粒子已达上限）
+    public int getCulledSpawnCount() {
+        return culledSpawns;
+    }
+
+    public int getCapacity() {
+        return x.length;
+    }
+
+    // 因缓冲已满而丢弃的粒子总数
+    public int getDroppedCount() {
+        return dropped;
+    }
+
+    // 尚未回收的发射器数（含已 release、粒子还没消失的）
+    public int getEmitterCount() {
+        return emitters.size() - free.size();
+    }
+
+    // 线程由引擎的 JobSystem 统一管理，这里只释放引用
+    public void cleanup() {
+        jobSystem = null;
+    }
+}
@@ -2,80 +2,14 @@ package com.gameengine.core;
 
 import com.gameengine.graphics.IRenderer;
 import com.gameengine.math.Vector2;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Iterator;
-import java.util.Random;
 
+// 独立的单发射器粒子系统：内部持有一个只有一个发射器的 ParticleManager（串行更新）。
+// 场景里有多个发射器时直接使用场景级的 ParticleManager，所有粒子共用一块缓冲
 public class ParticleSystem {
-    private List<Particle> particles;
-    private Random random;
-    private IRenderer renderer;
-    private float spawnRate;
-    private float timeSinceLastSpawn;
-    private Vector2 position;
-    private boolean active;
+    private static final int MIN_CAPACITY = 16;
     
-    private Config config;
-    
-    private static class Particle {
-        private Vector2 position;
-        private Vector2 velocity;
-        private float life;
-        private float maxLife;
-        private float size;
-        private float r, g, b, a;
-        
-        public Particle(Vector2 position, Vector2 velocity, float life, float size, float r, float g, float b) {
-            this.position = new Vector2(position);
-            this.velocity = new Vector2(velocity);
-            this.maxLife = life;
-            this.life = life;
-            this.size = size;
-            this.r = r;
-            this.g = g;
-            this.b = b;
-            this.a = 1.0f;
-        }
-        
-        public void update(float deltaTime) {
-            position = position.add(velocity.multiply(deltaTime));
-            life -= deltaTime;
-            
-            if (life > 0) {
-                a = life / maxLife;
-                velocity = velocity.multiply(0.98f);
-            }
-        }
-        
-        public boolean isAlive() {
-            return life > 0;
-        }
-        
-        public Vector2 getPosition() {
-            return new Vector2(position);
-        }
-        
-        public float getSize() {
-            return size;
-        }
-        
-        public float getR() {
-            return r;
-        }
-        
-        public float getG() {
-            return g;
-        }
-        
-        public float getB() {
-            return b;
-        }
-        
-        public float getA() {
-            return a;
-        }
-    }
+    private final ParticleManager manager;
+    private final ParticleManager.Emitter emitter;
     
     public static class Config {
         public float spawnRate = 0.015f;
@@ -145,135 +79,59 @@ public class ParticleSystem {
     }
     
     public ParticleSystem(IRenderer renderer, Vector2 position, Config config) {
-        this.particles = new ArrayList<>();
-        this.random = new Random();
-        this.renderer = renderer;
-        this.position = new Vector2(position);
-        this.config = config;
-        this.spawnRate = config.spawnRate;
-        this.timeSinceLastSpawn = 0f;
-        this.active = true;
-        
-        for (int i = 0; i < config.initialCount; i++) {
-            spawnParticle();
-        }
+        this(renderer, position, config, estimateCapacity(config));
+    }
+    
+    // capacity 为同时存活的粒子上限；只做一次性 burst 的系统应按 burst 数量指定
+    public ParticleSystem(IRenderer renderer, Vector2 position, Config config, int capacity) {
+        this.manager = new ParticleManager(renderer, capacity, null);
+        this.emitter = manager.createEmitter(position, config);
+    }
+    
+    // 持续发射时的存活上限：初始数量 + 最长寿命内发射的数量
+    private static int estimateCapacity(Config config) {
+        int streamed = config.spawnRate > 0 ? (int) Math.ceil(config.lifeMax / config.spawnRate) + 1 : 0;
+        return Math.max(MIN_CAPACITY, config.initialCount + streamed);
     }
     
     public void setActive(boolean active) {
-        this.active = active;
+        emitter.setActive(active);
     }
     
     public void setPosition(Vector2 position) {
-        if (position != null) {
-            this.position = new Vector2(position);
-        }
+        emitter.setPosition(position);
     }
     
     public void update(float deltaTime) {
-        if (active) {
-            timeSinceLastSpawn += deltaTime;
-            if (timeSinceLastSpawn >= spawnRate) {
-                spawnParticle();
-                timeSinceLastSpawn = 0f;
-            }
-        }
-        
-        Iterator<Particle> iterator = particles.iterator();
-        while (iterator.hasNext()) {
-            Particle particle = iterator.next();
-            particle.update(deltaTime);
-            if (!particle.isAlive()) {
-                iterator.remove();
-            }
-        }
-    }
-    
-    private void spawnParticle() {
-        if (position == null) return;
-        
-        float angle = (float) (random.nextFloat() * 2.0 * Math.PI);
-        float speed = config.speedMin + random.nextFloat() * (config.speedMax - config.speedMin);
-        Vector2 velocity = new Vector2(
-            (float) (Math.cos(angle) * speed),
-            (float) (Math.sin(angle) * speed)
-        );
-        
-        float life = config.lifeMin + random.nextFloat() * (config.lifeMax - config.lifeMin);
-        float size = config.sizeMin + random.nextFloat() * (config.sizeMax - config.sizeMin);
-        
-        float r = config.r;
-        float g = config.g;
-        float b = config.b;
-        
-        if (config.r < 1.0f) {
-            r = config.r + random.nextFloat() * 0.2f;
-        }
-        if (config.g < 1.0f) {
-            g = config.g + random.nextFloat() * 0.2f;
-        }
-        
-        Particle particle = new Particle(new Vector2(position), velocity, life, size, r, g, b);
-        particles.add(particle);
+        manager.update(deltaTime);
     }
     
     public void setSpawnRate(float rate) {
-        this.spawnRate = rate;
+        emitter.setSpawnRate(rate);
     }
     
     public void render() {
-        if (renderer == null) return;
-        
-        for (Particle particle : particles) {
-            Vector2 pos = particle.getPosition();
-            float size = particle.getSize();
-            
-            float r = Math.min(1.0f, Math.max(0.0f, particle.getR()));
-            float g = Math.min(1.0f, Math.max(0.0f, particle.getG()));
-            float b = Math.min(1.0f, Math.max(0.0f, particle.getB()));
-            float a = Math.min(1.0f, Math.max(0.0f, particle.getA())) * config.opacityMultiplier;
-            
-            float maxW = renderer != null ? renderer.getWidth() : 1920;
-            float maxH = renderer != null ? renderer.getHeight() : 1080;
-            if (a > 0.01f && pos.x >= -50 && pos.x <= maxW + 50 && pos.y >= -50 && pos.y <= maxH + 50) {
-                float renderSize = Math.max(config.minRenderSize, size * a);
-                try {
-                    renderer.drawRect(
-                        pos.x - renderSize * 0.5f, pos.y - renderSize * 0.5f, 
-                        renderSize, renderSize,
-                        r, g, b, a
-                    );
-                } catch (Exception e) {
-                }
-            }
-        }
+        manager.render();
     }
     
     public void burst(int count) {
-        for (int i = 0; i < count; i++) {
-            float angle = (float) (random.nextFloat() * 2.0 * Math.PI);
-            float speed = config.burstSpeedMin + random.nextFloat() * (config.burstSpeedMax - config.burstSpeedMin);
-            Vector2 velocity = new Vector2(
-                (float) (Math.cos(angle) * speed),
-                (float) (Math.sin(angle) * speed)
-            );
-            
-            float life = config.burstLifeMin + random.nextFloat() * (config.burstLifeMax - config.burstLifeMin);
-            float size = config.burstSizeMin + random.nextFloat() * (config.burstSizeMax - config.burstSizeMin);
-            
-            float r = config.burstR;
-            float g = config.burstGMin + random.nextFloat() * (config.burstGMax - config.burstGMin);
-            float b = config.burstB;
-            
-            Particle particle = new Particle(new Vector2(position), velocity, life, size, r, g, b);
-            particles.add(particle);
-        }
+        emitter.burst(count);
     }
     
     public int getParticleCount() {
-        return particles.size();
+        return manager.getParticleCount();
+    }
+    
+    public int getCapacity() {
+        return manager.getCapacity();
+    }
+    
+    // 因容量已满而丢弃的粒子总数
+    public int getDroppedCount() {
+        return manager.getDroppedCount();
     }
     
     public void clear() {
-        particles.clear();
+        manager.clear();
     }
 }
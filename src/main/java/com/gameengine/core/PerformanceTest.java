@@ -0,0 +1,634 @@
+package com.gameengine.core;
+
+import com.gameengine.components.ColliderComponent;
+import com.gameengine.components.PhysicsComponent;
+import com.gameengine.components.RenderComponent;
+import com.gameengine.components.TransformComponent;
+import com.gameengine.example.GameScene;
+import com.gameengine.graphics.HeadlessRenderer;
+import com.gameengine.graphics.RenderBackend;
+import com.gameengine.math.Vector2;
+import com.gameengine.scene.Scene;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+// 引擎热点的微基准：java -cp <classes> com.gameengine.core.PerformanceTest [用例名...]，不带参数时运行全部用例。
+// 每个用例先预热再计时，结果累加到 sink 防止被 JIT 消除。
+public class PerformanceTest {
+    private static final int WARMUP_ROUNDS = 50;
+    private static final int MEASURE_ROUNDS = 200;
+    private static long sink;
+
+    // ===== 组件查找：线性扫描 vs 类型 ID 槽位 =====
+    public static void benchmarkComponentLookup() {
+        int objectCount = 10_000;
+        GameObject[] objects = new GameObject[objectCount];
+        for (int i = 0; i < objectCount; i++) {
+            GameObject obj = new GameObject("Bench");
+            obj.addComponent(new TransformComponent(new Vector2(i, i)));
+            obj.addComponent(new PhysicsComponent());
+            obj.addComponent(new RenderComponent());
+            objects[i] = obj;
+        }
+
+        System.out.println("组件查找（" + objectCount + " 个对象，每对象 3 个组件，每轮 3 次查找/对象）");
+        System.out.println("方式            | ns/次");
+        System.out.println("----------------|-------");
+        double scan = measure(() -> {
+            long hits = 0;
+            for (GameObject obj : objects) {
+                if (scanComponent(obj, TransformComponent.class) != null) hits++;
+                if (scanComponent(obj, PhysicsComponent.class) != null) hits++;
+                if (scanComponent(obj, RenderComponent.class) != null) hits++;
+            }
+            return hits;
+        }) / (objectCount * 3.0);
+        double slot = measure(() -> {
+            long hits = 0;
+            for (GameObject obj : objects) {
+                if (obj.getComponent(TransformComponent.class) != null) hits++;
+                if (obj.getComponent(PhysicsComponent.class) != null) hits++;
+                if (obj.getComponent(RenderComponent.class) != null) hits++;
+            }
+            return hits;
+        }) / (objectCount * 3.0);
+        System.out.printf(Locale.ROOT, "线性扫描        | %6.2f%n", scan);
+        System.out.printf(Locale.ROOT, "类型 ID 槽位    | %6.2f%n", slot);
+        System.out.printf(Locale.ROOT, "加速比: %.2fx%n%n", scan / slot);
+    }
+
+    // 旧实现：按添加顺序逐个 isInstance
+    @SuppressWarnings("unchecked")
+    private static <T extends Component<T>> T scanComponent(GameObject obj, Class<T> componentType) {
+        for (Component<?> component : obj.components) {
+            if (componentType.isInstance(component)) {
+                return (T) component;
+            }
+        }
+        return null;
+    }
+
+    // ===== AI 避让：均匀网格的规模扩展 =====
+    // AI 密度固定（与 1920x1080 屏幕上 300 个 AI 相同），区域随数量增大；
+    // 网格版每 AI 耗时应基本不变，旧的全对比较随数量线性增长
+    public static void benchmarkAvoidanceScaling() {
+        int[] counts = {1000, 2000, 4000, 8000, 16000};
+        JobSystem jobs = new JobSystem(0);
+        System.out.println("AI 避让（半径 80 px，密度固定，" + jobs.getWorkerThreads() + " 个工作线程）");
+        System.out.println("AI 数  | 全对比较 ms | 网格 ms | 网格 ns/AI | 网格并行 ms");
+        System.out.println("-------|-------------|---------|------------|------------");
+        try {
+            for (int n : counts) {
+                float[] xs = new float[n];
+                float[] ys = new float[n];
+                Scene scene = createAvoidanceScene(n, xs, ys);
+                GameLogic serial = new GameLogic(scene);
+                GameLogic parallel = new GameLogic(scene, jobs);
+                float dt = 1.0f / 60.0f;
+
+                double brute = n <= 4000 ? measure(() -> bruteForceAvoidance(xs, ys, n)) : Double.NaN;
+                double grid = measure(() -> {
+                    serial.handleAIPlayerAvoidance(dt);
+                    return n;
+                });
+                double gridParallel = measure(() -> {
+                    parallel.handleAIPlayerAvoidance(dt);
+                    return n;
+                });
+                System.out.printf(Locale.ROOT, "%6d | %11s | %7.3f | %10.1f | %10.3f%n",
+                    n, Double.isNaN(brute) ? "-" : String.format(Locale.ROOT, "%.3f", brute / 1e6),
+                    grid / 1e6, grid / n, gridParallel / 1e6);
+            }
+        } finally {
+            jobs.shutdown();
+        }
+        System.out.println("避让结果与线程数无关: " + (checkAvoidanceDeterminism() ? "是" : "否"));
+        System.out.println();
+    }
+
+    // 同一初始场景分别用串行、1 个和 3 个工作线程跑 60 帧避让 + 物理，速度与位置必须逐位相同
+    public static boolean checkAvoidanceDeterminism() {
+        int n = 4000;
+        int[] workers = {-1, 1, 3};
+        float dt = 1.0f / 60.0f;
+        BodyStorage.Archetype reference = null;
+        boolean identical = true;
+        for (int w : workers) {
+            JobSystem jobs = w < 0 ? null : new JobSystem(w);
+            try {
+                Scene scene = createAvoidanceScene(n, new float[n], new float[n]);
+                GameLogic logic = jobs == null ? new GameLogic(scene) : new GameLogic(scene, jobs);
+                PhysicsSystem physics = new PhysicsSystem(scene, 1920, 1080, jobs);
+                for (int frame = 0; frame < 60; frame++) {
+                    logic.handleAIPlayerAvoidance(dt);
+                    physics.update(dt);
+                }
+                BodyStorage.Archetype bodies = scene.getBodyStorage().getArchetype(BodyStorage.TRANSFORM | BodyStorage.PHYSICS);
+                if (reference == null) {
+                    reference = bodies;
+                } else if (countMismatches(reference, bodies) != 0) {
+                    identical = false;
+                }
+            } finally {
+                if (jobs != null) jobs.shutdown();
+            }
+        }
+        return identical;
+    }
+
+    // AI 密度与 1920x1080 屏幕上 300 个 AI 相同，区域随数量增大；初始坐标写入 xs/ys
+    private static Scene createAvoidanceScene(int n, float[] xs, float[] ys) {
+        float side = (float) Math.sqrt(n * (1920f * 1080f / 300f));
+        Scene scene = new Scene("AvoidanceScene");
+        Random random = new Random(7);
+        for (int i = 0; i < n; i++) {
+            xs[i] = random.nextFloat() * side;
+            ys[i] = random.nextFloat() * side;
+            GameObject ai = new GameObject("AIPlayer");
+            ai.addComponent(new TransformComponent(new Vector2(xs[i], ys[i])));
+            ai.addComponent(new PhysicsComponent(0.5f));
+            scene.addGameObject(ai);
+        }
+        scene.update(0f);
+        return scene;
+    }
+
+    // 旧实现的核心循环：每个 AI 与下标更大的全部 AI 比较
+    private static long bruteForceAvoidance(float[] xs, float[] ys, int n) {
+        long hits = 0;
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                float dx = xs[i] - xs[j];
+                float dy = ys[i] - ys[j];
+                float distanceSq = dx * dx + dy * dy;
+                if (distanceSq < 80 * 80 && distanceSq > 0) {
+                    hits++;
+                }
+            }
+        }
+        return hits;
+    }
+
+    // ===== 物理积分：标量 vs SIMD =====
+    // 需以 --add-modules jdk.incubator.vector 运行，否则只有标量结果。
+    // 先测标量再测 SIMD（SIMD 先运行会干扰标量循环的 JIT 画像），计时时关闭休眠以免刚体陆续入睡影响对比；
+    // 最后用新场景各跑 600 步（足够让无重力的刚体入睡）核对结果与休眠状态逐位一致
+    public static void benchmarkPhysicsSimd() {
+        int bodyCount = 100_000;
+        float dt = 1.0f / 60.0f;
+        System.out.println("物理积分（" + bodyCount + " 个刚体，单线程）");
+        if (!PhysicsSystem.isSimdAvailable()) {
+            System.out.println("jdk.incubator.vector 未加载，仅测标量版本");
+        }
+
+        PhysicsSystem scalar = new PhysicsSystem(createPhysicsScene(bodyCount), 1920, 1080);
+        scalar.setSimdEnabled(false);
+        scalar.setSleepThreshold(0, 0);
+        double scalarNs = measure(() -> {
+            scalar.update(dt);
+            return bodyCount;
+        });
+        PhysicsSystem simd = new PhysicsSystem(createPhysicsScene(bodyCount), 1920, 1080);
+        simd.setSleepThreshold(0, 0);
+        double simdNs = measure(() -> {
+            simd.update(dt);
+            return bodyCount;
+        });
+
+        Scene scalarScene = createPhysicsScene(bodyCount);
+        Scene simdScene = createPhysicsScene(bodyCount);
+        PhysicsSystem scalarCheck = new PhysicsSystem(scalarScene, 1920, 1080);
+        PhysicsSystem simdCheck = new PhysicsSystem(simdScene, 1920, 1080);
+        scalarCheck.setSimdEnabled(false);
+        for (int i = 0; i < 600; i++) {
+            scalarCheck.update(dt);
+            simdCheck.update(dt);
+        }
+        int mismatches = countMismatches(
+            scalarScene.getBodyStorage().getArchetype(BodyStorage.TRANSFORM | BodyStorage.PHYSICS),
+            simdScene.getBodyStorage().getArchetype(BodyStorage.TRANSFORM | BodyStorage.PHYSICS));
+        // 入睡后的同一场景再计一次时，休眠刚体只剩一次布尔判断
+        double settledNs = measure(() -> {
+            simdCheck.update(dt);
+            return bodyCount;
+        });
+
+        System.out.println("方式            | ms/帧  | ns/刚体");
+        System.out.println("----------------|--------|--------");
+        System.out.printf(Locale.ROOT, "标量            | %6.3f | %6.2f%n", scalarNs / 1e6, scalarNs / bodyCount);
+        System.out.printf(Locale.ROOT, "SIMD            | %6.3f | %6.2f%n", simdNs / 1e6, simdNs / bodyCount);
+        System.out.printf(Locale.ROOT, "%s+休眠       | %6.3f | %6.2f  (清醒 %d，休眠 %d)%n",
+            simdCheck.isSimdEnabled() ? "SIMD" : "标量", settledNs / 1e6, settledNs / bodyCount,
+            simdCheck.getAwakeCount(), simdCheck.getSleepingCount());
+        System.out.printf(Locale.ROOT, "加速比: %.2fx，结果不一致的刚体: %d%n%n", scalarNs / simdNs, mismatches);
+    }
+
+    private static Scene createPhysicsScene(int bodyCount) {
+        Scene scene = new Scene("PhysicsScene");
+        Random random = new Random(11);
+        for (int i = 0; i < bodyCount; i++) {
+            GameObject body = new GameObject("Body");
+            body.addComponent(new TransformComponent(new Vector2(random.nextFloat() * 1920, random.nextFloat() * 1080)));
+            PhysicsComponent physics = body.addComponent(new PhysicsComponent(0.5f));
+            physics.setVelocity((random.nextFloat() - 0.5f) * 300, (random.nextFloat() - 0.5f) * 300);
+            physics.setFriction(0.98f);
+            physics.setUseGravity(i % 2 == 0);
+            // 少量停用的刚体，覆盖 SIMD 的掩码写回
+            physics.setEnabled(i % 97 != 0);
+            scene.addGameObject(body);
+        }
+        scene.update(0f);
+        return scene;
+    }
+
+    private static int countMismatches(BodyStorage.Archetype a, BodyStorage.Archetype b) {
+        int mismatches = 0;
+        for (int i = 0; i < a.size(); i++) {
+            if (Float.compare(a.posX[i], b.posX[i]) != 0 || Float.compare(a.posY[i], b.posY[i]) != 0
+                || Float.compare(a.velX[i], b.velX[i]) != 0 || Float.compare(a.velY[i], b.velY[i]) != 0
+                || a.awake[i] != b.awake[i] || Float.compare(a.idleTime[i], b.idleTime[i]) != 0) {
+                mismatches++;
+            }
+        }
+        return mismatches;
+    }
+
+    // ===== 粒子：每发射器一个系统 vs 场景级共享缓冲 =====
+    // 300 个 AI 拖尾发射器加上游戏结束时的 180 粒子爆发（消散后重新爆发），每帧更新并渲染；
+    // 两种方式的粒子数与随机分布相同，比较每帧耗时、每个存活粒子的耗时与每帧分配的字节数
+    public static void benchmarkParticles() {
+        int emitters = 300;
+        HeadlessRenderer renderer = new HeadlessRenderer(1920, 1080, "particles");
+        ParticleSystem.Config burstConfig = new ParticleSystem.Config();
+        burstConfig.initialCount = 0;
+        burstConfig.spawnRate = 9999f;
+        float dt = 1.0f / 60.0f;
+
+        Random random = new Random(42);
+        List<ParticleSystem> systems = new ArrayList<>();
+        for (int i = 0; i < emitters; i++) {
+            Vector2 position = new Vector2(random.nextFloat() * 1920, random.nextFloat() * 1080);
+            systems.add(new ParticleSystem(renderer, position, ParticleSystem.Config.light()));
+        }
+        ParticleSystem burst = new ParticleSystem(renderer, new Vector2(960, 540), burstConfig, 180);
+        systems.add(burst);
+        Workload perSystem = () -> {
+            if (burst.getParticleCount() == 0) {
+                burst.burst(180);
+            }
+            renderer.beginFrame();
+            long particles = 0;
+            for (int i = 0; i < systems.size(); i++) {
+                ParticleSystem ps = systems.get(i);
+                ps.update(dt);
+                ps.render();
+                particles += ps.getParticleCount();
+            }
+            renderer.endFrame();
+            return particles;
+        };
+
+        random = new Random(42);
+        ParticleManager manager = new ParticleManager(renderer, 16384, null);
+        for (int i = 0; i < emitters; i++) {
+            Vector2 position = new Vector2(random.nextFloat() * 1920, random.nextFloat() * 1080);
+            manager.createEmitter(position, ParticleSystem.Config.light());
+        }
+        Vector2 center = new Vector2(960, 540);
+        ParticleManager.Emitter[] explosion = new ParticleManager.Emitter[1];
+        Workload shared = () -> {
+            // 爆发发射器 release 后由管理器回收，粒子消散后重新申请
+            if (explosion[0] == null || explosion[0].getParticleCount() == 0) {
+                if (explosion[0] != null) explosion[0].release();
+                explosion[0] = manager.createEmitter(center, burstConfig);
+                explosion[0].setActive(false);
+                explosion[0].burst(180);
+            }
+            renderer.beginFrame();
+            manager.update(dt);
+            manager.render();
+            renderer.endFrame();
+            return manager.getParticleCount();
+        };
+
+        System.out.println("粒子（" + emitters + " 个拖尾发射器 + 180 粒子爆发）");
+        System.out.println("方式            | 存活粒子 | ms/帧  | ns/粒子 | 字节/帧");
+        System.out.println("----------------|----------|--------|---------|--------");
+        printParticleRow("每发射器一个系统", perSystem);
+        printParticleRow("共享缓冲+句柄   ", shared);
+        System.out.println();
+    }
+
+    private static void printParticleRow(String name, Workload frame) {
+        double nanos = measure(frame);
+        long particles = frame.run();
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long perFrame = -1;
+        if (threads.isThreadAllocatedMemorySupported()) {
+            threads.setThreadAllocatedMemoryEnabled(true);
+            long threadId = Thread.currentThread().getId();
+            long before = threads.getThreadAllocatedBytes(threadId);
+            for (int i = 0; i < MEASURE_ROUNDS; i++) {
+                sink += frame.run();
+            }
+            perFrame = (threads.getThreadAllocatedBytes(threadId) - before) / MEASURE_ROUNDS;
+        }
+        System.out.printf(Locale.ROOT, "%s | %8d | %6.3f | %7.1f | %6d%n",
+            name, particles, nanos / 1e6, nanos / Math.max(1, particles), perFrame);
+    }
+
+    // ===== 粒子预算：发射器数量增长时存活粒子数受控 =====
+    // 玩家拖尾位于屏幕中心，AI 拖尾发射器散布在屏幕内外（约 2/5 在屏幕外）。先模拟 30 秒，再释放到只剩 30 个 AI 发射器，继续 15 秒；
+    // 不设预算时粒子数随发射器数线性增长。设预算后粒子数不超过上限、稳定后也不远低于上限，等级切换次数有限（滞回生效），
+    // 发射器减少后回到完整细节
+    public static boolean checkParticleBudget() {
+        int[] counts = {30, 120, 400, 1000};
+        int maxParticles = 1500;
+        boolean pass = true;
+        System.out.println("粒子预算（1 个玩家拖尾 + N 个 AI 拖尾，预算 " + maxParticles + "；30 秒后只保留 30 个 AI 发射器）");
+        System.out.println("使用量下限：20~30 秒的平均粒子数不低于 min(预算的 60%, 不限时平均值的 90%)");
+        System.out.println("N    | 不限时最大/平均 | 预算下最大/平均 | 30 秒时等级/停发发射器 | 末帧等级 | 等级切换次数");
+        System.out.println("-----|-----------------|-----------------|------------------------|----------|-------------");
+        for (int emitters : counts) {
+            int[] unlimited = runParticleBudget(emitters, null);
+            int[] limited = runParticleBudget(emitters, new ParticleBudget(maxParticles));
+            int lowerBound = (int) Math.min(maxParticles * 0.6f, unlimited[5] * 0.9f);
+            boolean ok = limited[0] <= maxParticles && limited[5] >= lowerBound
+                && limited[3] == ParticleBudget.LEVEL_FULL && limited[4] <= 4;
+            pass &= ok;
+            System.out.printf(Locale.ROOT, "%-4d | %7d / %-5d | %7d / %-5d | %14d / %-7d | %8d | %12d%s%n",
+                emitters, unlimited[0], unlimited[5], limited[0], limited[5], limited[1], limited[2], limited[3], limited[4],
+                ok ? "" : "  <- 失败");
+        }
+        System.out.println("-> " + (pass ? "通过" : "失败") + "\n");
+        return pass;
+    }
+
+    // 返回 {前 30 秒中 5 秒后的最大粒子数, 30 秒时的等级, 30 秒时停发的发射器数, 末帧等级, 等级切换次数, 20~30 秒的平均粒子数}
+    private static int[] runParticleBudget(int emitters, ParticleBudget budget) {
+        int width = 1920;
+        int height = 1080;
+        ParticleManager manager = new ParticleManager(null, 16384, null);
+        manager.setBudget(budget);
+        if (budget != null) {
+            budget.setView(0, 0, width, height);
+            budget.setFocus(width * 0.5f, height * 0.5f);
+        }
+        manager.createEmitter(new Vector2(width * 0.5f, height * 0.5f), ParticleSystem.Config.defaultPlayer());
+        Random random = new Random(42);
+        List<ParticleManager.Emitter> trails = new ArrayList<>();
+        for (int i = 0; i < emitters; i++) {
+            Vector2 position = new Vector2((random.nextFloat() * 1.3f - 0.15f) * width, (random.nextFloat() * 1.3f - 0.15f) * height);
+            trails.add(manager.createEmitter(position, ParticleSystem.Config.light()));
+        }
+        float dt = 1.0f / 60.0f;
+        int[] result = new int[6];
+        long settledTotal = 0;
+        int level = 0;
+        for (int frame = 0; frame < 45 * 60; frame++) {
+            if (frame == 30 * 60) {
+                result[1] = level;
+                result[2] = manager.getCulledEmitterCount();
+                for (int i = 30; i < trails.size(); i++) {
+                    trails.get(i).release();
+                }
+            }
+            manager.update(dt);
+            if (frame >= 5 * 60 && frame < 30 * 60) {
+                result[0] = Math.max(result[0], manager.getParticleCount());
+            }
+            if (frame >= 20 * 60 && frame < 30 * 60) {
+                settledTotal += manager.getParticleCount();
+            }
+            int current = budget != null ? budget.getLevel() : 0;
+            if (current != level) {
+                result[4]++;
+                level = current;
+            }
+        }
+        result[3] = level;
+        result[5] = (int) (settledTotal / (10 * 60));
+        return result;
+    }
+
+    // ===== 稳态帧分配预算 =====
+    // HEADLESS 引擎 + 极速模式驱动真实的 GameScene（玩家无敌，系统调度器与共享 JobSystem 都在），
+    // 先按每帧一个的速度生成 AI 到固定数量后停止生成，预热后统计每帧分配的字节数。
+    // 统计覆盖进程内全部线程（调用线程跑引擎帧，其余主要是任务池工作线程）。
+    // parallelFor 每次调用都会新建 fork/join 任务树（约 参与线程数*4 个叶子），这部分随线程数增长，
+    // 所以工作线程数固定，预算在同一并行宽度下比较
+    public static final long FRAME_ALLOCATION_BUDGET_BYTES = 1024;
+    private static final int ALLOCATION_WORKERS = 3;
+    private static final int ALLOCATION_WINDOWS = 8;
+
+    public static boolean checkFrameAllocation() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        if (!threads.isThreadAllocatedMemorySupported()) {
+            System.out.println("当前 JVM 不支持线程分配统计，跳过");
+            return true;
+        }
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        int aiCount = 300;
+        int frames = 600;
+        // 测的是 SIMD 积分核的稳态：先同步预热（已预热时立即返回），引擎启动时就不再走后台预热
+        PhysicsSystem.warmUpSimd();
+        GameEngine engine = new GameEngine(1920, 1080, "alloc", RenderBackend.HEADLESS, ALLOCATION_WORKERS);
+        try {
+            engine.setMaxSpeed(true);
+            GameScene scene = new GameScene(engine);
+            scene.setInvulnerable(true);
+            scene.setAISpawnInterval(1.0f / 60.0f);
+            engine.setScene(scene);
+            while (scene.getGameLogic() == null || scene.getGameLogic().getAIPlayers().size() < aiCount) {
+                if (!engine.runFrames(1)) {
+                    System.out.println("引擎提前停止 -> 失败\n");
+                    return false;
+                }
+            }
+            scene.setAISpawnInterval(0);
+            engine.runFrames(600);
+
+            // 取若干个窗口中分配最少的一个：JIT 重编译期间（前面的用例留下了别的分支概况）帧代码暂时分配，
+            // 只落在个别窗口里；每帧真实的分配在每个窗口都会出现
+            long simThread = Thread.currentThread().getId();
+            long simBytes = Long.MAX_VALUE;
+            long workerBytes = 0;
+            int windows = 0;
+            while (windows < ALLOCATION_WINDOWS && (simBytes + workerBytes) / frames > FRAME_ALLOCATION_BUDGET_BYTES) {
+                windows++;
+                long[] ids = threads.getAllThreadIds();
+                long[] before = threads.getThreadAllocatedBytes(ids);
+                engine.runFrames(frames);
+                long[] after = threads.getThreadAllocatedBytes(ids);
+                long sim = 0;
+                long workers = 0;
+                for (int i = 0; i < ids.length; i++) {
+                    // 窗口内退出的线程返回 -1，不计入
+                    if (before[i] < 0 || after[i] < 0) continue;
+                    if (ids[i] == simThread) {
+                        sim += after[i] - before[i];
+                    } else {
+                        workers += after[i] - before[i];
+                    }
+                }
+                if (sim + workers < simBytes + workerBytes) {
+                    simBytes = sim;
+                    workerBytes = workers;
+                }
+            }
+            long perFrame = (simBytes + workerBytes) / frames;
+            boolean pass = perFrame <= FRAME_ALLOCATION_BUDGET_BYTES && !scene.getGameLogic().isGameOver();
+            System.out.println("GameScene 稳态帧分配（" + scene.getGameLogic().getAIPlayers().size() + " 个 AI，" + windows
+                + " 个窗口中最少的一个，每个 " + frames + " 帧，" + engine.getJobSystem().getWorkerThreads() + " 个工作线程，积分核: "
+                + (PhysicsSystem.isSimdAvailable() ? "SIMD" : "标量") + "）");
+            System.out.printf(Locale.ROOT, "每帧分配: %d 字节（引擎线程 %d，其他线程 %d；预算 %d 字节） -> %s%n%n",
+                perFrame, simBytes / frames, workerBytes / frames, FRAME_ALLOCATION_BUDGET_BYTES, pass ? "通过" : "超出预算");
+            return pass;
+        } finally {
+            engine.cleanup();
+        }
+    }
+
+    // ===== 子步：高速刚体穿透 =====
+    // 64 颗 2400 px/s 的子弹射向一列静止目标，帧长 50 ms（一帧位移 120 px，远大于子弹与目标的半径和 15 px）；
+    // 关闭子步时检测只看帧末位置，子弹会穿过目标，开启后应全部命中
+    public static boolean checkSubstepTunneling() {
+        int bullets = 64;
+        PhysicsSystem[] physicsOut = new PhysicsSystem[1];
+        int plainHits = countBulletHits(bullets, false, physicsOut);
+        int substepHits = countBulletHits(bullets, true, physicsOut);
+        PhysicsSystem physics = physicsOut[0];
+        boolean pass = substepHits == bullets;
+        System.out.println("高速刚体穿透（" + bullets + " 颗子弹，帧长 50 ms）");
+        System.out.printf(Locale.ROOT, "不拆子步命中: %d，自适应子步命中: %d（末帧拆分 %d 个刚体，共 %d 子步，%d 个达到上限 %d） -> %s%n%n",
+            plainHits, substepHits, physics.getSubsteppedCount(), physics.getSubstepTotal(),
+            physics.getSubstepCappedCount(), physics.getMaxSubsteps(), pass ? "通过" : "失败");
+        return pass;
+    }
+
+    // physicsOut[0] 返回所用的物理系统，供读取子步统计
+    private static int countBulletHits(int bullets, boolean substepping, PhysicsSystem[] physicsOut) {
+        Scene scene = new Scene("TunnelingScene");
+        for (int i = 0; i < bullets; i++) {
+            float y = 40 + i * 15;
+            GameObject target = new GameObject("Target");
+            target.addComponent(new TransformComponent(new Vector2(1000, y)));
+            target.addComponent(new ColliderComponent(10, GameLogic.LAYER_AI, GameLogic.LAYER_PLAYER));
+            scene.addGameObject(target);
+
+            GameObject bullet = new GameObject("Bullet");
+            bullet.addComponent(new TransformComponent(new Vector2(100, y)));
+            PhysicsComponent physics = bullet.addComponent(new PhysicsComponent(1f));
+            physics.setFriction(1f);
+            physics.setVelocity(2400, 0);
+            bullet.addComponent(new ColliderComponent(5, GameLogic.LAYER_PLAYER, GameLogic.LAYER_AI));
+            scene.addGameObject(bullet);
+        }
+        scene.update(0f);
+        PhysicsSystem physics = new PhysicsSystem(scene, 1920, 1080);
+        if (!substepping) {
+            physics.setSubstepping(0, 1);
+        }
+        CollisionSystem collisions = new CollisionSystem(scene);
+        java.util.Set<GameObject> hit = java.util.Collections.newSetFromMap(new java.util.IdentityHashMap<>());
+        collisions.addListener(GameLogic.LAYER_PLAYER, GameLogic.LAYER_AI, contacts -> {
+            for (int c = 0; c < contacts.size(); c++) {
+                hit.add(contacts.getA(c));
+            }
+        });
+        float dt = 0.05f;
+        for (int frame = 0; frame < 10; frame++) {
+            physics.update(dt);
+            collisions.update();
+        }
+        physicsOut[0] = physics;
+        return hit.size();
+    }
+
+    // ===== 系统依赖图 =====
+    // GameScene 注册的系统按读写声明建图后，至少要有一层包含两个以上系统，否则调度器只是一条串行链
+    public static boolean checkSystemGraph() {
+        GameEngine engine = new GameEngine(1920, 1080, "systems", RenderBackend.HEADLESS);
+        try {
+            GameScene scene = new GameScene(engine);
+            scene.initialize();
+            SystemScheduler systems = scene.getSystemScheduler();
+            int width = systems.getMaxParallelism();
+            boolean pass = width >= 2;
+            System.out.println("GameScene 系统依赖图（" + systems.getSystems().size() + " 个系统）");
+            System.out.println("最宽一层可并行的系统数: " + width + " -> " + (pass ? "通过" : "退化为串行链"));
+            System.out.println();
+            scene.clear();
+            return pass;
+        } finally {
+            engine.cleanup();
+        }
+    }
+
+    private interface Workload {
+        long run();
+    }
+
+    // 返回单轮平均耗时（纳秒）
+    private static double measure(Workload workload) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            sink += workload.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURE_ROUNDS; i++) {
+            sink += workload.run();
+        }
+        return (System.nanoTime() - start) / (double) MEASURE_ROUNDS;
+    }
+
+    public static void main(String[] args) {
+        boolean all = args.length == 0;
+        System.out.println("===== 引擎微基准 =====\n");
+        boolean pass = true;
+        if (all || contains(args, "alloc")) {
+            // 与引擎相同：积分核先预热再使用。若先被 simd 等用例冷启动执行，C2 按那时的分支概况编译，
+            // 之后去优化重编译的版本可能无法消除向量对象，alloc 用例就测不到引擎的稳态
+            PhysicsSystem.warmUpSimd();
+        }
+        if (all || contains(args, "lookup")) {
+            benchmarkComponentLookup();
+        }
+        if (all || contains(args, "grid")) {
+            benchmarkAvoidanceScaling();
+        }
+        if (all || contains(args, "simd")) {
+            benchmarkPhysicsSimd();
+        }
+        if (all || contains(args, "particles")) {
+            benchmarkParticles();
+        }
+        if (all || contains(args, "budget")) {
+            pass &= checkParticleBudget();
+        }
+        if (all || contains(args, "substep")) {
+            pass &= checkSubstepTunneling();
+        }
+        if (all || contains(args, "systems")) {
+            pass &= checkSystemGraph();
+        }
+        if (all || contains(args, "alloc")) {
+            pass &= checkFrameAllocation();
+        }
+        System.out.println("(sink=" + sink + ")");
+        if (!pass) {
+            System.exit(1);
+        }
+    }
+
+    private static boolean contains(String[] args, String name) {
+        for (String arg : args) {
+            if (arg.equalsIgnoreCase(name)) return true;
+        }
+        return false;
+    }
+}
@@ -1,145 +1,344 @@
 package com.gameengine.core;
 
-import com.gameengine.components.TransformComponent;
 import com.gameengine.components.PhysicsComponent;
-import com.gameengine.math.Vector2;
 import com.gameengine.scene.Scene;
 
-import java.util.List;
-import java.util.ArrayList;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
-import java.util.concurrent.TimeUnit;
+import java.util.Arrays;
 
 public class PhysicsSystem {
+    private static final float MIN_SPEED = 1e-6f;
+    // 默认休眠阈值：速度低于 2 像素/秒且不受加速度作用持续 0.5 秒后入睡
+    private static final float DEFAULT_SLEEP_SPEED = 2.0f;
+    private static final float DEFAULT_SLEEP_DELAY = 0.5f;
+    // 默认子步：一步位移超过碰撞体最小半尺寸的一半时拆分，最多 8 个子步
+    private static final float DEFAULT_SUBSTEP_FRACTION = 0.5f;
+    private static final int DEFAULT_MAX_SUBSTEPS = 8;
+    // 编译了 src/main/vector 且运行时带 --add-modules jdk.incubator.vector 时使用 SIMD 积分核，
+    // 否则（或 -Dgameengine.simd=false）走标量版本。两者结果逐位相同，可以随时切换
+    private static final SimdKernel SIMD_KERNEL = loadSimdKernel();
+    // 积分核在 C2 编译前会分配向量对象；请求了后台预热时，预热完成前所有实例暂用标量版本
+    private static volatile boolean simdReady = true;
+    private static boolean simdWarmUpStarted;
+    
     private Scene scene;
-    private ExecutorService physicsExecutor;
+    private JobSystem jobSystem;
     private int screenWidth;
     private int screenHeight;
+    private boolean simdEnabled = SIMD_KERNEL != null;
+    private float sleepSpeedSq = DEFAULT_SLEEP_SPEED * DEFAULT_SLEEP_SPEED;
+    private float sleepDelay = DEFAULT_SLEEP_DELAY;
+    private float substepFraction = DEFAULT_SUBSTEP_FRACTION;
+    private int maxSubsteps = DEFAULT_MAX_SUBSTEPS;
+    // 上一帧结束时的统计，供剖析器读取
+    private int awakeCount;
+    private int sleepingCount;
+    private int substeppedCount;
+    private int substepTotal;
+    private int substepCappedCount;
     
     public PhysicsSystem(Scene scene) {
         this(scene, 1920, 1080);
     }
     
     public PhysicsSystem(Scene scene, int screenWidth, int screenHeight) {
+        this(scene, screenWidth, screenHeight, null);
+    }
+    
+    // jobSystem 为 null 时串行执行
+    public PhysicsSystem(Scene scene, int screenWidth, int screenHeight, JobSystem jobSystem) {
         this.scene = scene;
         this.screenWidth = screenWidth;
         this.screenHeight = screenHeight;
-        int threadCount = Math.max(2, Runtime.getRuntime().availableProcessors() - 1);
-        this.physicsExecutor = Executors.newFixedThreadPool(threadCount);
+        this.jobSystem = jobSystem;
     }
     
     public void update(float deltaTime) {
-        List<PhysicsComponent> physicsComponents = scene.getComponents(PhysicsComponent.class);
-        if (physicsComponents.isEmpty()) return;
-        
-        int threadCount = Runtime.getRuntime().availableProcessors() - 1;
-        threadCount = Math.max(2, threadCount);
-        int batchSize = Math.max(1, physicsComponents.size() / threadCount + 1);
-        
-        List<Future<?>> futures = new ArrayList<>();
-        
-        for (int i = 0; i < physicsComponents.size(); i += batchSize) {
-            final int start = i;
-            final int end = Math.min(i + batchSize, physicsComponents.size());
-            
-            Future<?> future = physicsExecutor.submit(() -> {
-                for (int j = start; j < end; j++) {
-                    PhysicsComponent physics = physicsComponents.get(j);
-                    if (physics.isEnabled()) {
-                        updatePhysics(physics, deltaTime);
-                        handleBoundary(physics);
-                    }
-                }
-            });
-            
-            futures.add(future);
+        BodyStorage.Archetype bodies = scene.getBodyStorage().getArchetype(BodyStorage.TRANSFORM | BodyStorage.PHYSICS);
+        int count = bodies.size();
+        if (count == 0) {
+            awakeCount = 0;
+            sleepingCount = 0;
+            substeppedCount = 0;
+            substepTotal = 0;
+            substepCappedCount = 0;
+            return;
         }
         
-        for (Future<?> future : futures) {
-            try {
-                future.get();
-            } catch (Exception e) {
-                e.printStackTrace();
+        if (jobSystem == null) {
+            integrate(bodies, 0, count, deltaTime);
+        } else {
+            jobSystem.parallelFor(0, count, 256, (start, end) -> integrate(bodies, start, end, deltaTime));
+        }
+        countBodies(bodies, count);
+    }
+    
+    private void countBodies(BodyStorage.Archetype bodies, int count) {
+        boolean[] simulated = bodies.simulated;
+        boolean[] awake = bodies.awake;
+        int[] substeps = bodies.substeps;
+        int awakeBodies = 0;
+        int sleepingBodies = 0;
+        int substepped = 0;
+        int total = 0;
+        int capped = 0;
+        for (int i = 0; i < count; i++) {
+            int steps = substeps[i];
+            if (steps > 1) {
+                substepped++;
+                total += steps;
+                if (steps == maxSubsteps) capped++;
+            }
+            if (!simulated[i]) continue;
+            if (awake[i]) {
+                awakeBodies++;
+            } else {
+                sleepingBodies++;
             }
         }
+        awakeCount = awakeBodies;
+        sleepingCount = sleepingBodies;
+        substeppedCount = substepped;
+        substepTotal = total;
+        substepCappedCount = capped;
     }
     
-    private void updatePhysics(PhysicsComponent physics, float deltaTime) {
-        GameObject owner = physics.getOwner();
-        if (owner == null) return;
-        
-        TransformComponent transform = owner.getComponent(TransformComponent.class);
-        if (transform == null) return;
-        
-        Vector2 acceleration = physics.getAcceleration();
-        
-        if (physics.isUseGravity()) {
-            acceleration = acceleration.add(physics.getGravity());
-            physics.setAcceleration(acceleration);
+    private void integrate(BodyStorage.Archetype bodies, int start, int end, float deltaTime) {
+        // 本步没有拆分的刚体子步数记为 1，下面只有需要拆分的刚体会改写
+        Arrays.fill(bodies.substeps, start, end, 1);
+        int i = start;
+        if (simdEnabled && simdReady) {
+            SimdKernel kernel = SIMD_KERNEL;
+            float maxX = screenWidth - 15;
+            float maxY = screenHeight - 15;
+            int lanes = kernel.lanes();
+            for (; i + lanes <= end; i += lanes) {
+                // 组内有需要子步或本步入睡的刚体时交给标量版本
+                if (!kernel.integrate(bodies, i, deltaTime, MIN_SPEED, maxX, maxY, sleepSpeedSq, sleepDelay, substepFraction)) {
+                    integrateScalar(bodies, i, i + lanes, deltaTime);
+                }
+            }
         }
-        
-        Vector2 velocity = physics.getVelocity();
-        velocity = velocity.add(acceleration.multiply(deltaTime));
-        velocity = velocity.multiply(physics.getFriction());
-        physics.setVelocity(velocity);
-        
-        Vector2 deltaPosition = velocity.multiply(deltaTime);
-        transform.translate(deltaPosition);
-        
-        physics.setAcceleration(new Vector2());
+        // 标量版本，或 SIMD 之后不足一组的尾部
+        integrateScalar(bodies, i, end, deltaTime);
     }
     
-    private void handleBoundary(PhysicsComponent physics) {
-        GameObject owner = physics.getOwner();
-        if (owner == null) return;
-        
-        TransformComponent transform = owner.getComponent(TransformComponent.class);
-        if (transform == null) return;
-        
-        Vector2 pos = transform.getPosition();
-        Vector2 velocity = physics.getVelocity();
-        
-        boolean velocityChanged = false;
-        float velX = velocity.x;
-        float velY = velocity.y;
-        float posX = pos.x;
-        float posY = pos.y;
+    // 按行顺序流式遍历各列，不经过组件对象、也不分配临时向量
+    private void integrateScalar(BodyStorage.Archetype bodies, int start, int end, float deltaTime) {
+        float[] posX = bodies.posX;
+        float[] posY = bodies.posY;
+        float[] velX = bodies.velX;
+        float[] velY = bodies.velY;
+        float[] accX = bodies.accX;
+        float[] accY = bodies.accY;
+        float[] friction = bodies.friction;
+        boolean[] useGravity = bodies.useGravity;
+        boolean[] simulated = bodies.simulated;
+        boolean[] awake = bodies.awake;
+        float[] idleTime = bodies.idleTime;
+        float[] extent = bodies.extent;
+        float maxX = screenWidth - 15;
+        float maxY = screenHeight - 15;
         
-        if (posX <= 0 || posX >= screenWidth - 15) {
-            velX = -velX;
-            velocityChanged = true;
+        for (int i = start; i < end; i++) {
+            if (!simulated[i] || !awake[i]) continue;
+            
+            float ax = accX[i];
+            float ay = accY[i];
+            if (useGravity[i]) {
+                ax += bodies.gravX[i];
+                ay += bodies.gravY[i];
+            }
+            float vx = (velX[i] + ax * deltaTime) * friction[i];
+            float vy = (velY[i] + ay * deltaTime) * friction[i];
+            // 摩擦持续衰减会让速度落入非规格化浮点数区间，运算会慢上一个数量级，直接归零
+            if (Math.abs(vx) < MIN_SPEED) vx = 0;
+            if (Math.abs(vy) < MIN_SPEED) vy = 0;
+            
+            // 一步位移超过碰撞尺寸的一定比例时拆成子步
+            float limit = extent[i] * substepFraction;
+            float displacementSq = (vx * vx + vy * vy) * deltaTime * deltaTime;
+            if (limit > 0 && displacementSq > limit * limit) {
+                integrateSubstepped(bodies, i, ax, ay, (float) Math.sqrt(displacementSq) / limit, deltaTime, maxX, maxY);
+                continue;
+            }
+            
+            float px = posX[i] + vx * deltaTime;
+            float py = posY[i] + vy * deltaTime;
+            accX[i] = 0;
+            accY[i] = 0;
+            
+            // 边界反弹
+            if (px <= 0 || px >= maxX) vx = -vx;
+            if (py <= 0 || py >= maxY) vy = -vy;
+            if (px < 0) px = 0;
+            if (py < 0) py = 0;
+            if (px > maxX) px = maxX;
+            if (py > maxY) py = maxY;
+            
+            // 休眠判定：没有加速度且速度持续低于阈值，计时满 sleepDelay 后速度清零并入睡
+            boolean calm = ax == 0 && ay == 0 && vx * vx + vy * vy < sleepSpeedSq;
+            float idle = calm ? idleTime[i] + deltaTime : 0;
+            if (calm && idle >= sleepDelay) {
+                vx = 0;
+                vy = 0;
+                awake[i] = false;
+            }
+            idleTime[i] = idle;
+            
+            posX[i] = px;
+            posY[i] = py;
+            velX[i] = vx;
+            velY[i] = vy;
         }
-        if (posY <= 0 || posY >= screenHeight - 15) {
-            velY = -velY;
-            velocityChanged = true;
+    }
+    
+    // 把本步拆成 ceil(ratio) 个子步（不超过 maxSubsteps）；摩擦按子步数开方，整步的衰减与不拆分时相同。
+    // 快速运动的刚体不会入睡，轨迹记录到 sweep 列供碰撞检测使用
+    private void integrateSubstepped(BodyStorage.Archetype bodies, int i, float ax, float ay, float ratio,
+                                     float deltaTime, float maxX, float maxY) {
+        int steps = (int) Math.min(maxSubsteps, Math.ceil(ratio));
+        float h = deltaTime / steps;
+        float friction = (float) Math.pow(bodies.friction[i], 1.0 / steps);
+        float px = bodies.posX[i];
+        float py = bodies.posY[i];
+        float vx = bodies.velX[i];
+        float vy = bodies.velY[i];
+        bodies.sweepX0[i] = px;
+        bodies.sweepY0[i] = py;
+        for (int s = 0; s < steps; s++) {
+            vx = (vx + ax * h) * friction;
+            vy = (vy + ay * h) * friction;
+            px += vx * h;
+            py += vy * h;
+            if (px <= 0 || px >= maxX) vx = -vx;
+            if (py <= 0 || py >= maxY) vy = -vy;
+            if (px < 0) px = 0;
+            if (py < 0) py = 0;
+            if (px > maxX) px = maxX;
+            if (py > maxY) py = maxY;
         }
-        
-        if (posX < 0) posX = 0;
-        if (posY < 0) posY = 0;
-        if (posX > screenWidth - 15) posX = screenWidth - 15;
-        if (posY > screenHeight - 15) posY = screenHeight - 15;
-        
-        transform.setPosition(new Vector2(posX, posY));
-        
-        if (velocityChanged) {
-            physics.setVelocity(new Vector2(velX, velY));
+        bodies.posX[i] = px;
+        bodies.posY[i] = py;
+        bodies.velX[i] = vx;
+        bodies.velY[i] = vy;
+        bodies.accX[i] = 0;
+        bodies.accY[i] = 0;
+        bodies.idleTime[i] = 0;
+        bodies.substeps[i] = steps;
+        bodies.sweepX1[i] = px;
+        bodies.sweepY1[i] = py;
+    }
+    
+    // fraction 为单个子步允许的位移占碰撞体最小半尺寸的比例，maxSubsteps 为每个刚体每步的子步上限
+    public void setSubstepping(float fraction, int maxSubsteps) {
+        this.substepFraction = Math.max(0, fraction);
+        this.maxSubsteps = Math.max(1, maxSubsteps);
+    }
+    
+    public float getSubstepFraction() {
+        return substepFraction;
+    }
+    
+    public int getMaxSubsteps() {
+        return maxSubsteps;
+    }
+    
+    // 上一步拆分了子步的刚体数
+    public int getSubsteppedCount() {
+        return substeppedCount;
+    }
+    
+    // 上一步这些刚体的子步总数
+    public int getSubstepTotal() {
+        return substepTotal;
+    }
+    
+    // 上一步子步数达到上限的刚体数，这些刚体的精度仍然不足
+    public int getSubstepCappedCount() {
+        return substepCappedCount;
+    }
+    
+    // speed 为速度阈值（像素/秒），delay 为入睡前需持续静止的秒数；speed 为 0 时不再有刚体入睡
+    public void setSleepThreshold(float speed, float delay) {
+        this.sleepSpeedSq = speed * speed;
+        this.sleepDelay = Math.max(0, delay);
+    }
+    
+    public float getSleepSpeed() {
+        return (float) Math.sqrt(sleepSpeedSq);
+    }
+    
+    public float getSleepDelay() {
+        return sleepDelay;
+    }
+    
+    public int getAwakeCount() {
+        return awakeCount;
+    }
+    
+    public int getSleepingCount() {
+        return sleepingCount;
+    }
+    
+    public boolean isSimdEnabled() {
+        return simdEnabled;
+    }
+    
+    // 积分核不可用时忽略开启请求
+    public void setSimdEnabled(boolean enabled) {
+        this.simdEnabled = enabled && SIMD_KERNEL != null;
+    }
+    
+    // 在当前线程上同步预热积分核（约 0.7~1 秒），之后的积分不再分配；积分核不可用或已预热时立即返回
+    public static void warmUpSimd() {
+        if (SIMD_KERNEL == null) return;
+        synchronized (PhysicsSystem.class) {
+            simdWarmUpStarted = true;
         }
+        SIMD_KERNEL.warmUp();
+        simdReady = true;
     }
     
-    public void cleanup() {
-        if (physicsExecutor != null && !physicsExecutor.isShutdown()) {
-            physicsExecutor.shutdown();
+    // 在后台线程上预热积分核，调用方不等待；预热完成前所有实例用标量版本积分
+    public static synchronized void warmUpSimdInBackground() {
+        if (SIMD_KERNEL == null || simdWarmUpStarted) return;
+        simdWarmUpStarted = true;
+        simdReady = false;
+        Thread thread = new Thread(() -> {
             try {
-                if (!physicsExecutor.awaitTermination(1, TimeUnit.SECONDS)) {
-                    physicsExecutor.shutdownNow();
-                }
-            } catch (InterruptedException e) {
-                physicsExecutor.shutdownNow();
-                Thread.currentThread().interrupt();
+                SIMD_KERNEL.warmUp();
+            } finally {
+                simdReady = true;
             }
+        }, "simd-warmup");
+        thread.setDaemon(true);
+        thread.start();
+    }
+    
+    public static boolean isSimdAvailable() {
+        return SIMD_KERNEL != null;
+    }
+    
+    private static SimdKernel loadSimdKernel() {
+        if (!Boolean.parseBoolean(System.getProperty("gameengine.simd", "true"))) {
+            return null;
+        }
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return null;
         }
+        try {
+            SimdKernel kernel = (SimdKernel) Class.forName("com.gameengine.core.VectorIntegrator")
+                .getDeclaredConstructor().newInstance();
+            return kernel.lanes() > 1 ? kernel : null;
+        } catch (ReflectiveOperationException | LinkageError e) {
+            // 没有编译 src/main/vector
+            return null;
+        }
+    }
+    
+    // 线程由引擎的 JobSystem 统一管理，这里不再持有线程池
+    public void cleanup() {
+        jobSystem = null;
     }
 }
 
@@ -0,0 +1,87 @@
+package com.gameengine.core;
+
+import com.gameengine.graphics.IRenderer;
+
+import java.util.List;
+
+// 剖析器叠加层：每个阶段一行，条形长度表示 p50/p99（以帧预算为满格），右侧标注数值；计数器汇总在最后一行
+public class ProfilerOverlay {
+    private static final float REFRESH_INTERVAL = 0.25f;
+    private static final float ROW_HEIGHT = 34f;
+    private static final float BAR_WIDTH = 160f;
+
+    private final FrameProfiler profiler;
+    private boolean visible;
+    private float refreshTimer;
+    private List<FrameProfiler.PhaseStats> cached;
+    private String[] labels;
+    private String counterLabel;
+
+    public ProfilerOverlay(FrameProfiler profiler) {
+        this.profiler = profiler;
+        this.visible = false;
+        this.refreshTimer = REFRESH_INTERVAL;
+    }
+
+    public void toggle() {
+        visible = !visible;
+        refreshTimer = REFRESH_INTERVAL;
+    }
+
+    public boolean isVisible() {
+        return visible;
+    }
+
+    public void setVisible(boolean visible) {
+        this.visible = visible;
+    }
+
+    public void update(float deltaTime) {
+        if (!visible) return;
+        refreshTimer += deltaTime;
+        if (refreshTimer < REFRESH_INTERVAL && cached != null) return;
+        refreshTimer = 0f;
+        // 统计需要排序，按固定间隔刷新，避免每帧分配
+        cached = profiler.getAllStats();
+        labels = new String[cached.size()];
+        for (int i = 0; i < cached.size(); i++) {
+            FrameProfiler.PhaseStats s = cached.get(i);
+            labels[i] = String.format("%s %.2f/%.2f/%.1f", s.name, s.p50Ms, s.p99Ms, s.maxMs);
+        }
+        List<FrameProfiler.CounterValue> counters = profiler.getAllCounters();
+        if (counters.isEmpty()) {
+            counterLabel = null;
+        } else {
+            StringBuilder sb = new StringBuilder();
+            for (FrameProfiler.CounterValue c : counters) {
+                if (sb.length() > 0) sb.append("  ");
+                sb.append(c.name).append(' ').append(c.value);
+            }
+            counterLabel = sb.toString();
+        }
+    }
+
+    public void render(IRenderer renderer, float frameBudgetMs) {
+        if (!visible || cached == null || renderer == null) return;
+        float x = 10f;
+        float y = 10f;
+        int rows = cached.size() + 1 + (counterLabel != null ? 1 : 0);
+        float height = ROW_HEIGHT * rows + 10f;
+        renderer.drawRect(x - 5, y - 5, renderer.getWidth() - 10f, height, 0.0f, 0.0f, 0.0f, 0.6f);
+        renderer.drawText(x, y, "PHASE P50/P99/MAX MS", 0.9f, 0.9f, 0.5f, 1.0f);
+        for (int i = 0; i < cached.size(); i++) {
+            FrameProfiler.PhaseStats s = cached.get(i);
+            float rowY = y + ROW_HEIGHT * (i + 1);
+            float p50 = (float) Math.min(1.0, s.p50Ms / frameBudgetMs) * BAR_WIDTH;
+            float p99 = (float) Math.min(1.0, s.p99Ms / frameBudgetMs) * BAR_WIDTH;
+            boolean overBudget = s.p99Ms > frameBudgetMs;
+            renderer.drawRect(x, rowY + 8, BAR_WIDTH, 14, 0.2f, 0.2f, 0.2f, 0.8f);
+            renderer.drawRect(x, rowY + 8, p99, 14, overBudget ? 0.9f : 0.4f, overBudget ? 0.2f : 0.6f, 0.2f, 0.8f);
+            renderer.drawRect(x, rowY + 8, p50, 14, 0.3f, 0.9f, 0.3f, 1.0f);
+            renderer.drawText(x + BAR_WIDTH + 10, rowY, labels[i], 0.9f, 0.9f, 0.9f, 1.0f);
+        }
+        if (counterLabel != null) {
+            renderer.drawText(x, y + ROW_HEIGHT * (cached.size() + 1), counterLabel, 0.6f, 0.8f, 1.0f, 1.0f);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.gameengine.core;
+
+// PhysicsSystem 的 SIMD 积分核接口。实现类 VectorIntegrator 依赖 jdk.incubator.vector，放在 src/main/vector 下单独编译，
+// PhysicsSystem 只通过本接口反射加载它：基础构建不需要孵化模块，没有编译或没有加载模块时走标量版本
+interface SimdKernel {
+    // 一组处理的刚体数
+    int lanes();
+
+    // 积分 [row, row + lanes()) 这一组刚体；返回 false 时没有写回任何数据，由调用方改用标量版本
+    boolean integrate(BodyStorage.Archetype bodies, int row, float deltaTime, float minSpeed, float maxX, float maxY,
+                      float sleepSpeedSq, float sleepDelay, float substepFraction);
+
+    // 在当前线程上反复调用积分核直到 C2 把它编译为零分配的向量代码；只执行一次
+    void warmUp();
+}
@@ -0,0 +1,160 @@
+package com.gameengine.core;
+
+import java.util.Arrays;
+
+// 均匀网格：每帧按点集包围盒重建，用计数排序把点分桶到格子（CSR 布局）。
+// 格子边长不小于查询半径，半径内的邻居一定落在相邻的 3x3 个格子里。
+public final class SpatialGrid {
+    // 点分布过散时放大格子，格子数不超过 max(MIN_CELL_LIMIT, 4 * 点数)
+    private static final int MIN_CELL_LIMIT = 1024;
+
+    private final float minCellSize;
+    private float cellSize;
+    private float invCellSize;
+    private float originX;
+    private float originY;
+    private int cols;
+    private int rows;
+    private int cellCount;
+    // cellStart[c]..cellStart[c+1] 为格子 c 在 items 中的区间
+    private int[] cellStart = new int[1];
+    private int[] cursor = new int[0];
+    private int[] cellOfPoint = new int[0];
+    private int[] items = new int[0];
+    // 按格子顺序排列的坐标副本，邻域扫描时连续访问
+    private float[] sortedX = new float[0];
+    private float[] sortedY = new float[0];
+    private int itemCount;
+
+    public SpatialGrid(float cellSize) {
+        if (cellSize <= 0) {
+            throw new IllegalArgumentException("cellSize must be positive: " + cellSize);
+        }
+        this.minCellSize = cellSize;
+    }
+
+    // 坐标为 NaN 的点不入网格
+    public void build(float[] xs, float[] ys, int count) {
+        float minX = Float.POSITIVE_INFINITY, minY = Float.POSITIVE_INFINITY;
+        float maxX = Float.NEGATIVE_INFINITY, maxY = Float.NEGATIVE_INFINITY;
+        for (int i = 0; i < count; i++) {
+            float x = xs[i], y = ys[i];
+            if (x != x || y != y) continue;
+            if (x < minX) minX = x;
+            if (x > maxX) maxX = x;
+            if (y < minY) minY = y;
+            if (y > maxY) maxY = y;
+        }
+        if (cellOfPoint.length < count) {
+            int capacity = Math.max(count, cellOfPoint.length * 2);
+            cellOfPoint = new int[capacity];
+            items = new int[capacity];
+            sortedX = new float[capacity];
+            sortedY = new float[capacity];
+        }
+        if (minX > maxX) {
+            cols = rows = cellCount = itemCount = 0;
+            cellStart[0] = 0;
+            Arrays.fill(cellOfPoint, 0, count, -1);
+            return;
+        }
+
+        originX = minX;
+        originY = minY;
+        cellSize = minCellSize;
+        long limit = Math.max(MIN_CELL_LIMIT, 4L * count);
+        while (true) {
+            cols = (int) ((maxX - minX) / cellSize) + 1;
+            rows = (int) ((maxY - minY) / cellSize) + 1;
+            if ((long) cols * rows <= limit) break;
+            cellSize *= 2;
+        }
+        invCellSize = 1.0f / cellSize;
+        cellCount = cols * rows;
+        if (cellStart.length < cellCount + 1) {
+            cellStart = new int[Math.max(cellCount + 1, cellStart.length * 2)];
+            cursor = new int[cellStart.length];
+        }
+
+        Arrays.fill(cellStart, 0, cellCount + 1, 0);
+        for (int i = 0; i < count; i++) {
+            float x = xs[i], y = ys[i];
+            if (x != x || y != y) {
+                cellOfPoint[i] = -1;
+                continue;
+            }
+            int cell = cellY(y) * cols + cellX(x);
+            cellOfPoint[i] = cell;
+            cellStart[cell + 1]++;
+        }
+        for (int c = 0; c < cellCount; c++) {
+            cellStart[c + 1] += cellStart[c];
+        }
+        itemCount = cellStart[cellCount];
+        System.arraycopy(cellStart, 0, cursor, 0, cellCount);
+        for (int i = 0; i < count; i++) {
+            int cell = cellOfPoint[i];
+            if (cell < 0) continue;
+            int k = cursor[cell]++;
+            items[k] = i;
+            sortedX[k] = xs[i];
+            sortedY[k] = ys[i];
+        }
+    }
+
+    public int cellX(float x) {
+        int cx = (int) ((x - originX) * invCellSize);
+        return cx < 0 ? 0 : (cx >= cols ? cols - 1 : cx);
+    }
+
+    public int cellY(float y) {
+        int cy = (int) ((y - originY) * invCellSize);
+        return cy < 0 ? 0 : (cy >= rows ? rows - 1 : cy);
+    }
+
+    // 点 i 所在格子，未入网格时为 -1
+    public int cellOf(int point) {
+        return cellOfPoint[point];
+    }
+
+    public int cellStart(int cell) {
+        return cellStart[cell];
+    }
+
+    public int cellEnd(int cell) {
+        return cellStart[cell + 1];
+    }
+
+    // 第 k 个排序槽位对应的原始点下标
+    public int itemAt(int k) {
+        return items[k];
+    }
+
+    public float xAt(int k) {
+        return sortedX[k];
+    }
+
+    public float yAt(int k) {
+        return sortedY[k];
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCellCount() {
+        return cellCount;
+    }
+
+    public int getItemCount() {
+        return itemCount;
+    }
+
+    public float getCellSize() {
+        return cellSize;
+    }
+}
@@ -0,0 +1,252 @@
+package com.gameengine.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+// 按读写声明构建依赖图：后注册的系统只依赖与它冲突的先注册系统，互不冲突的系统在 JobSystem 上并行执行
+public class SystemScheduler {
+    private final List<GameSystem> systems;
+    private final JobSystem jobSystem;
+    private final FrameProfiler profiler;
+    private final Frame frame = new Frame();
+    private int[] phaseIds;
+    private int[][] dependents;
+    private int[] dependencyCounts;
+    private int[] roots;
+    private int maxParallelism;
+    private boolean graphDirty;
+
+    public SystemScheduler(JobSystem jobSystem) {
+        this(jobSystem, null);
+    }
+
+    // profiler 不为空时每个系统按名称记录一个剖析阶段
+    public SystemScheduler(JobSystem jobSystem, FrameProfiler profiler) {
+        this.systems = new ArrayList<>();
+        this.jobSystem = jobSystem;
+        this.profiler = profiler;
+        this.graphDirty = true;
+    }
+
+    public synchronized void addSystem(GameSystem system) {
+        systems.add(system);
+        graphDirty = true;
+    }
+
+    public synchronized void removeSystem(GameSystem system) {
+        if (systems.remove(system)) {
+            graphDirty = true;
+        }
+    }
+
+    public synchronized List<GameSystem> getSystems() {
+        return new ArrayList<>(systems);
+    }
+
+    // 依赖图按最长前驱链分层后最宽一层的系统数；为 1 时图是一条串行链，调度不会带来任何并行
+    public synchronized int getMaxParallelism() {
+        if (graphDirty) {
+            rebuildGraph();
+        }
+        return maxParallelism;
+    }
+
+    public void update(float deltaTime) {
+        if (graphDirty) {
+            rebuildGraph();
+        }
+        int count = systems.size();
+        if (count == 0) return;
+        if (jobSystem == null || jobSystem.isShutdown() || count == 1) {
+            for (int i = 0; i < count; i++) {
+                runSystem(i, deltaTime);
+            }
+            return;
+        }
+        frame.runFrame(deltaTime);
+    }
+
+    private synchronized void rebuildGraph() {
+        int count = systems.size();
+        List<List<Integer>> edges = new ArrayList<>(count);
+        dependencyCounts = new int[count];
+        phaseIds = new int[count];
+        List<Integer> rootList = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            edges.add(new ArrayList<>());
+            phaseIds[i] = profiler != null ? profiler.registerPhase(systems.get(i).getName()) : -1;
+        }
+        for (int i = 0; i < count; i++) {
+            for (int j = 0; j < i; j++) {
+                if (systems.get(i).conflictsWith(systems.get(j))) {
+                    edges.get(j).add(i);
+                    dependencyCounts[i]++;
+                }
+            }
+            if (dependencyCounts[i] == 0) {
+                rootList.add(i);
+            }
+        }
+        dependents = new int[count][];
+        for (int i = 0; i < count; i++) {
+            dependents[i] = edges.get(i).stream().mapToInt(Integer::intValue).toArray();
+        }
+        roots = rootList.stream().mapToInt(Integer::intValue).toArray();
+        // 边总是从先注册的系统指向后注册的系统，按注册顺序一趟即可求出每个系统的层号
+        int[] levels = new int[count];
+        int[] widths = new int[count + 1];
+        maxParallelism = 0;
+        for (int i = 0; i < count; i++) {
+            for (int dependent : dependents[i]) {
+                levels[dependent] = Math.max(levels[dependent], levels[i] + 1);
+            }
+            maxParallelism = Math.max(maxParallelism, ++widths[levels[i]]);
+        }
+        frame.resize(count);
+        graphDirty = false;
+    }
+
+    private void runSystem(int index, float deltaTime) {
+        GameSystem system = systems.get(index);
+        if (!system.isEnabled()) return;
+        if (profiler == null) {
+            system.update(deltaTime);
+            return;
+        }
+        long start = profiler.begin();
+        system.update(deltaTime);
+        profiler.end(phaseIds[index], start);
+    }
+
+    // 单帧执行状态，跨帧复用。依赖计数归零的系统进入就绪队列（每帧每个系统只入队一次，容量等于系统数），
+    // 工作线程与调用线程都从队列领取；调用线程在队列为空时挂起，直到有系统就绪或整帧完成
+    private final class Frame implements Runnable {
+        private AtomicIntegerArray pending = new AtomicIntegerArray(0);
+        private AtomicIntegerArray ready = new AtomicIntegerArray(0);
+        private final AtomicInteger readyHead = new AtomicInteger();
+        private final AtomicInteger readyTail = new AtomicInteger();
+        private final AtomicInteger remaining = new AtomicInteger();
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+        private volatile Thread caller;
+        private float deltaTime;
+
+        void resize(int count) {
+            pending = new AtomicIntegerArray(count);
+            ready = new AtomicIntegerArray(count);
+        }
+
+        void runFrame(float deltaTime) {
+            int count = pending.length();
+            this.deltaTime = deltaTime;
+            this.caller = Thread.currentThread();
+            failure.set(null);
+            for (int i = 0; i < count; i++) {
+                pending.set(i, dependencyCounts[i]);
+                ready.set(i, -1);
+            }
+            // 先清队尾：上一帧迟到的辅助任务看到 head >= tail 会直接退出
+            readyTail.set(0);
+            readyHead.set(0);
+            remaining.set(count);
+            enqueue(roots[0]);
+            for (int i = 1; i < roots.length; i++) {
+                dispatch(roots[i]);
+            }
+
+            boolean interrupted = false;
+            while (remaining.get() > 0) {
+                int index = poll();
+                if (index >= 0) {
+                    execute(index);
+                } else if (remaining.get() > 0) {
+                    LockSupport.park(this);
+                    if (Thread.interrupted()) {
+                        // 其它线程仍在执行本帧的系统，不能中途返回，帧结束后恢复中断标记
+                        interrupted = true;
+                    }
+                }
+            }
+            caller = null;
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+            Throwable t = failure.get();
+            if (t instanceof RuntimeException) throw (RuntimeException) t;
+            if (t instanceof Error) throw (Error) t;
+            if (t != null) throw new RuntimeException(t);
+        }
+
+        // 工作线程上的辅助任务：领取一个就绪系统，队列已被别人取空则直接返回
+        @Override
+        public void run() {
+            int index = poll();
+            if (index >= 0) {
+                execute(index);
+            }
+        }
+
+        private void enqueue(int index) {
+            ready.set(readyTail.getAndIncrement(), index);
+            Thread waiting = caller;
+            if (waiting != Thread.currentThread()) {
+                LockSupport.unpark(waiting);
+            }
+        }
+
+        private void dispatch(int index) {
+            enqueue(index);
+            try {
+                jobSystem.execute(this);
+            } catch (RejectedExecutionException e) {
+                // 线程池正在关闭：在当前线程执行
+                run();
+            }
+        }
+
+        private int poll() {
+            int head;
+            do {
+                head = readyHead.get();
+                if (head >= readyTail.get()) return -1;
+            } while (!readyHead.compareAndSet(head, head + 1));
+            int index;
+            // 入队线程已占住槽位但可能还没写入
+            while ((index = ready.get(head)) < 0) {
+                Thread.onSpinWait();
+            }
+            return index;
+        }
+
+        // 执行一个系统后释放其后继：第一个就绪的后继由当前线程接着执行，其余入队并派发辅助任务
+        private void execute(int index) {
+            while (index >= 0) {
+                try {
+                    if (failure.get() == null) {
+                        runSystem(index, deltaTime);
+                    }
+                } catch (Throwable t) {
+                    failure.compareAndSet(null, t);
+                }
+                int next = -1;
+                for (int dependent : dependents[index]) {
+                    if (pending.decrementAndGet(dependent) == 0) {
+                        if (next < 0) {
+                            next = dependent;
+                        } else {
+                            dispatch(dependent);
+                        }
+                    }
+                }
+                if (remaining.decrementAndGet() == 0) {
+                    LockSupport.unpark(caller);
+                }
+                index = next;
+            }
+        }
+    }
+}
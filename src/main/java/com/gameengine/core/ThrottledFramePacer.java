@@ -0,0 +1,28 @@
+package com.gameengine.core;
+
+import java.util.concurrent.locks.LockSupport;
+
+// 后台节拍：窗口失焦或最小化时使用，只睡眠不自旋；帧间隔由引擎的 backgroundFPS 决定
+public class ThrottledFramePacer implements FramePacer {
+    @Override
+    public void waitForNextFrame(long deadlineNanos, long framePeriodNanos) {
+        long remaining;
+        while ((remaining = deadlineNanos - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+            if (Thread.interrupted()) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    @Override
+    public boolean usesVSync() {
+        return false;
+    }
+
+    @Override
+    public String getName() {
+        return "throttled";
+    }
+}
@@ -0,0 +1,28 @@
+package com.gameengine.core;
+
+// 垂直同步节拍：由交换缓冲阻塞决定帧率；若驱动未真正阻塞（帧提前超过半个周期结束），回退到混合等待
+public class VSyncFramePacer implements FramePacer {
+    private final HybridFramePacer fallback;
+
+    public VSyncFramePacer() {
+        this.fallback = new HybridFramePacer();
+    }
+
+    @Override
+    public void waitForNextFrame(long deadlineNanos, long framePeriodNanos) {
+        long remaining = deadlineNanos - System.nanoTime();
+        if (remaining > framePeriodNanos / 2) {
+            fallback.waitForNextFrame(deadlineNanos, framePeriodNanos);
+        }
+    }
+
+    @Override
+    public boolean usesVSync() {
+        return true;
+    }
+
+    @Override
+    public String getName() {
+        return "vsync";
+    }
+}
@@ -11,6 +11,10 @@ public class Game {
         try {
             System.out.println("使用渲染后端: GPU");
             engine = new GameEngine(1024, 768, "游戏引擎", RenderBackend.GPU);
+            // -Dengine.pipelined=true：模拟与 GL 提交分线程流水执行（需在创建场景前开启）
+            if (Boolean.getBoolean("engine.pipelined")) {
+                engine.setPipelined(true);
+            }
 
             MenuScene menuScene = new MenuScene(engine, "MainMenu");
             engine.setScene(menuScene);
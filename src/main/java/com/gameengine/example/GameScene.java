@@ -1,32 +1,64 @@
 package com.gameengine.example;
 
+import com.gameengine.components.AIComponent;
+import com.gameengine.components.ColliderComponent;
 import com.gameengine.components.PhysicsComponent;
 import com.gameengine.components.RenderComponent;
 import com.gameengine.components.TransformComponent;
+import com.gameengine.core.FrameProfiler;
 import com.gameengine.core.GameEngine;
 import com.gameengine.core.GameLogic;
 import com.gameengine.core.GameObject;
+import com.gameengine.core.GameSystem;
+import com.gameengine.core.ParticleBudget;
+import com.gameengine.core.ParticleManager;
 import com.gameengine.core.ParticleSystem;
+import com.gameengine.core.Prefab;
+import com.gameengine.core.SystemScheduler;
+import com.gameengine.input.InputManager;
 import com.gameengine.graphics.IRenderer;
 import com.gameengine.math.Vector2;
 import com.gameengine.scene.Scene;
+import com.gameengine.scene.SceneQuery;
 
 import java.util.*;
 
 public class GameScene extends Scene {
+    // 游戏结束时玩家位置的爆炸粒子数
+    private static final int GAME_OVER_BURST = 180;
+    // 场景内全部粒子共用的缓冲容量，以及持续发射的存活粒子预算（约 30 个 AI 的拖尾加玩家拖尾）
+    private static final int PARTICLE_CAPACITY = 8192;
+    private static final int PARTICLE_BUDGET = 1500;
     private final GameEngine engine;
     private IRenderer renderer;
     private Random random;
     private float time;
     private GameLogic gameLogic;
-    private ParticleSystem playerParticles;
-    private List<ParticleSystem> collisionParticles;
-    private Map<GameObject, ParticleSystem> aiPlayerParticles;
+    private ParticleManager particles;
+    private ParticleBudget particleBudget;
+    private int counterParticles;
+    private int counterParticlesCulled;
+    private int counterParticleSpawnsCulled;
+    private int counterParticleLevel;
+    private ParticleManager.Emitter playerParticles;
+    private Map<GameObject, AITrail> aiPlayerParticles;
+    // 每次更新粒子递增，定位时给仍在场的 AI 的拖尾打上当前值
+    private int particleFrame;
+    private final Vector2 particlePosition = new Vector2();
     private boolean waitingReturn;
     private float waitInputTimer;
     private float freezeTimer;
     private final float inputCooldown = 0.25f;
     private final float freezeDelay = 0.20f;
+    private SystemScheduler systems;
+    private Prefab aiPlayerPrefab;
+    private Prefab decorationPrefab;
+    // 无窗口长时间模拟：玩家无敌，场景一直处于游戏进行中；只有游戏进行中的帧计入 liveFrames
+    private boolean invulnerable;
+    private long liveFrames;
+    private double liveTime;
+    // 新 AI 的生成间隔（秒），<= 0 时停止生成
+    private float aiSpawnInterval = 1.0f;
 
     public GameScene(GameEngine engine) {
         super("GameScene");
@@ -41,19 +73,33 @@ public class GameScene extends Scene {
         this.time = 0;
         this.gameLogic = new GameLogic(this);
         this.gameLogic.setGameEngine(engine);
+        this.gameLogic.setInvulnerable(invulnerable);
+        this.liveFrames = 0;
+        this.liveTime = 0;
         this.waitingReturn = false;
         this.waitInputTimer = 0f;
         this.freezeTimer = 0f;
+        this.systems = new SystemScheduler(engine.getJobSystem(), engine.getProfiler());
+        registerSystems();
+        createPrefabs();
 
         createPlayer();
         createAIPlayers();
         createDecorations();
 
-        collisionParticles = new ArrayList<>();
+        particles = new ParticleManager(renderer, PARTICLE_CAPACITY, engine.getJobSystem());
+        particleBudget = new ParticleBudget(PARTICLE_BUDGET);
+        particleBudget.setView(0, 0, renderer.getWidth(), renderer.getHeight());
+        particles.setBudget(particleBudget);
+        FrameProfiler profiler = engine.getProfiler();
+        counterParticles = profiler.registerCounter("Particles.live");
+        counterParticlesCulled = profiler.registerCounter("Particles.culledEmitters");
+        counterParticleSpawnsCulled = profiler.registerCounter("Particles.culledSpawns");
+        counterParticleLevel = profiler.registerCounter("Particles.level");
         aiPlayerParticles = new HashMap<>();
 
-        playerParticles = new ParticleSystem(renderer, new Vector2(renderer.getWidth() / 2.0f, renderer.getHeight() / 2.0f));
-        playerParticles.setActive(true);
+        playerParticles = particles.createEmitter(
+            new Vector2(renderer.getWidth() / 2.0f, renderer.getHeight() / 2.0f), ParticleSystem.Config.defaultPlayer());
         
     }
 
@@ -62,12 +108,12 @@ public class GameScene extends Scene {
         super.update(deltaTime);
         time += deltaTime;
 
-        gameLogic.handlePlayerInput(deltaTime);
-        gameLogic.handleAIPlayerMovement(deltaTime);
-        gameLogic.handleAIPlayerAvoidance(deltaTime);
-
         boolean wasGameOver = gameLogic.isGameOver();
-        gameLogic.checkCollisions();
+        systems.update(deltaTime);
+        if (!wasGameOver) {
+            liveFrames++;
+            liveTime += deltaTime;
+        }
 
         if (gameLogic.isGameOver() && !wasGameOver) {
             GameObject player = gameLogic.getUserPlayer();
@@ -89,9 +135,7 @@ public class GameScene extends Scene {
                     cfg.burstGMin = 0.0f;
                     cfg.burstGMax = 0.05f;
                     cfg.burstB = 0.0f;
-                    ParticleSystem explosion = new ParticleSystem(renderer, transform.getPosition(), cfg);
-                    explosion.burst(180);
-                    collisionParticles.add(explosion);
+                    particles.burst(transform.getPosition(particlePosition), cfg, GAME_OVER_BURST);
                     waitingReturn = true;
                     waitInputTimer = 0f;
                     freezeTimer = 0f;
@@ -99,8 +143,6 @@ public class GameScene extends Scene {
             }
         }
 
-        updateParticles(deltaTime);
-
         if (waitingReturn) {
             waitInputTimer += deltaTime;
             freezeTimer += deltaTime;
@@ -112,69 +154,116 @@ public class GameScene extends Scene {
             return;
         }
 
-        if (time >= 1.0f) {
+        if (aiSpawnInterval > 0 && time >= aiSpawnInterval) {
             createAIPlayer();
             time = 0;
         }
     }
 
-    private void updateParticles(float deltaTime) {
-        boolean freeze = waitingReturn && freezeTimer >= freezeDelay;
+    // GameLogic 代表 AI 调度器与避让缓冲，GameOverFlag 代表 gameOver 标志；AI 列表取自场景查询的稳定快照，
+    // 系统执行期间成员不变（结构变化在 Scene.update 开头统一应用），只读不写。
+    // 粒子只依赖玩家输入写入的位置，与 AI 移动/避让/碰撞处在同一层并行执行
+    private void registerSystems() {
+        systems.addSystem(GameSystem.of("GameLogic.playerInput", gameLogic::handlePlayerInput)
+            .reads(InputManager.class, SceneQuery.class, GameLogic.GameOverFlag.class)
+            .writes(TransformComponent.class, PhysicsComponent.class));
+        systems.addSystem(GameSystem.of("GameLogic.aiMovement", gameLogic::handleAIPlayerMovement)
+            .reads(TransformComponent.class, SceneQuery.class, GameLogic.GameOverFlag.class)
+            .writes(PhysicsComponent.class, AIComponent.class, GameLogic.class));
+        systems.addSystem(GameSystem.of("GameLogic.aiAvoidance", gameLogic::handleAIPlayerAvoidance)
+            .reads(TransformComponent.class, SceneQuery.class, GameLogic.GameOverFlag.class)
+            .writes(PhysicsComponent.class, GameLogic.class));
+        systems.addSystem(GameSystem.of("GameLogic.collisions", dt -> gameLogic.checkCollisions())
+            .reads(TransformComponent.class, ColliderComponent.class, PhysicsComponent.class)
+            .writes(GameLogic.GameOverFlag.class));
+        systems.addSystem(GameSystem.of("Particles.update", this::updateParticles)
+            .reads(TransformComponent.class, SceneQuery.class)
+            .writes(ParticleManager.class));
+    }
 
-        if (playerParticles != null && !freeze) {
-            GameObject player = gameLogic.getUserPlayer();
-            if (player != null) {
-                TransformComponent transform = player.getComponent(TransformComponent.class);
-                if (transform != null) {
-                    Vector2 playerPos = transform.getPosition();
-                    playerParticles.setPosition(playerPos);
-                }
-            }
-            playerParticles.update(deltaTime);
+    public SystemScheduler getSystemScheduler() {
+        return systems;
+    }
+
+    public void setInvulnerable(boolean invulnerable) {
+        this.invulnerable = invulnerable;
+        if (gameLogic != null) {
+            gameLogic.setInvulnerable(invulnerable);
         }
+    }
 
-        List<GameObject> aiPlayers = gameLogic.getAIPlayers();
-        if (!freeze) {
-            for (GameObject aiPlayer : aiPlayers) {
-                if (aiPlayer != null && aiPlayer.isActive()) {
-                    ParticleSystem particles = aiPlayerParticles.get(aiPlayer);
-                    if (particles == null) {
-                        TransformComponent transform = aiPlayer.getComponent(TransformComponent.class);
-                        if (transform != null) {
-                            particles = new ParticleSystem(renderer, transform.getPosition(), ParticleSystem.Config.light());
-                            particles.setActive(true);
-                            aiPlayerParticles.put(aiPlayer, particles);
-                        }
-                    }
-                    if (particles != null) {
-                        TransformComponent transform = aiPlayer.getComponent(TransformComponent.class);
-                        if (transform != null) {
-                            particles.setPosition(transform.getPosition());
-                        }
-                        particles.update(deltaTime);
-                    }
-                }
-            }
+    public void setAISpawnInterval(float seconds) {
+        this.aiSpawnInterval = seconds;
+    }
+
+    public GameLogic getGameLogic() {
+        return gameLogic;
+    }
+
+    // 开始时游戏仍在进行的 update 次数与这些帧的模拟时长
+    public long getLiveFrames() {
+        return liveFrames;
+    }
+
+    public double getLiveTime() {
+        return liveTime;
+    }
+
+    private void updateParticles(float deltaTime) {
+        // 游戏结束一段时间后画面定格
+        if (waitingReturn && freezeTimer >= freezeDelay) {
+            return;
         }
 
-        List<GameObject> toRemove = new ArrayList<>();
-        for (Map.Entry<GameObject, ParticleSystem> entry : aiPlayerParticles.entrySet()) {
-            if (!entry.getKey().isActive() || !aiPlayers.contains(entry.getKey())) {
-                toRemove.add(entry.getKey());
+        GameObject player = gameLogic.getUserPlayer();
+        if (player != null) {
+            TransformComponent transform = player.getComponent(TransformComponent.class);
+            if (transform != null) {
+                playerParticles.setPosition(transform.getPosition(particlePosition));
+                particleBudget.setFocus(particlePosition.x, particlePosition.y);
             }
         }
-        for (GameObject removed : toRemove) {
-            aiPlayerParticles.remove(removed);
+
+        // 发射器只是句柄：这里只定位，粒子由管理器统一分块并行更新
+        int frame = ++particleFrame;
+        int placed = 0;
+        List<GameObject> aiPlayers = gameLogic.getAIPlayers();
+        for (int i = 0; i < aiPlayers.size(); i++) {
+            GameObject aiPlayer = aiPlayers.get(i);
+            if (aiPlayer == null || !aiPlayer.isActive()) continue;
+            TransformComponent transform = aiPlayer.getComponent(TransformComponent.class);
+            if (transform == null) continue;
+            transform.getPosition(particlePosition);
+            AITrail trail = aiPlayerParticles.get(aiPlayer);
+            if (trail == null) {
+                trail = new AITrail(particles.createEmitter(particlePosition, ParticleSystem.Config.light()));
+                aiPlayerParticles.put(aiPlayer, trail);
+            } else {
+                trail.emitter.setPosition(particlePosition);
+            }
+            trail.seenFrame = frame;
+            placed++;
         }
 
-        for (int i = collisionParticles.size() - 1; i >= 0; i--) {
-            ParticleSystem ps = collisionParticles.get(i);
-            if (ps != null) {
-                if (!freeze) {
-                    ps.update(deltaTime);
+        // 本次没有定位到的 AI（已消失或失活）交还发射器，剩余粒子消散后自动回收
+        if (aiPlayerParticles.size() > placed) {
+            Iterator<AITrail> it = aiPlayerParticles.values().iterator();
+            while (it.hasNext()) {
+                AITrail trail = it.next();
+                if (trail.seenFrame != frame) {
+                    trail.emitter.release();
+                    it.remove();
                 }
             }
         }
+
+        particles.update(deltaTime);
+
+        FrameProfiler profiler = engine.getProfiler();
+        profiler.setCounter(counterParticles, particles.getParticleCount());
+        profiler.setCounter(counterParticlesCulled, particles.getCulledEmitterCount());
+        profiler.setCounter(counterParticleSpawnsCulled, particles.getCulledSpawnCount());
+        profiler.setCounter(counterParticleLevel, particleBudget.getLevel());
     }
 
     @Override
@@ -183,7 +272,7 @@ public class GameScene extends Scene {
 
         super.render();
 
-        renderParticles();
+        particles.render();
 
         if (gameLogic.isGameOver()) {
             float cx = renderer.getWidth() / 2.0f;
@@ -195,165 +284,77 @@ public class GameScene extends Scene {
         }
     }
 
-    private void renderParticles() {
-        if (playerParticles != null) {
-            int count = playerParticles.getParticleCount();
-            if (count > 0) {
-                playerParticles.render();
-            }
-        }
-
-        for (ParticleSystem ps : aiPlayerParticles.values()) {
-            if (ps != null && ps.getParticleCount() > 0) {
-                ps.render();
-            }
-        }
-
-        for (ParticleSystem ps : collisionParticles) {
-            if (ps != null && ps.getParticleCount() > 0) {
-                ps.render();
-            }
-        }
-    }
-
     private void createPlayer() {
-        GameObject player = new GameObject("Player") {
-            private Vector2 basePosition;
-
-            @Override
-            public void update(float deltaTime) {
-                super.update(deltaTime);
-                updateComponents(deltaTime);
-                updateBodyParts();
-            }
-
-            @Override
-            public void render() {
-                renderBodyParts();
-            }
-
-            private void updateBodyParts() {
-                TransformComponent transform = getComponent(TransformComponent.class);
-                if (transform != null) {
-                    basePosition = transform.getPosition();
-                }
-            }
-
-            private void renderBodyParts() {
-                if (basePosition == null) return;
-
-                renderer.drawRect(
-                    basePosition.x - 8, basePosition.y - 10, 16, 20,
-                    1.0f, 0.0f, 0.0f, 1.0f
-                );
-
-                renderer.drawRect(
-                    basePosition.x - 6, basePosition.y - 22, 12, 12,
-                    1.0f, 0.5f, 0.0f, 1.0f
-                );
-
-                renderer.drawRect(
-                    basePosition.x - 13, basePosition.y - 5, 6, 12,
-                    1.0f, 0.8f, 0.0f, 1.0f
-                );
-
-                renderer.drawRect(
-                    basePosition.x + 7, basePosition.y - 5, 6, 12,
-                    0.0f, 1.0f, 0.0f, 1.0f
-                );
-            }
-        };
-
+        GameObject player = new GameObject("Player");
         player.addComponent(new TransformComponent(new Vector2(renderer.getWidth() / 2.0f, renderer.getHeight() / 2.0f)));
 
         PhysicsComponent physics = player.addComponent(new PhysicsComponent(1.0f));
         physics.setFriction(0.95f);
 
+        player.addComponent(new PlayerVisualComponent(renderer));
+        player.addComponent(new ColliderComponent(15, GameLogic.LAYER_PLAYER, GameLogic.LAYER_AI));
+
         addGameObject(player);
     }
 
-    private void createAIPlayers() {
-        for (int i = 0; i < 30; i++) {
-            createAIPlayer();
-        }
+    private void createPrefabs() {
+        aiPlayerPrefab = new Prefab("AIPlayer", obj -> {
+            obj.addComponent(new TransformComponent(new Vector2()));
+            RenderComponent rc = obj.addComponent(new RenderComponent(
+                RenderComponent.RenderType.RECTANGLE,
+                new Vector2(20, 20),
+                new RenderComponent.Color(0.0f, 0.8f, 1.0f, 1.0f)
+            ));
+            rc.setRenderer(renderer);
+            PhysicsComponent physics = obj.addComponent(new PhysicsComponent(0.5f));
+            physics.setFriction(0.98f);
+            obj.addComponent(new ColliderComponent(15, GameLogic.LAYER_AI, GameLogic.LAYER_PLAYER));
+            obj.addComponent(new AIComponent());
+        }).onSpawn(this::resetAIPlayer);
+
+        decorationPrefab = new Prefab("Decoration", obj -> {
+            obj.addComponent(new TransformComponent(new Vector2()));
+            RenderComponent render = obj.addComponent(new RenderComponent(
+                RenderComponent.RenderType.CIRCLE,
+                new Vector2(5, 5),
+                new RenderComponent.Color(0.5f, 0.5f, 1.0f, 0.8f)
+            ));
+            render.setRenderer(renderer);
+        }).onSpawn(obj -> obj.getComponent(TransformComponent.class).setPosition(
+            random.nextFloat() * renderer.getWidth(),
+            random.nextFloat() * renderer.getHeight()
+        ));
     }
 
-    private void createAIPlayer() {
-        GameObject aiPlayer = new GameObject("AIPlayer") {
-            @Override
-            public void update(float deltaTime) {
-                super.update(deltaTime);
-                updateComponents(deltaTime);
-            }
-
-            @Override
-            public void render() {
-                renderComponents();
-            }
-        };
-
-        Vector2 position;
+    // 随机出生点（离屏幕中心至少 100 像素）与初速度；生成时就做第一次决策
+    private void resetAIPlayer(GameObject aiPlayer) {
+        float cx = renderer.getWidth() / 2.0f;
+        float cy = renderer.getHeight() / 2.0f;
+        float x, y;
         do {
-            position = new Vector2(
-                random.nextFloat() * renderer.getWidth(),
-                random.nextFloat() * renderer.getHeight()
-            );
-        } while (position.distance(new Vector2(renderer.getWidth() / 2.0f, renderer.getHeight() / 2.0f)) < 100);
-
-        aiPlayer.addComponent(new TransformComponent(position));
-        // 使用工厂统一外观
-        RenderComponent rc = aiPlayer.addComponent(new RenderComponent(
-            RenderComponent.RenderType.RECTANGLE,
-            new Vector2(20, 20),
-            new RenderComponent.Color(0.0f, 0.8f, 1.0f, 1.0f)
-        ));
-        rc.setRenderer(renderer);
+            x = random.nextFloat() * renderer.getWidth();
+            y = random.nextFloat() * renderer.getHeight();
+        } while ((x - cx) * (x - cx) + (y - cy) * (y - cy) < 100 * 100);
 
-        PhysicsComponent physics = aiPlayer.addComponent(new PhysicsComponent(0.5f));
-        physics.setVelocity(new Vector2(
+        aiPlayer.getComponent(TransformComponent.class).setPosition(x, y);
+        aiPlayer.getComponent(PhysicsComponent.class).setVelocity(
             (random.nextFloat() - 0.5f) * 150,
             (random.nextFloat() - 0.5f) * 150
-        ));
-        physics.setFriction(0.98f);
-
-        addGameObject(aiPlayer);
+        );
+        aiPlayer.getComponent(AIComponent.class).reset();
+        gameLogic.onAIPlayerSpawned(aiPlayer);
     }
 
-    private void createDecorations() {
-        for (int i = 0; i < 5; i++) {
-            createDecoration();
-        }
+    private void createAIPlayers() {
+        aiPlayerPrefab.spawn(this, 30);
     }
 
-    private void createDecoration() {
-        GameObject decoration = new GameObject("Decoration") {
-            @Override
-            public void update(float deltaTime) {
-                super.update(deltaTime);
-                updateComponents(deltaTime);
-            }
-
-            @Override
-            public void render() {
-                renderComponents();
-            }
-        };
-
-        Vector2 position = new Vector2(
-            random.nextFloat() * renderer.getWidth(),
-            random.nextFloat() * renderer.getHeight()
-        );
-
-        decoration.addComponent(new TransformComponent(position));
-
-        RenderComponent render = decoration.addComponent(new RenderComponent(
-            RenderComponent.RenderType.CIRCLE,
-            new Vector2(5, 5),
-            new RenderComponent.Color(0.5f, 0.5f, 1.0f, 0.8f)
-        ));
-        render.setRenderer(renderer);
+    private void createAIPlayer() {
+        aiPlayerPrefab.spawn(this);
+    }
 
-        addGameObject(decoration);
+    private void createDecorations() {
+        decorationPrefab.spawn(this, 5);
     }
 
     @Override
@@ -361,17 +362,20 @@ public class GameScene extends Scene {
         if (gameLogic != null) {
             gameLogic.cleanup();
         }
-        if (playerParticles != null) {
-            playerParticles.clear();
-        }
-        if (collisionParticles != null) {
-            for (ParticleSystem ps : collisionParticles) {
-                if (ps != null) ps.clear();
-            }
-            collisionParticles.clear();
+        if (particles != null) {
+            particles.clear();
+            particles.cleanup();
         }
         super.clear();
     }
-}
 
+    // AI 的拖尾发射器与最近一次被定位时的 particleFrame
+    private static final class AITrail {
+        final ParticleManager.Emitter emitter;
+        int seenFrame;
 
+        AITrail(ParticleManager.Emitter emitter) {
+            this.emitter = emitter;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.gameengine.example;
+
+import com.gameengine.core.FrameProfiler;
+import com.gameengine.core.GameEngine;
+import com.gameengine.graphics.HeadlessRenderer;
+import com.gameengine.graphics.RenderBackend;
+
+// 无窗口批量模拟：HEADLESS 后端 + 极速模式运行 GameScene，输出纯模拟吞吐。
+// 没有输入时玩家几秒内就会被撞死，之后场景静止，测到的只是空转；这里让玩家无敌，AI 每秒持续增加，
+// 吞吐只按游戏进行中的帧统计
+// 用法: HeadlessSimulation [模拟分钟数=10] [帧率=60]
+public class HeadlessSimulation {
+    public static void main(String[] args) {
+        double minutes = args.length > 0 ? Double.parseDouble(args[0]) : 10.0;
+        float fps = args.length > 1 ? Float.parseFloat(args[1]) : 60.0f;
+
+        GameEngine engine = new GameEngine(1024, 768, "Headless", RenderBackend.HEADLESS);
+        engine.setTargetFPS(fps);
+        engine.setMaxSpeed(true);
+        engine.setSimulationTimeLimit(minutes * 60.0);
+        GameScene scene = new GameScene(engine);
+        scene.setInvulnerable(true);
+        engine.setScene(scene);
+
+        long start = System.nanoTime();
+        engine.run();
+        double wallSeconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        HeadlessRenderer renderer = (HeadlessRenderer) engine.getRenderer();
+        long frames = scene.getLiveFrames();
+        double simSeconds = scene.getLiveTime();
+        System.out.println(String.format(
+            "进行中的模拟时间: %.1fs | 墙钟: %.2fs | 进行中帧数: %d/%d | 吞吐: %.0f 帧/秒 | 加速比: %.1fx | AI: %d | 玩家接触: %d | 绘制调用: %d",
+            simSeconds, wallSeconds, frames, engine.getFrameCount(),
+            frames / Math.max(1e-9, wallSeconds),
+            simSeconds / Math.max(1e-9, wallSeconds),
+            scene.getGameLogic().getAIPlayers().size(),
+            scene.getGameLogic().getPlayerHits(),
+            renderer.getTotalDrawCalls()
+        ));
+        for (FrameProfiler.PhaseStats stats : engine.getProfiler().getAllStats()) {
+            System.out.println("  " + stats);
+        }
+        System.out.println("  " + engine.getProfiler().getAllCounters());
+        engine.cleanup();
+    }
+}
@@ -0,0 +1,33 @@
+package com.gameengine.example;
+
+import com.gameengine.components.TransformComponent;
+import com.gameengine.core.Component;
+import com.gameengine.graphics.IRenderer;
+import com.gameengine.math.Vector2;
+
+// 玩家由多个矩形拼成的外观，取代原先的匿名 GameObject 子类
+public class PlayerVisualComponent extends Component<PlayerVisualComponent> {
+    private final IRenderer renderer;
+    private final Vector2 renderPosition = new Vector2();
+
+    public PlayerVisualComponent(IRenderer renderer) {
+        this.renderer = renderer;
+    }
+
+    @Override
+    public void initialize() {
+    }
+
+    @Override
+    public void render() {
+        if (renderer == null || owner == null) return;
+        TransformComponent transform = owner.getComponent(TransformComponent.class);
+        if (transform == null) return;
+        Vector2 basePosition = transform.getRenderPosition(renderPosition);
+
+        renderer.drawRect(basePosition.x - 8, basePosition.y - 10, 16, 20, 1.0f, 0.0f, 0.0f, 1.0f);
+        renderer.drawRect(basePosition.x - 6, basePosition.y - 22, 12, 12, 1.0f, 0.5f, 0.0f, 1.0f);
+        renderer.drawRect(basePosition.x - 13, basePosition.y - 5, 6, 12, 1.0f, 0.8f, 0.0f, 1.0f);
+        renderer.drawRect(basePosition.x + 7, basePosition.y - 5, 6, 12, 0.0f, 1.0f, 0.0f, 1.0f);
+    }
+}
@@ -0,0 +1,122 @@
+package com.gameengine.graphics;
+
+import java.util.Arrays;
+
+// 绘制命令列表：以扁平数组记录 drawRect/drawCircle/drawLine/drawText 调用，可回放到任意 IRenderer
+public class DrawCommandList {
+    public static final int RECT = 0;
+    public static final int CIRCLE = 1;
+    public static final int LINE = 2;
+    public static final int TEXT = 3;
+
+    // 每条命令固定 8 个浮点参数 + 可选文本
+    private static final int STRIDE = 8;
+
+    private int[] types;
+    private float[] params;
+    private String[] texts;
+    private int size;
+
+    public DrawCommandList() {
+        this(256);
+    }
+
+    public DrawCommandList(int initialCapacity) {
+        int capacity = Math.max(16, initialCapacity);
+        this.types = new int[capacity];
+        this.params = new float[capacity * STRIDE];
+        this.texts = new String[capacity];
+        this.size = 0;
+    }
+
+    public void addRect(float x, float y, float w, float h, float r, float g, float b, float a) {
+        int base = push(RECT, null);
+        put(base, x, y, w, h, r, g, b, a);
+    }
+
+    public void addCircle(float x, float y, float radius, int segments, float r, float g, float b, float a) {
+        int base = push(CIRCLE, null);
+        put(base, x, y, radius, segments, r, g, b, a);
+    }
+
+    public void addLine(float x1, float y1, float x2, float y2, float r, float g, float b, float a) {
+        int base = push(LINE, null);
+        put(base, x1, y1, x2, y2, r, g, b, a);
+    }
+
+    public void addText(float x, float y, String text, float r, float g, float b, float a) {
+        int base = push(TEXT, text);
+        put(base, x, y, 0, 0, r, g, b, a);
+    }
+
+    public void replay(IRenderer target) {
+        for (int i = 0; i < size; i++) {
+            int p = i * STRIDE;
+            switch (types[i]) {
+                case RECT:
+                    target.drawRect(params[p], params[p + 1], params[p + 2], params[p + 3],
+                        params[p + 4], params[p + 5], params[p + 6], params[p + 7]);
+                    break;
+                case CIRCLE:
+                    target.drawCircle(params[p], params[p + 1], params[p + 2], (int) params[p + 3],
+                        params[p + 4], params[p + 5], params[p + 6], params[p + 7]);
+                    break;
+                case LINE:
+                    target.drawLine(params[p], params[p + 1], params[p + 2], params[p + 3],
+                        params[p + 4], params[p + 5], params[p + 6], params[p + 7]);
+                    break;
+                case TEXT:
+                    target.drawText(params[p], params[p + 1], texts[i],
+                        params[p + 4], params[p + 5], params[p + 6], params[p + 7]);
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getType(int index) {
+        return types[index];
+    }
+
+    public float getParam(int index, int param) {
+        return params[index * STRIDE + param];
+    }
+
+    public String getText(int index) {
+        return texts[index];
+    }
+
+    public void clear() {
+        // 释放文本引用，数组容量保留复用
+        Arrays.fill(texts, 0, size, null);
+        size = 0;
+    }
+
+    private int push(int type, String text) {
+        if (size == types.length) {
+            int capacity = types.length * 2;
+            types = Arrays.copyOf(types, capacity);
+            params = Arrays.copyOf(params, capacity * STRIDE);
+            texts = Arrays.copyOf(texts, capacity);
+        }
+        types[size] = type;
+        texts[size] = text;
+        return size++ * STRIDE;
+    }
+
+    private void put(int base, float p0, float p1, float p2, float p3, float p4, float p5, float p6, float p7) {
+        params[base] = p0;
+        params[base + 1] = p1;
+        params[base + 2] = p2;
+        params[base + 3] = p3;
+        params[base + 4] = p4;
+        params[base + 5] = p5;
+        params[base + 6] = p6;
+        params[base + 7] = p7;
+    }
+}
@@ -0,0 +1,54 @@
+package com.gameengine.graphics;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 三缓冲帧快照：模拟线程写后台缓冲并发布，渲染线程取最新已发布的快照，两侧互不阻塞
+public class FrameSnapshotBuffer {
+    private static final int INDEX_MASK = 0x3;
+    private static final int FRESH = 0x4;
+
+    private final DrawCommandList[] lists;
+    // 中间缓冲索引 + 是否有未被消费的新快照
+    private final AtomicInteger middle;
+    // 仅生产者线程访问
+    private int writeIndex;
+    // 仅消费者线程访问
+    private int readIndex;
+    private volatile long publishedFrames;
+
+    public FrameSnapshotBuffer() {
+        this.lists = new DrawCommandList[] {
+            new DrawCommandList(), new DrawCommandList(), new DrawCommandList()
+        };
+        this.writeIndex = 0;
+        this.middle = new AtomicInteger(1);
+        this.readIndex = 2;
+    }
+
+    // 生产者：取得可写缓冲（已清空）
+    public DrawCommandList beginWrite() {
+        DrawCommandList list = lists[writeIndex];
+        list.clear();
+        return list;
+    }
+
+    // 生产者：发布刚写完的缓冲，之后该缓冲不可再修改
+    public void publish() {
+        int previous = middle.getAndSet(writeIndex | FRESH);
+        writeIndex = previous & INDEX_MASK;
+        publishedFrames++;
+    }
+
+    // 消费者：若有新快照则交换取得，否则返回上一次的快照
+    public DrawCommandList acquireLatest() {
+        if ((middle.get() & FRESH) != 0) {
+            int previous = middle.getAndSet(readIndex);
+            readIndex = previous & INDEX_MASK;
+        }
+        return lists[readIndex];
+    }
+
+    public long getPublishedFrames() {
+        return publishedFrames;
+    }
+}
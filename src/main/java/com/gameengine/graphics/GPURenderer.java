@@ -28,6 +28,9 @@ public class GPURenderer implements IRenderer {
     private Font font;
     private int fontSize;
     private boolean texturesPreloaded;
+    private boolean vsync;
+    private volatile boolean focused;
+    private volatile boolean minimized;
     private static final String PRELOAD_CHARS = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789!@#$%^&*()_+-=[]{}|;:,.<>?/~` ";
 
     public GPURenderer(int width, int height, String title) {
@@ -41,6 +44,9 @@ public class GPURenderer implements IRenderer {
         this.font = new Font(Font.MONOSPACED, Font.BOLD, 32);
         this.fontSize = 32;
         this.texturesPreloaded = false;
+        this.vsync = true;
+        this.focused = true;
+        this.minimized = false;
 
         initialize();
     }
@@ -86,7 +92,7 @@ public class GPURenderer implements IRenderer {
             
             GLFW.glfwMakeContextCurrent(window);
             GL.createCapabilities();
-            GLFW.glfwSwapInterval(1);
+            GLFW.glfwSwapInterval(vsync ? 1 : 0);
             
             GLFW.glfwShowWindow(window);
             
@@ -144,6 +150,14 @@ public class GPURenderer implements IRenderer {
         GLFW.glfwSetCursorPosCallback(window, (window, xpos, ypos) -> {
             inputManager.onMouseMoved((int)xpos, (int)ypos);
         });
+        
+        GLFW.glfwSetWindowFocusCallback(window, (window, isFocused) -> {
+            focused = isFocused;
+        });
+        
+        GLFW.glfwSetWindowIconifyCallback(window, (window, iconified) -> {
+            minimized = iconified;
+        });
     }
     
     @Override
@@ -527,6 +541,26 @@ public class GPURenderer implements IRenderer {
         }
     }
     
+    @Override
+    public void setVSync(boolean enabled) {
+        if (vsync == enabled) return;
+        vsync = enabled;
+        if (initialized) {
+            GLFW.glfwMakeContextCurrent(window);
+            GLFW.glfwSwapInterval(enabled ? 1 : 0);
+        }
+    }
+    
+    @Override
+    public boolean isFocused() {
+        return focused;
+    }
+    
+    @Override
+    public boolean isMinimized() {
+        return minimized;
+    }
+    
     @Override
     public void cleanup() {
         for (Integer textureId : charTextures.values()) {
@@ -0,0 +1,173 @@
+package com.gameengine.graphics;
+
+// 无窗口渲染器：不创建 GLFW 窗口与 OpenGL 上下文，只统计（可选记录）绘制调用，用于 CI 压测与批量模拟
+public class HeadlessRenderer implements IRenderer {
+    private final int width;
+    private final int height;
+    private final String title;
+    private boolean closeRequested;
+    private boolean recordDrawCalls;
+    private final DrawCommandList frameCommands;
+    private long frameCount;
+    private long rectCount;
+    private long circleCount;
+    private long lineCount;
+    private long textCount;
+    private int lastFrameDrawCalls;
+    private int currentFrameDrawCalls;
+
+    public HeadlessRenderer(int width, int height, String title) {
+        this.width = width;
+        this.height = height;
+        this.title = title;
+        this.closeRequested = false;
+        this.recordDrawCalls = false;
+        this.frameCommands = new DrawCommandList();
+    }
+
+    @Override
+    public void beginFrame() {
+        currentFrameDrawCalls = 0;
+        frameCommands.clear();
+    }
+
+    @Override
+    public void endFrame() {
+        lastFrameDrawCalls = currentFrameDrawCalls;
+        frameCount++;
+    }
+
+    @Override
+    public void drawRect(float x, float y, float width, float height, float r, float g, float b, float a) {
+        rectCount++;
+        currentFrameDrawCalls++;
+        if (recordDrawCalls) {
+            frameCommands.addRect(x, y, width, height, r, g, b, a);
+        }
+    }
+
+    @Override
+    public void drawCircle(float x, float y, float radius, int segments, float r, float g, float b, float a) {
+        circleCount++;
+        currentFrameDrawCalls++;
+        if (recordDrawCalls) {
+            frameCommands.addCircle(x, y, radius, segments, r, g, b, a);
+        }
+    }
+
+    @Override
+    public void drawLine(float x1, float y1, float x2, float y2, float r, float g, float b, float a) {
+        lineCount++;
+        currentFrameDrawCalls++;
+        if (recordDrawCalls) {
+            frameCommands.addLine(x1, y1, x2, y2, r, g, b, a);
+        }
+    }
+
+    @Override
+    public void drawText(float x, float y, String text, float r, float g, float b, float a) {
+        textCount++;
+        currentFrameDrawCalls++;
+        if (recordDrawCalls) {
+            frameCommands.addText(x, y, text, r, g, b, a);
+        }
+    }
+
+    @Override
+    public boolean shouldClose() {
+        return closeRequested;
+    }
+
+    @Override
+    public void pollEvents() {
+    }
+
+    @Override
+    public void cleanup() {
+        frameCommands.clear();
+    }
+
+    @Override
+    public void setVSync(boolean enabled) {
+    }
+
+    @Override
+    public boolean isFocused() {
+        return true;
+    }
+
+    @Override
+    public boolean isMinimized() {
+        return false;
+    }
+
+    public void requestClose() {
+        this.closeRequested = true;
+    }
+
+    public void setRecordDrawCalls(boolean recordDrawCalls) {
+        this.recordDrawCalls = recordDrawCalls;
+    }
+
+    public boolean isRecordDrawCalls() {
+        return recordDrawCalls;
+    }
+
+    // 当前（或最近一帧）记录的绘制命令，仅在开启记录时有内容
+    public DrawCommandList getFrameCommands() {
+        return frameCommands;
+    }
+
+    public long getFrameCount() {
+        return frameCount;
+    }
+
+    public long getRectCount() {
+        return rectCount;
+    }
+
+    public long getCircleCount() {
+        return circleCount;
+    }
+
+    public long getLineCount() {
+        return lineCount;
+    }
+
+    public long getTextCount() {
+        return textCount;
+    }
+
+    public long getTotalDrawCalls() {
+        return rectCount + circleCount + lineCount + textCount;
+    }
+
+    public int getLastFrameDrawCalls() {
+        return lastFrameDrawCalls;
+    }
+
+    public void resetCounters() {
+        frameCount = 0;
+        rectCount = 0;
+        circleCount = 0;
+        lineCount = 0;
+        textCount = 0;
+        lastFrameDrawCalls = 0;
+        currentFrameDrawCalls = 0;
+    }
+
+    @Override
+    public int getWidth() {
+        return width;
+    }
+
+    @Override
+    public int getHeight() {
+        return height;
+    }
+
+    @Override
+    public String getTitle() {
+        return title;
+    }
+}
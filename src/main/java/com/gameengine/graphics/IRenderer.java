@@ -13,6 +13,10 @@ public interface IRenderer {
     void pollEvents();
     void cleanup();
     
+    void setVSync(boolean enabled);
+    boolean isFocused();
+    boolean isMinimized();
+    
     int getWidth();
     int getHeight();
     String getTitle();
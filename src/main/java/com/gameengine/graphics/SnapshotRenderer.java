@@ -0,0 +1,92 @@
+package com.gameengine.graphics;
+
+// 流水线模式下交给场景使用的渲染器：绘制调用只写入帧快照，真正的 GL 提交由持有上下文的线程回放完成
+public class SnapshotRenderer implements IRenderer {
+    private final IRenderer target;
+    private final FrameSnapshotBuffer buffer;
+    private DrawCommandList current;
+
+    public SnapshotRenderer(IRenderer target, FrameSnapshotBuffer buffer) {
+        this.target = target;
+        this.buffer = buffer;
+    }
+
+    @Override
+    public void beginFrame() {
+        current = buffer.beginWrite();
+    }
+
+    @Override
+    public void endFrame() {
+        if (current == null) return;
+        current = null;
+        buffer.publish();
+    }
+
+    @Override
+    public void drawRect(float x, float y, float width, float height, float r, float g, float b, float a) {
+        if (current != null) current.addRect(x, y, width, height, r, g, b, a);
+    }
+
+    @Override
+    public void drawCircle(float x, float y, float radius, int segments, float r, float g, float b, float a) {
+        if (current != null) current.addCircle(x, y, radius, segments, r, g, b, a);
+    }
+
+    @Override
+    public void drawLine(float x1, float y1, float x2, float y2, float r, float g, float b, float a) {
+        if (current != null) current.addLine(x1, y1, x2, y2, r, g, b, a);
+    }
+
+    @Override
+    public void drawText(float x, float y, String text, float r, float g, float b, float a) {
+        if (current != null) current.addText(x, y, text, r, g, b, a);
+    }
+
+    @Override
+    public boolean shouldClose() {
+        return target.shouldClose();
+    }
+
+    // 事件轮询、垂直同步与资源释放都只能在渲染线程上对真实渲染器执行
+    @Override
+    public void pollEvents() {
+    }
+
+    @Override
+    public void cleanup() {
+    }
+
+    @Override
+    public void setVSync(boolean enabled) {
+    }
+
+    @Override
+    public boolean isFocused() {
+        return target.isFocused();
+    }
+
+    @Override
+    public boolean isMinimized() {
+        return target.isMinimized();
+    }
+
+    @Override
+    public int getWidth() {
+        return target.getWidth();
+    }
+
+    @Override
+    public int getHeight() {
+        return target.getHeight();
+    }
+
+    @Override
+    public String getTitle() {
+        return target.getTitle();
+    }
+
+    public IRenderer getTarget() {
+        return target;
+    }
+}
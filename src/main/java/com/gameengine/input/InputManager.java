@@ -1,119 +1,184 @@
 package com.gameengine.input;
 
 import com.gameengine.math.Vector2;
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.HashSet;
-import java.util.Map;
 import java.util.Set;
 
+// 输入回调（流水线模式下在渲染线程）写入加锁的待发布状态；模拟线程每帧调用 publishFrame 生成一份不可变快照，
+// 查询方法只读这份快照，并行系统读取输入时无锁、无竞争
 public class InputManager {
     private static InputManager instance;
-    private Set<Integer> pressedKeys;
-    private Set<Integer> justPressedKeys;
-    private Map<Integer, Boolean> keyStates;
-    private Vector2 mousePosition;
-    private boolean[] mouseButtons;
-    private boolean[] mouseButtonsJustPressed;
-    
+    // 待发布状态，只在持有锁时访问
+    private final Set<Integer> pressedKeys;
+    private final Set<Integer> justPressedKeys;
+    private final Vector2 mousePosition;
+    private final boolean[] mouseButtons;
+    private final boolean[] mouseButtonsJustPressed;
+    private boolean dirty;
+    // 当前帧的快照
+    private volatile Frame frame;
+
+    // 一帧的输入状态，发布后不再修改
+    private static final class Frame {
+        static final Frame EMPTY = new Frame(Collections.emptySet(), Collections.emptySet(), 0, 0, new boolean[3], new boolean[3]);
+
+        final Set<Integer> pressedKeys;
+        final Set<Integer> justPressedKeys;
+        final float mouseX;
+        final float mouseY;
+        final boolean[] mouseButtons;
+        final boolean[] mouseButtonsJustPressed;
+
+        Frame(Set<Integer> pressedKeys, Set<Integer> justPressedKeys, float mouseX, float mouseY,
+              boolean[] mouseButtons, boolean[] mouseButtonsJustPressed) {
+            this.pressedKeys = pressedKeys;
+            this.justPressedKeys = justPressedKeys;
+            this.mouseX = mouseX;
+            this.mouseY = mouseY;
+            this.mouseButtons = mouseButtons;
+            this.mouseButtonsJustPressed = mouseButtonsJustPressed;
+        }
+
+        boolean hasJustPressed() {
+            if (!justPressedKeys.isEmpty()) return true;
+            for (boolean pressed : mouseButtonsJustPressed) {
+                if (pressed) return true;
+            }
+            return false;
+        }
+    }
+
     private InputManager() {
         pressedKeys = new HashSet<>();
         justPressedKeys = new HashSet<>();
-        keyStates = new HashMap<>();
         mousePosition = new Vector2();
         mouseButtons = new boolean[3];
         mouseButtonsJustPressed = new boolean[3];
+        frame = Frame.EMPTY;
     }
-    
-    public static InputManager getInstance() {
+
+    public static synchronized InputManager getInstance() {
         if (instance == null) {
             instance = new InputManager();
         }
         return instance;
     }
-    
-    public void update() {
+
+    // 模拟线程在每帧开始、轮询事件之后调用：把上次发布以来的事件合入新快照。
+    // 还没被 update() 消费的“刚按下”会保留到新快照中；没有新事件时沿用当前快照，不分配
+    public synchronized void publishFrame() {
+        if (!dirty) return;
+        Frame current = frame;
+        Set<Integer> just = new HashSet<>(current.justPressedKeys);
+        just.addAll(justPressedKeys);
+        boolean[] buttonsJust = current.mouseButtonsJustPressed.clone();
+        for (int i = 0; i < buttonsJust.length; i++) {
+            buttonsJust[i] |= mouseButtonsJustPressed[i];
+        }
+        frame = new Frame(
+            Collections.unmodifiableSet(new HashSet<>(pressedKeys)),
+            Collections.unmodifiableSet(just),
+            mousePosition.x, mousePosition.y,
+            mouseButtons.clone(), buttonsJust);
         justPressedKeys.clear();
         for (int i = 0; i < mouseButtonsJustPressed.length; i++) {
             mouseButtonsJustPressed[i] = false;
         }
+        dirty = false;
     }
-    
-    public void onKeyPressed(int keyCode) {
+
+    // 本帧的“刚按下”已被消费：当前快照去掉这部分
+    public synchronized void update() {
+        Frame current = frame;
+        if (!current.hasJustPressed()) return;
+        frame = new Frame(current.pressedKeys, Collections.emptySet(), current.mouseX, current.mouseY,
+            current.mouseButtons, new boolean[current.mouseButtonsJustPressed.length]);
+    }
+
+    public synchronized void onKeyPressed(int keyCode) {
         if (!pressedKeys.contains(keyCode)) {
             justPressedKeys.add(keyCode);
         }
         pressedKeys.add(keyCode);
-        keyStates.put(keyCode, true);
+        dirty = true;
     }
-    
-    public void onKeyReleased(int keyCode) {
+
+    public synchronized void onKeyReleased(int keyCode) {
         pressedKeys.remove(keyCode);
-        keyStates.put(keyCode, false);
+        dirty = true;
     }
-    
-    public void onMouseMoved(float x, float y) {
+
+    public synchronized void onMouseMoved(float x, float y) {
         mousePosition.x = x;
         mousePosition.y = y;
+        dirty = true;
     }
-    
-    public void onMousePressed(int button) {
+
+    public synchronized void onMousePressed(int button) {
         if (button >= 0 && button < mouseButtons.length) {
             if (!mouseButtons[button]) {
                 mouseButtonsJustPressed[button] = true;
             }
             mouseButtons[button] = true;
+            dirty = true;
         }
     }
-    
-    public void onMouseReleased(int button) {
+
+    public synchronized void onMouseReleased(int button) {
         if (button >= 0 && button < mouseButtons.length) {
             mouseButtons[button] = false;
+            dirty = true;
         }
     }
-    
+
     public boolean isKeyPressed(int keyCode) {
-        return pressedKeys.contains(keyCode);
+        return frame.pressedKeys.contains(keyCode);
     }
-    
+
     public boolean isKeyJustPressed(int keyCode) {
-        return justPressedKeys.contains(keyCode);
+        return frame.justPressedKeys.contains(keyCode);
     }
-    
+
     public boolean isMouseButtonPressed(int button) {
-        if (button >= 0 && button < mouseButtons.length) {
-            return mouseButtons[button];
+        boolean[] buttons = frame.mouseButtons;
+        if (button >= 0 && button < buttons.length) {
+            return buttons[button];
         }
         return false;
     }
-    
+
     public boolean isMouseButtonJustPressed(int button) {
-        if (button >= 0 && button < mouseButtons.length) {
-            return mouseButtonsJustPressed[button];
+        boolean[] buttons = frame.mouseButtonsJustPressed;
+        if (button >= 0 && button < buttons.length) {
+            return buttons[button];
         }
         return false;
     }
-    
+
     public boolean isAnyKeyJustPressed() {
-        return !justPressedKeys.isEmpty();
+        return !frame.justPressedKeys.isEmpty();
     }
-    
+
     public boolean isAnyKeyPressed() {
-        return !pressedKeys.isEmpty();
+        return !frame.pressedKeys.isEmpty();
     }
 
+    // 快照本身不可变，直接返回
     public java.util.Set<Integer> getJustPressedKeysSnapshot() {
-        return new java.util.HashSet<>(justPressedKeys);
+        return frame.justPressedKeys;
     }
-    
+
     public Vector2 getMousePosition() {
-        return new Vector2(mousePosition);
+        Frame current = frame;
+        return new Vector2(current.mouseX, current.mouseY);
     }
-    
+
     public float getMouseX() {
-        return mousePosition.x;
+        return frame.mouseX;
     }
-    
+
     public float getMouseY() {
-        return mousePosition.y;
+        return frame.mouseY;
     }
 }
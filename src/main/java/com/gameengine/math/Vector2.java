@@ -18,6 +18,18 @@ public class Vector2 {
         this.y = other.y;
     }
     
+    public Vector2 set(float x, float y) {
+        this.x = x;
+        this.y = y;
+        return this;
+    }
+    
+    public Vector2 set(Vector2 other) {
+        this.x = other.x;
+        this.y = other.y;
+        return this;
+    }
+    
     public Vector2 add(Vector2 other) {
         return new Vector2(this.x + other.x, this.y + other.y);
     }
@@ -30,6 +42,81 @@ public class Vector2 {
         return new Vector2(this.x * scalar, this.y * scalar);
     }
     
+    // ===== 原地/写入目标的变体：热路径使用，不分配对象 =====
+    
+    public Vector2 addLocal(Vector2 other) {
+        this.x += other.x;
+        this.y += other.y;
+        return this;
+    }
+    
+    public Vector2 addLocal(float dx, float dy) {
+        this.x += dx;
+        this.y += dy;
+        return this;
+    }
+    
+    public Vector2 subtractLocal(Vector2 other) {
+        this.x -= other.x;
+        this.y -= other.y;
+        return this;
+    }
+    
+    public Vector2 multiplyLocal(float scalar) {
+        this.x *= scalar;
+        this.y *= scalar;
+        return this;
+    }
+    
+    public Vector2 normalizeLocal() {
+        float mag = magnitude();
+        if (mag == 0) {
+            x = 0;
+            y = 0;
+        } else {
+            x /= mag;
+            y /= mag;
+        }
+        return this;
+    }
+    
+    // 长度超过 max 时按比例缩放到 max
+    public Vector2 clampLengthLocal(float max) {
+        float magSq = x * x + y * y;
+        if (magSq > max * max) {
+            float scale = max / (float) Math.sqrt(magSq);
+            x *= scale;
+            y *= scale;
+        }
+        return this;
+    }
+    
+    public Vector2 add(Vector2 other, Vector2 dest) {
+        return dest.set(this.x + other.x, this.y + other.y);
+    }
+    
+    public Vector2 subtract(Vector2 other, Vector2 dest) {
+        return dest.set(this.x - other.x, this.y - other.y);
+    }
+    
+    public Vector2 multiply(float scalar, Vector2 dest) {
+        return dest.set(this.x * scalar, this.y * scalar);
+    }
+    
+    public Vector2 normalize(Vector2 dest) {
+        return dest.set(this).normalizeLocal();
+    }
+    
+    public float magnitudeSquared() {
+        return x * x + y * y;
+    }
+    
+    public float distanceSquared(Vector2 other) {
+        float dx = this.x - other.x;
+        float dy = this.y - other.y;
+        return dx * dx + dy * dy;
+    }
+    
     public float magnitude() {
         return (float) Math.sqrt(x * x + y * y);
     }
@@ -45,7 +132,7 @@ public class Vector2 {
     }
     
     public float distance(Vector2 other) {
-        return this.subtract(other).magnitude();
+        return (float) Math.sqrt(distanceSquared(other));
     }
     
     @Override
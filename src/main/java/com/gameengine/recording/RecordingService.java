@@ -117,7 +117,8 @@ public class RecordingService {
         List<GameObject> objs = scene.getGameObjects();
         boolean first = true;
         int count = 0;
-        for (GameObject obj : objs) {
+        for (int i = 0, n = objs.size(); i < n; i++) {
+            GameObject obj = objs.get(i);
             TransformComponent tc = obj.getComponent(TransformComponent.class);
             if (tc == null) continue;
             float x = tc.getPosition().x;
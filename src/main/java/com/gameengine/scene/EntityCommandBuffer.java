@@ -0,0 +1,79 @@
+package com.gameengine.scene;
+
+import com.gameengine.core.GameObject;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// 场景结构变更（加入/移除/组件或名称变化）的命令缓冲：任意线程都可写入，场景在帧内同步点一次性应用
+final class EntityCommandBuffer {
+    private final Object lock = new Object();
+    // 前后两组缓冲交替使用，应用期间新写入的命令进入另一组，留到下一次同步点
+    private ArrayList<GameObject> adds = new ArrayList<>();
+    private ArrayList<GameObject> removes = new ArrayList<>();
+    private ArrayList<GameObject> changes = new ArrayList<>();
+    private ArrayList<GameObject> pendingAdds = new ArrayList<>();
+    private ArrayList<GameObject> pendingRemoves = new ArrayList<>();
+    private ArrayList<GameObject> pendingChanges = new ArrayList<>();
+
+    void add(GameObject obj) {
+        synchronized (lock) {
+            adds.add(obj);
+        }
+    }
+
+    void remove(GameObject obj) {
+        synchronized (lock) {
+            removes.add(obj);
+        }
+    }
+
+    // 已在场景中的对象增删组件或改名，应用时重新绑定存储行并刷新成员资格
+    void change(GameObject obj) {
+        synchronized (lock) {
+            changes.add(obj);
+        }
+    }
+
+    // 取出当前全部命令，调用方处理完后需调用 recycle
+    void swap() {
+        synchronized (lock) {
+            ArrayList<GameObject> a = adds;
+            adds = pendingAdds;
+            pendingAdds = a;
+            ArrayList<GameObject> r = removes;
+            removes = pendingRemoves;
+            pendingRemoves = r;
+            ArrayList<GameObject> c = changes;
+            changes = pendingChanges;
+            pendingChanges = c;
+        }
+    }
+
+    List<GameObject> swappedAdds() {
+        return pendingAdds;
+    }
+
+    List<GameObject> swappedRemoves() {
+        return pendingRemoves;
+    }
+
+    List<GameObject> swappedChanges() {
+        return pendingChanges;
+    }
+
+    void recycle() {
+        pendingAdds.clear();
+        pendingRemoves.clear();
+        pendingChanges.clear();
+    }
+
+    void clear() {
+        synchronized (lock) {
+            adds.clear();
+            removes.clear();
+            changes.clear();
+        }
+        recycle();
+    }
+}
@@ -1,23 +1,37 @@
 package com.gameengine.scene;
 
+import com.gameengine.core.BodyStorage;
 import com.gameengine.core.GameObject;
 import com.gameengine.core.Component;
+import com.gameengine.core.Tags;
 import java.util.*;
-import java.util.stream.Collectors;
 
 public class Scene {
     private String name;
     private List<GameObject> gameObjects;
-    private List<GameObject> objectsToAdd;
-    private List<GameObject> objectsToRemove;
+    private final List<GameObject> gameObjectsView;
+    // 结构变更先写入命令缓冲，在 update 开头统一应用
+    private final EntityCommandBuffer commands;
+    // 本帧待移除对象，仅在压缩阶段使用
+    private final Set<GameObject> removing;
     private boolean initialized;
+    private float interpolationAlpha;
+    private final BodyStorage bodyStorage;
+    private final Map<String, SceneQuery> queries;
+    // 按标签 ID 下标的成员集合，加入/移除/改名时 O(1) 维护
+    private final List<SceneQuery> tagSets;
     
     public Scene(String name) {
         this.name = name;
         this.gameObjects = new ArrayList<>();
-        this.objectsToAdd = new ArrayList<>();
-        this.objectsToRemove = new ArrayList<>();
+        this.gameObjectsView = Collections.unmodifiableList(gameObjects);
+        this.commands = new EntityCommandBuffer();
+        this.removing = Collections.newSetFromMap(new IdentityHashMap<>());
         this.initialized = false;
+        this.interpolationAlpha = 1.0f;
+        this.bodyStorage = new BodyStorage();
+        this.queries = new HashMap<>();
+        this.tagSets = new ArrayList<>();
     }
     
     public void initialize() {
@@ -28,28 +42,151 @@ public class Scene {
     }
     
     public void update(float deltaTime) {
-        for (GameObject obj : objectsToAdd) {
+        applyStructuralChanges();
+        
+        for (int i = 0, n = gameObjects.size(); i < n; i++) {
+            GameObject obj = gameObjects.get(i);
+            if (obj.isActive()) {
+                obj.update(deltaTime);
+            }
+        }
+    }
+    
+    // 同步点：先追加新对象，再应用组件/名称变化，最后用一次标记-清除压缩移除被移除或已失活的对象，保持剩余对象顺序
+    private void applyStructuralChanges() {
+        commands.swap();
+        List<GameObject> adds = commands.swappedAdds();
+        for (int i = 0, n = adds.size(); i < n; i++) {
+            GameObject obj = adds.get(i);
             gameObjects.add(obj);
+            bodyStorage.bind(obj);
+            tagSet(obj.getTag()).add(obj);
+            for (SceneQuery query : queries.values()) {
+                query.refresh(obj);
+            }
             if (initialized) {
                 obj.initialize();
             }
         }
-        objectsToAdd.clear();
-        
-        for (GameObject obj : objectsToRemove) {
-            gameObjects.remove(obj);
+        List<GameObject> changes = commands.swappedChanges();
+        for (int i = 0, n = changes.size(); i < n; i++) {
+            applyChange(changes.get(i));
+        }
+        List<GameObject> removes = commands.swappedRemoves();
+        for (int i = 0, n = removes.size(); i < n; i++) {
+            removing.add(removes.get(i));
         }
-        objectsToRemove.clear();
+        commands.recycle();
         
-        Iterator<GameObject> iterator = gameObjects.iterator();
-        while (iterator.hasNext()) {
-            GameObject obj = iterator.next();
-            if (obj.isActive()) {
-                obj.update(deltaTime);
-            } else {
-                iterator.remove();
+        boolean checkRemoving = !removing.isEmpty();
+        int size = gameObjects.size();
+        int write = 0;
+        for (int read = 0; read < size; read++) {
+            GameObject obj = gameObjects.get(read);
+            if (!obj.isActive() || (checkRemoving && removing.contains(obj))) {
+                detach(obj);
+                continue;
+            }
+            if (write != read) {
+                gameObjects.set(write, obj);
+            }
+            write++;
+        }
+        for (int i = size - 1; i >= write; i--) {
+            gameObjects.remove(i);
+        }
+        removing.clear();
+    }
+    
+    private void detach(GameObject obj) {
+        bodyStorage.unbind(obj);
+        tagSet(obj.getTag()).remove(obj);
+        for (SceneQuery query : queries.values()) {
+            query.remove(obj);
+        }
+        if (obj.getPrefab() != null) {
+            obj.getPrefab().release(obj);
+        }
+    }
+    
+    // 已在场景中的对象增加组件或改名后由 GameObject 回调（可能在工作线程上）。存储行与查询成员在下一次同步点才变化，
+    // 并行系统迭代期间看到的行与成员保持稳定
+    public void onGameObjectChanged(GameObject obj) {
+        commands.change(obj);
+    }
+    
+    // 旧标签无需记录：应用时按当前标签校正标签集合
+    public void onGameObjectRenamed(GameObject obj, int oldTag) {
+        commands.change(obj);
+    }
+    
+    private void applyChange(GameObject obj) {
+        bodyStorage.bind(obj);
+        SceneQuery current = tagSet(obj.getTag());
+        if (!current.contains(obj)) {
+            for (int i = 0, n = tagSets.size(); i < n; i++) {
+                tagSets.get(i).remove(obj);
             }
+            current.add(obj);
+        }
+        for (SceneQuery query : queries.values()) {
+            query.refresh(obj);
+        }
+    }
+    
+    private SceneQuery tagSet(int tag) {
+        while (tagSets.size() <= tag) {
+            tagSets.add(new SceneQuery(tagSets.size(), new Class<?>[0]));
         }
+        return tagSets.get(tag);
+    }
+    
+    // 某标签下的全部对象（实时视图）
+    public SceneQuery getByTag(int tag) {
+        return tagSet(tag);
+    }
+    
+    public SceneQuery getByTag(String tagName) {
+        return tagSet(Tags.intern(tagName));
+    }
+    
+    public GameObject findFirstByTag(int tag) {
+        return tag >= 0 && tag < tagSets.size() ? tagSets.get(tag).first() : null;
+    }
+    
+    public GameObject findFirstByTag(String tagName) {
+        return findFirstByTag(Tags.intern(tagName));
+    }
+    
+    // 拥有全部指定组件的对象；相同条件返回同一个实时视图
+    public SceneQuery query(Class<?>... componentTypes) {
+        return queryByName(null, componentTypes);
+    }
+    
+    // 名称为 name（为 null 时不限）且拥有全部指定组件的对象
+    public SceneQuery queryByName(String name, Class<?>... componentTypes) {
+        int tag = name != null ? Tags.intern(name) : -1;
+        if (componentTypes.length == 0 && tag >= 0) {
+            return tagSet(tag);
+        }
+        String key = SceneQuery.keyOf(tag, componentTypes);
+        SceneQuery query = queries.get(key);
+        if (query == null) {
+            query = new SceneQuery(tag, componentTypes);
+            for (GameObject obj : gameObjects) {
+                if (query.matches(obj)) {
+                    query.add(obj);
+                }
+            }
+            queries.put(key, query);
+        }
+        return query;
+    }
+    
+    // 引擎以插值系数调用：alpha 为累加器剩余时间占一个固定步的比例
+    public void render(float alpha) {
+        this.interpolationAlpha = alpha;
+        render();
     }
     
     public void render() {
@@ -60,34 +197,65 @@ public class Scene {
         }
     }
     
+    // 可在任意线程调用（包括 JobSystem 的工作线程），对象在下一次 update 开头加入
     public void addGameObject(GameObject gameObject) {
-        objectsToAdd.add(gameObject);
+        gameObject.setScene(this);
+        commands.add(gameObject);
+    }
+    
+    // 可在任意线程调用，对象在下一次 update 开头移除
+    public void removeGameObject(GameObject gameObject) {
+        commands.remove(gameObject);
+    }
+    
+    public void storePreviousTransforms() {
+        bodyStorage.storePreviousPositions();
+    }
+    
+    public BodyStorage getBodyStorage() {
+        return bodyStorage;
+    }
+    
+    public float getInterpolationAlpha() {
+        return interpolationAlpha;
     }
     
     public <T extends Component<T>> List<GameObject> findGameObjectsByComponent(Class<T> componentType) {
-        return gameObjects.stream()
-            .filter(obj -> obj.hasComponent(componentType))
-            .collect(Collectors.toList());
+        return query(componentType).snapshot();
     }
     
     public <T extends Component<T>> List<T> getComponents(Class<T> componentType) {
-        return findGameObjectsByComponent(componentType).stream()
-            .map(obj -> obj.getComponent(componentType))
-            .filter(Objects::nonNull)
-            .collect(Collectors.toList());
+        SceneQuery query = query(componentType);
+        List<T> components = new ArrayList<>(query.size());
+        for (GameObject obj : query) {
+            T component = obj.getComponent(componentType);
+            if (component != null) {
+                components.add(component);
+            }
+        }
+        return components;
     }
     
     public void clear() {
         gameObjects.clear();
-        objectsToAdd.clear();
-        objectsToRemove.clear();
+        bodyStorage.clear();
+        for (SceneQuery query : queries.values()) {
+            query.clear();
+        }
+        for (SceneQuery tagSet : tagSets) {
+            tagSet.clear();
+        }
+        commands.clear();
+        removing.clear();
     }
     
     public String getName() {
         return name;
     }
     
+    // 只读实时视图，不复制：只能在场景更新线程上遍历，对象在下一次 update 开头才会加入/移除。
+    // 需要修改或跨帧保存时由调用方自行复制
     public List<GameObject> getGameObjects() {
-        return new ArrayList<>(gameObjects);
+        return gameObjectsView;
     }
 }
@@ -0,0 +1,170 @@
+package com.gameengine.scene;
+
+import com.gameengine.core.ComponentRegistry;
+import com.gameengine.core.GameObject;
+import com.gameengine.core.Tags;
+
+import java.util.*;
+
+// 场景的实时查询视图：由 Scene 在对象加入/移除、增加组件、改名时增量维护，遍历不复制。
+// 成员即“已进入场景且满足条件”的对象；被停用的对象在下一次 Scene.update 时移出。
+public class SceneQuery implements Iterable<GameObject> {
+    private final int tag;
+    private final Class<?>[] componentTypes;
+    private final String key;
+    private GameObject[] items;
+    private int size;
+    private final IdentityHashMap<GameObject, Integer> indices;
+    private List<GameObject> snapshot;
+    
+    // tag 为 -1 时不限标签
+    SceneQuery(int tag, Class<?>[] componentTypes) {
+        this.tag = tag;
+        this.componentTypes = componentTypes.clone();
+        this.key = keyOf(tag, componentTypes);
+        this.items = new GameObject[16];
+        this.size = 0;
+        this.indices = new IdentityHashMap<>();
+    }
+    
+    static String keyOf(int tag, Class<?>[] componentTypes) {
+        int[] ids = new int[componentTypes.length];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = ComponentRegistry.getId(componentTypes[i]);
+        }
+        Arrays.sort(ids);
+        return tag + "|" + Arrays.toString(ids);
+    }
+    
+    String getKey() {
+        return key;
+    }
+    
+    public int getTag() {
+        return tag;
+    }
+    
+    public String getTagName() {
+        return Tags.nameOf(tag);
+    }
+    
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    boolean matches(GameObject obj) {
+        if (tag >= 0 && obj.getTag() != tag) return false;
+        for (Class type : componentTypes) {
+            if (!obj.hasComponent(type)) return false;
+        }
+        return true;
+    }
+    
+    // 对象进入场景或其名称/组件变化后重新判断成员资格
+    void refresh(GameObject obj) {
+        boolean member = indices.containsKey(obj);
+        boolean match = matches(obj);
+        if (match && !member) {
+            add(obj);
+        } else if (!match && member) {
+            remove(obj);
+        }
+    }
+    
+    // 已是成员时忽略，同一对象不会占两个槽位
+    void add(GameObject obj) {
+        if (indices.putIfAbsent(obj, size) != null) return;
+        if (size == items.length) {
+            items = Arrays.copyOf(items, size * 2);
+        }
+        items[size++] = obj;
+        snapshot = null;
+    }
+    
+    // 交换删除，不保持顺序
+    void remove(GameObject obj) {
+        Integer index = indices.remove(obj);
+        if (index == null) return;
+        int last = --size;
+        if (index != last) {
+            items[index] = items[last];
+            indices.put(items[index], index);
+        }
+        items[last] = null;
+        snapshot = null;
+    }
+    
+    void clear() {
+        Arrays.fill(items, 0, size, null);
+        size = 0;
+        indices.clear();
+        snapshot = null;
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    public boolean isEmpty() {
+        return size == 0;
+    }
+    
+    public GameObject get(int index) {
+        if (index >= size) throw new IndexOutOfBoundsException(index);
+        return items[index];
+    }
+    
+    public GameObject first() {
+        return size > 0 ? items[0] : null;
+    }
+    
+    public boolean contains(GameObject obj) {
+        return indices.containsKey(obj);
+    }
+    
+    // 稳定快照：直到成员变化前重复返回同一个不可变列表，可安全交给并行任务按下标访问
+    public List<GameObject> snapshot() {
+        List<GameObject> current = snapshot;
+        if (current == null) {
+            current = Collections.unmodifiableList(Arrays.asList(Arrays.copyOf(items, size)));
+            snapshot = current;
+        }
+        return current;
+    }
+    
+    // 只含仍处于活动状态的成员。本帧被停用的对象要到下一次 Scene.update 才移出查询，期间由这里过滤；
+    // 没有停用成员时直接返回 snapshot()，不分配
+    public List<GameObject> activeSnapshot() {
+        List<GameObject> all = snapshot();
+        int n = all.size();
+        int firstInactive = 0;
+        while (firstInactive < n && all.get(firstInactive).isActive()) {
+            firstInactive++;
+        }
+        if (firstInactive == n) return all;
+        List<GameObject> active = new ArrayList<>(n - 1);
+        active.addAll(all.subList(0, firstInactive));
+        for (int i = firstInactive + 1; i < n; i++) {
+            GameObject obj = all.get(i);
+            if (obj.isActive()) {
+                active.add(obj);
+            }
+        }
+        return Collections.unmodifiableList(active);
+    }
+    
+    @Override
+    public Iterator<GameObject> iterator() {
+        return new Iterator<GameObject>() {
+            private int cursor = 0;
+            
+            @Override
+            public boolean hasNext() {
+                return cursor < size;
+            }
+            
+            @Override
+            public GameObject next() {
+                if (cursor >= size) throw new NoSuchElementException();
+                return items[cursor++];
+            }
+        };
+    }
+}
@@ -0,0 +1,90 @@
+package com.gameengine.core;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+// PhysicsSystem 的 SIMD 积分核：一次处理 SPECIES 宽度（AVX2 为 8、AVX-512 为 16）个刚体。
+// 运算顺序与标量版本一致（不使用 FMA），结果逐位相同；重力开关、速度归零、边界反弹与休眠判定都用掩码代替分支。
+// 依赖 jdk.incubator.vector 模块，与基础源码分开编译；PhysicsSystem 确认模块可用后才通过 SimdKernel 反射加载本类。
+final class VectorIntegrator implements SimdKernel {
+    private static final VectorSpecies<Float> SPECIES = FloatVector.SPECIES_PREFERRED;
+    private static final FloatVector ZERO = FloatVector.zero(SPECIES);
+
+    VectorIntegrator() {
+    }
+
+    @Override
+    public int lanes() {
+        return SPECIES.length();
+    }
+
+    @Override
+    public void warmUp() {
+        SimdWarmUp.run(this);
+    }
+
+    // 积分 [row, row + lanes()) 这一组刚体；停用或休眠刚体的通道用 blend 保留原值，写回始终是整组不带掩码的存储。
+    // 组内有刚体需要子步或本步入睡时不写回任何数据并返回 false，由调用方改用标量版本
+    @Override
+    public boolean integrate(BodyStorage.Archetype bodies, int row, float deltaTime, float minSpeed, float maxX, float maxY,
+                             float sleepSpeedSq, float sleepDelay, float substepFraction) {
+        VectorMask<Float> awake = VectorMask.fromArray(SPECIES, bodies.awake, row);
+        VectorMask<Float> active = VectorMask.fromArray(SPECIES, bodies.simulated, row).and(awake);
+        if (!active.anyTrue()) return true;
+        VectorMask<Float> gravity = VectorMask.fromArray(SPECIES, bodies.useGravity, row);
+        FloatVector accX = FloatVector.fromArray(SPECIES, bodies.accX, row);
+        FloatVector accY = FloatVector.fromArray(SPECIES, bodies.accY, row);
+        FloatVector velX = FloatVector.fromArray(SPECIES, bodies.velX, row);
+        FloatVector velY = FloatVector.fromArray(SPECIES, bodies.velY, row);
+        FloatVector posX = FloatVector.fromArray(SPECIES, bodies.posX, row);
+        FloatVector posY = FloatVector.fromArray(SPECIES, bodies.posY, row);
+        FloatVector friction = FloatVector.fromArray(SPECIES, bodies.friction, row);
+
+        FloatVector ax = accX.lanewise(VectorOperators.ADD, FloatVector.fromArray(SPECIES, bodies.gravX, row), gravity);
+        FloatVector ay = accY.lanewise(VectorOperators.ADD, FloatVector.fromArray(SPECIES, bodies.gravY, row), gravity);
+        FloatVector vx = velX.add(ax.mul(deltaTime)).mul(friction);
+        FloatVector vy = velY.add(ay.mul(deltaTime)).mul(friction);
+        vx = vx.blend(0f, vx.abs().compare(VectorOperators.LT, minSpeed));
+        vy = vy.blend(0f, vy.abs().compare(VectorOperators.LT, minSpeed));
+        FloatVector limit = FloatVector.fromArray(SPECIES, bodies.extent, row).mul(substepFraction);
+        FloatVector displacementSq = vx.mul(vx).add(vy.mul(vy)).mul(deltaTime).mul(deltaTime);
+        VectorMask<Float> fast = limit.compare(VectorOperators.GT, 0f)
+                .and(displacementSq.compare(VectorOperators.GT, limit.mul(limit)))
+                .and(active);
+        if (fast.anyTrue()) return false;
+        FloatVector px = posX.add(vx.mul(deltaTime));
+        FloatVector py = posY.add(vy.mul(deltaTime));
+
+        // 边界反弹：触边的通道速度取反，再把位置夹回屏幕内
+        VectorMask<Float> bounceX = px.compare(VectorOperators.LE, 0f).or(px.compare(VectorOperators.GE, maxX));
+        VectorMask<Float> bounceY = py.compare(VectorOperators.LE, 0f).or(py.compare(VectorOperators.GE, maxY));
+        vx = vx.lanewise(VectorOperators.NEG, bounceX);
+        vy = vy.lanewise(VectorOperators.NEG, bounceY);
+        // 与标量版本相同的比较 + 替换（max/min 会把 -0.0 变成 +0.0，结果就不再逐位相同）
+        px = px.blend(0f, px.compare(VectorOperators.LT, 0f));
+        py = py.blend(0f, py.compare(VectorOperators.LT, 0f));
+        px = px.blend(maxX, px.compare(VectorOperators.GT, maxX));
+        py = py.blend(maxY, py.compare(VectorOperators.GT, maxY));
+
+        // 休眠判定：无加速度且速度平方低于阈值的通道累加静止时长
+        FloatVector idleTime = FloatVector.fromArray(SPECIES, bodies.idleTime, row);
+        VectorMask<Float> calm = ax.compare(VectorOperators.EQ, 0f)
+                .and(ay.compare(VectorOperators.EQ, 0f))
+                .and(vx.mul(vx).add(vy.mul(vy)).compare(VectorOperators.LT, sleepSpeedSq));
+        FloatVector idle = ZERO.blend(idleTime.add(deltaTime), calm);
+        VectorMask<Float> asleep = idle.compare(VectorOperators.GE, sleepDelay).and(calm).and(active);
+        // 入睡是少见的状态切换，整组交给标量版本（逐通道读掩码会迫使 C2 为掩码分配对象）
+        if (asleep.anyTrue()) return false;
+        idleTime.blend(idle, active).intoArray(bodies.idleTime, row);
+
+        posX.blend(px, active).intoArray(bodies.posX, row);
+        posY.blend(py, active).intoArray(bodies.posY, row);
+        velX.blend(vx, active).intoArray(bodies.velX, row);
+        velY.blend(vy, active).intoArray(bodies.velY, row);
+        accX.blend(0f, active).intoArray(bodies.accX, row);
+        accY.blend(0f, active).intoArray(bodies.accY, row);
+        return true;
+    }
+}